@@ -29,6 +29,8 @@ import pcgen.base.formula.exception.SemanticsFailureException;
 import pcgen.base.formula.parse.FormulaParser;
 import pcgen.base.formula.parse.ParseException;
 import pcgen.base.formula.parse.SimpleNode;
+import pcgen.base.formula.visitor.CompileVisitor;
+import pcgen.base.formula.visitor.CompiledExpression;
 import pcgen.base.formula.visitor.DependencyVisitor;
 import pcgen.base.formula.visitor.EvaluateVisitor;
 import pcgen.base.formula.visitor.ReconstructionVisitor;
@@ -62,6 +64,9 @@ public class ComplexNEPFormula<T> implements NEPFormula<T>
 	private static final EvaluateVisitor EVALUATE_VISITOR =
 			new EvaluateVisitor();
 
+	private static final CompileVisitor COMPILE_VISITOR =
+			new CompileVisitor(EVALUATE_VISITOR);
+
 	/**
 	 * The root node of the tree representing the calculation of this
 	 * ComplexNEPFormula.
@@ -76,6 +81,14 @@ public class ComplexNEPFormula<T> implements NEPFormula<T>
 	 */
 	private final SimpleNode root;
 
+	/**
+	 * The executable form of the tree representing the calculation of this
+	 * ComplexNEPFormula. This is compiled once from the tree, and used in
+	 * preference to visiting the tree with an EvaluateVisitor when the
+	 * ComplexNEPFormula is resolved.
+	 */
+	private final CompiledExpression compiled;
+
 	/**
 	 * The FormatManager indicating the format of the result of calculating this
 	 * ComplexNEPFormula.
@@ -114,6 +127,7 @@ public class ComplexNEPFormula<T> implements NEPFormula<T>
 		{
 			throw new IllegalArgumentException(e);
 		}
+		compiled = (CompiledExpression) COMPILE_VISITOR.visit(root, null);
 	}
 
 	/**
@@ -141,6 +155,27 @@ public class ComplexNEPFormula<T> implements NEPFormula<T>
 	 */
 	@Override
 	public T resolve(EvaluationManager manager)
+	{
+		EvaluationManager evalManager =
+				manager.getWith(EvaluationManager.ASSERTED, Optional.of(formatManager));
+		@SuppressWarnings("unchecked")
+		T result = (T) compiled.evaluate(evalManager);
+		return result;
+	}
+
+	/**
+	 * Resolves the ComplexNEPFormula in the context of the given
+	 * EvaluationManager by visiting the tree of this ComplexNEPFormula with an
+	 * EvaluateVisitor, rather than by using the compiled form of the formula.
+	 * 
+	 * This produces the same result as resolve(EvaluationManager), and is
+	 * intended for debugging the compiled form of a formula.
+	 * 
+	 * @param manager
+	 *            The EvaluationManager for the context of the formula
+	 * @return The value calculated for the ComplexNEPFormula.
+	 */
+	public T resolveByVisitor(EvaluationManager manager)
 	{
 		EvaluationManager evalManager =
 				manager.getWith(EvaluationManager.ASSERTED, Optional.of(formatManager));
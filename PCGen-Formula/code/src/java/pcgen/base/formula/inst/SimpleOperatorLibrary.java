@@ -18,7 +18,10 @@
 package pcgen.base.formula.inst;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import pcgen.base.formula.base.OperatorAction;
 import pcgen.base.formula.base.OperatorLibrary;
@@ -48,21 +51,43 @@ public class SimpleOperatorLibrary implements OperatorLibrary
 	private final HashMapToList<Operator, UnaryAction> unaryMTL =
 			new HashMapToList<Operator, UnaryAction>();
 
+	/**
+	 * Cache of the OperatorAction selected for a given Operator, pair of
+	 * argument classes and asserted format. Cleared when an action is added.
+	 */
+	private final Map<DispatchKey, OperatorAction> operatorCache =
+			new ConcurrentHashMap<>();
+
+	/**
+	 * Cache of the UnaryAction selected for a given Operator and argument
+	 * class. Cleared when an action is added.
+	 */
+	private final Map<DispatchKey, UnaryAction> unaryCache =
+			new ConcurrentHashMap<>();
+
 	@Override
 	public void addAction(OperatorAction action)
 	{
 		operatorMTL.addToListFor(action.getOperator(), action);
+		operatorCache.clear();
 	}
 
 	@Override
 	public void addAction(UnaryAction action)
 	{
 		unaryMTL.addToListFor(action.getOperator(), action);
+		unaryCache.clear();
 	}
 
 	@Override
 	public Object evaluate(Operator operator, Object o)
 	{
+		DispatchKey key = new DispatchKey(operator, o.getClass(), null, null);
+		UnaryAction cached = unaryCache.get(key);
+		if (cached != null)
+		{
+			return cached.evaluate(o);
+		}
 		List<UnaryAction> actionList = unaryMTL.getListFor(operator);
 		if (actionList == null)
 		{
@@ -71,15 +96,16 @@ public class SimpleOperatorLibrary implements OperatorLibrary
 					+ operator.getSymbol() + " cannot process "
 					+ o.getClass().getSimpleName());
 		}
-		return actionList.stream()
+		UnaryAction selected = actionList.stream()
 				.filter(
 					action -> action.abstractEvaluate(o.getClass()).isPresent())
 				.findFirst()
 				.orElseThrow(() -> new IllegalStateException(
 					"Evaluate called on invalid Unary Operator: "
 							+ operator.getSymbol() + " cannot process "
-							+ o.getClass().getSimpleName()))
-				.evaluate(o);
+							+ o.getClass().getSimpleName()));
+		unaryCache.put(key, selected);
+		return selected.evaluate(o);
 	}
 
 	@Override
@@ -102,6 +128,13 @@ public class SimpleOperatorLibrary implements OperatorLibrary
 	public Object evaluate(Operator operator, Object left, Object right,
 		Optional<FormatManager<?>> asserted)
 	{
+		DispatchKey key =
+				new DispatchKey(operator, left.getClass(), right.getClass(), asserted);
+		OperatorAction cached = operatorCache.get(key);
+		if (cached != null)
+		{
+			return cached.evaluate(left, right);
+		}
 		List<OperatorAction> actionList = operatorMTL.getListFor(operator);
 		if (actionList == null)
 		{
@@ -110,7 +143,7 @@ public class SimpleOperatorLibrary implements OperatorLibrary
 				+ " cannot process " + left.getClass().getSimpleName() + " and "
 				+ right.getClass().getSimpleName());
 		}
-		return actionList.stream()
+		OperatorAction selected = actionList.stream()
 				.filter(action -> action
 					.abstractEvaluate(left.getClass(), right.getClass(), asserted)
 					.isPresent())
@@ -119,8 +152,9 @@ public class SimpleOperatorLibrary implements OperatorLibrary
 					"Evaluate called on invalid Operator: "
 							+ operator.getSymbol() + " cannot process "
 							+ left.getClass().getSimpleName() + " and "
-							+ right.getClass().getSimpleName()))
-				.evaluate(left, right);
+							+ right.getClass().getSimpleName()));
+		operatorCache.put(key, selected);
+		return selected.evaluate(left, right);
 	}
 
 	@Override
@@ -140,4 +174,45 @@ public class SimpleOperatorLibrary implements OperatorLibrary
 				.orElse(Optional.empty());
 	}
 
+	/**
+	 * A DispatchKey identifies the action selected for an Operator: the
+	 * Operator, the class of each argument and (for binary operators) the
+	 * asserted format.
+	 */
+	private static final class DispatchKey
+	{
+		private final Operator operator;
+		private final Class<?> left;
+		private final Class<?> right;
+		private final Optional<FormatManager<?>> asserted;
+
+		private DispatchKey(Operator operator, Class<?> left, Class<?> right,
+			Optional<FormatManager<?>> asserted)
+		{
+			this.operator = operator;
+			this.left = left;
+			this.right = right;
+			this.asserted = asserted;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return (31 * operator.hashCode() + left.hashCode()) * 31
+				+ Objects.hashCode(right);
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (obj instanceof DispatchKey)
+			{
+				DispatchKey other = (DispatchKey) obj;
+				return (operator == other.operator) && (left == other.left)
+					&& (right == other.right)
+					&& Objects.equals(asserted, other.asserted);
+			}
+			return false;
+		}
+	}
 }
@@ -0,0 +1,409 @@
+/*
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.base.formula.visitor;
+
+import java.lang.reflect.Array;
+import java.util.Optional;
+
+import pcgen.base.formula.base.EvaluationManager;
+import pcgen.base.formula.base.FormulaFunction;
+import pcgen.base.formula.base.FunctionLibrary;
+import pcgen.base.formula.base.OperatorLibrary;
+import pcgen.base.formula.parse.ASTArithmetic;
+import pcgen.base.formula.parse.ASTEquality;
+import pcgen.base.formula.parse.ASTExpon;
+import pcgen.base.formula.parse.ASTFParen;
+import pcgen.base.formula.parse.ASTGeometric;
+import pcgen.base.formula.parse.ASTLogical;
+import pcgen.base.formula.parse.ASTNum;
+import pcgen.base.formula.parse.ASTPCGenBracket;
+import pcgen.base.formula.parse.ASTPCGenLookup;
+import pcgen.base.formula.parse.ASTPCGenSingleWord;
+import pcgen.base.formula.parse.ASTParen;
+import pcgen.base.formula.parse.ASTQuotString;
+import pcgen.base.formula.parse.ASTRelational;
+import pcgen.base.formula.parse.ASTRoot;
+import pcgen.base.formula.parse.ASTUnaryMinus;
+import pcgen.base.formula.parse.ASTUnaryNot;
+import pcgen.base.formula.parse.FormulaParserVisitor;
+import pcgen.base.formula.parse.Node;
+import pcgen.base.formula.parse.Operator;
+import pcgen.base.formula.parse.SimpleNode;
+import pcgen.base.util.FormatManager;
+
+/**
+ * CompileVisitor visits a formula in tree form in order to produce a
+ * CompiledExpression that will evaluate the formula.
+ *
+ * The work that EvaluateVisitor repeats on each evaluation but that does not
+ * depend on the EvaluationManager is done once by CompileVisitor: numeric
+ * constants are parsed, the Operator of each node is bound, grouping nodes are
+ * removed and function arguments are accumulated. The resulting
+ * CompiledExpression produces the same result as EvaluateVisitor.
+ *
+ * FormulaFunction objects are given the tree of their arguments (and an
+ * EvaluateVisitor) as defined by the FormulaFunction interface, so the
+ * arguments of a function are still processed by EvaluateVisitor.
+ *
+ * The data parameter to the visit methods is not used and may be null.
+ */
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.ExcessiveImports"})
+public class CompileVisitor implements FormulaParserVisitor
+{
+
+	/**
+	 * The EvaluateVisitor used for variable lookups and to process function
+	 * arguments.
+	 */
+	private final EvaluateVisitor evaluateVisitor;
+
+	/**
+	 * Constructs a new CompileVisitor.
+	 *
+	 * @param evaluateVisitor
+	 *            The EvaluateVisitor used for variable lookups and to process
+	 *            function arguments
+	 */
+	public CompileVisitor(EvaluateVisitor evaluateVisitor)
+	{
+		this.evaluateVisitor = evaluateVisitor;
+	}
+
+	/**
+	 * Visits a SimpleNode, using double dispatch to reach the method on this
+	 * CompileVisitor appropriate for the type of SimpleNode.
+	 */
+	@Override
+	public Object visit(SimpleNode node, Object data)
+	{
+		return node.jjtAccept(this, data);
+	}
+
+	/**
+	 * Compiles the (single) child of this node, as a root is simply a
+	 * structural placeholder.
+	 */
+	@Override
+	public Object visit(ASTRoot node, Object data)
+	{
+		return compileChild(node, 0);
+	}
+
+	@Override
+	public Object visit(ASTLogical node, Object data)
+	{
+		return compileRelational(node);
+	}
+
+	@Override
+	public Object visit(ASTEquality node, Object data)
+	{
+		return compileRelational(node);
+	}
+
+	@Override
+	public Object visit(ASTRelational node, Object data)
+	{
+		return compileRelational(node);
+	}
+
+	@Override
+	public Object visit(ASTArithmetic node, Object data)
+	{
+		return compileOperatorNode(node);
+	}
+
+	@Override
+	public Object visit(ASTGeometric node, Object data)
+	{
+		return compileOperatorNode(node);
+	}
+
+	@Override
+	public Object visit(ASTUnaryMinus node, Object data)
+	{
+		return compileUnaryNode(node);
+	}
+
+	@Override
+	public Object visit(ASTUnaryNot node, Object data)
+	{
+		return compileUnaryNode(node);
+	}
+
+	@Override
+	public Object visit(ASTExpon node, Object data)
+	{
+		return compileOperatorNode(node);
+	}
+
+	/**
+	 * Compiles the (single) child of this node, as grouping parenthesis are
+	 * logically present only to define order of operations (now implicit in the
+	 * tree structure).
+	 */
+	@Override
+	public Object visit(ASTParen node, Object data)
+	{
+		return compileChild(node, 0);
+	}
+
+	/**
+	 * Parses the numeric value once, returning a CompiledExpression that
+	 * returns the parsed value.
+	 */
+	@Override
+	public Object visit(ASTNum node, Object data)
+	{
+		String nodeText = node.getText();
+		Number value;
+		try
+		{
+			value = Integer.valueOf(nodeText);
+		}
+		catch (NumberFormatException e)
+		{
+			value = Double.valueOf(nodeText);
+		}
+		Number constant = value;
+		return (CompiledExpression) manager -> constant;
+	}
+
+	/**
+	 * Compiles a FormulaFunction call or an array lookup.
+	 */
+	@Override
+	public Object visit(ASTPCGenLookup node, Object data)
+	{
+		ASTPCGenSingleWord fnode = (ASTPCGenSingleWord) node.jjtGetChild(0);
+		String name = fnode.getText();
+		Node argNode = node.jjtGetChild(1);
+		Node[] args = VisitorUtilities.accumulateArguments(argNode);
+		if (argNode instanceof ASTFParen)
+		{
+			return new FunctionCall(name, args);
+		}
+		else if (argNode instanceof ASTPCGenBracket)
+		{
+			CompiledExpression indexExpression = compileNode(args[0]);
+			return (CompiledExpression) manager -> {
+				int index = (Integer) indexExpression.evaluate(manager);
+				return Array.get(evaluateVisitor.visitVariable(name, manager), index);
+			};
+		}
+		throw new IllegalStateException("Invalid Formula (unrecognized node: "
+			+ argNode + ")");
+	}
+
+	@Override
+	public Object visit(ASTPCGenSingleWord node, Object data)
+	{
+		String varName = node.getText();
+		return (CompiledExpression) manager -> evaluateVisitor.visitVariable(varName, manager);
+	}
+
+	/**
+	 * This type of node is ONLY encountered as part of a function, and is
+	 * consumed when compiling the function.
+	 */
+	@Override
+	public Object visit(ASTPCGenBracket node, Object data)
+	{
+		throw new IllegalStateException(
+			"Compile called on invalid Formula (reached Function Brackets)");
+	}
+
+	/**
+	 * This type of node is ONLY encountered as part of a function, and is
+	 * consumed when compiling the function.
+	 */
+	@Override
+	public Object visit(ASTFParen node, Object data)
+	{
+		throw new IllegalStateException(
+			"Compile called on invalid Formula (reached Function Parenthesis)");
+	}
+
+	/**
+	 * Compiles a Quoted String. As with EvaluateVisitor, the asserted format is
+	 * used (if possible) to convert the String when the CompiledExpression is
+	 * evaluated.
+	 */
+	@Override
+	public Object visit(ASTQuotString node, Object data)
+	{
+		String text = node.getText();
+		return (CompiledExpression) manager -> {
+			Optional<FormatManager<?>> asserted = manager.get(EvaluationManager.ASSERTED);
+			if (!asserted.isPresent())
+			{
+				return text;
+			}
+			try
+			{
+				return asserted.get().convert(text);
+			}
+			catch (IllegalArgumentException e)
+			{
+				//Give up and return a String
+				return text;
+			}
+		};
+	}
+
+	/**
+	 * Compiles the given node.
+	 *
+	 * @param node
+	 *            The node to be compiled
+	 * @return The CompiledExpression for the given node
+	 */
+	private CompiledExpression compileNode(Node node)
+	{
+		return (CompiledExpression) node.jjtAccept(this, null);
+	}
+
+	/**
+	 * Compiles the child of the given node at the given index.
+	 *
+	 * @param node
+	 *            The node for which a child will be compiled
+	 * @param index
+	 *            The index of the child to be compiled
+	 * @return The CompiledExpression for the child
+	 */
+	private CompiledExpression compileChild(SimpleNode node, int index)
+	{
+		return compileNode(node.jjtGetChild(index));
+	}
+
+	/**
+	 * Compiles an operator node. Must have 2 children and a node that contains
+	 * an Operator.
+	 *
+	 * @param node
+	 *            The node that contains an Operator and has exactly 2 children.
+	 * @return The CompiledExpression for the given node
+	 */
+	private CompiledExpression compileOperatorNode(SimpleNode node)
+	{
+		CompiledExpression left = compileChild(node, 0);
+		CompiledExpression right = compileChild(node, 1);
+		Operator operator = node.getOperator();
+		return manager -> {
+			Object child1result = left.evaluate(manager);
+			Object child2result = right.evaluate(manager);
+			OperatorLibrary opLib = manager.get(EvaluationManager.OPLIB);
+			Optional<FormatManager<?>> asserted = manager.get(EvaluationManager.ASSERTED);
+			return opLib.evaluate(operator, child1result, child2result, asserted);
+		};
+	}
+
+	/**
+	 * Compiles a relational node. Must have 2 children and a node that contains
+	 * an Operator.
+	 *
+	 * @param node
+	 *            The node that contains an Operator and has exactly 2 children.
+	 * @return The CompiledExpression for the given node
+	 */
+	private CompiledExpression compileRelational(SimpleNode node)
+	{
+		CompiledExpression operation = compileOperatorNode(node);
+		//Pass in empty since we can't assert what each side of the logical expression is
+		return manager -> operation.evaluate(
+			manager.getWith(EvaluationManager.ASSERTED, Optional.empty()));
+	}
+
+	/**
+	 * Compiles a unary operator node. Must have 1 child and a node that contains
+	 * a Unary Operator.
+	 *
+	 * @param node
+	 *            The node that contains a Unary Operator and has exactly 1
+	 *            child.
+	 * @return The CompiledExpression for the given node
+	 */
+	private CompiledExpression compileUnaryNode(SimpleNode node)
+	{
+		CompiledExpression child = compileChild(node, 0);
+		Operator operator = node.getOperator();
+		return manager -> {
+			Object result = child.evaluate(manager);
+			OperatorLibrary opLib = manager.get(EvaluationManager.OPLIB);
+			return opLib.evaluate(operator, result);
+		};
+	}
+
+	/**
+	 * A FunctionCall is the CompiledExpression for a FormulaFunction in a
+	 * formula. The FormulaFunction is looked up in the FunctionLibrary of the
+	 * EvaluationManager, and the result of that lookup is retained for as long
+	 * as the same FunctionLibrary is used.
+	 */
+	private final class FunctionCall implements CompiledExpression
+	{
+		/**
+		 * The name of the FormulaFunction.
+		 */
+		private final String name;
+
+		/**
+		 * The arguments to the FormulaFunction.
+		 */
+		private final Node[] args;
+
+		/**
+		 * The most recently resolved FormulaFunction.
+		 */
+		private volatile ResolvedFunction resolved;
+
+		private FunctionCall(String name, Node[] args)
+		{
+			this.name = name;
+			this.args = args;
+		}
+
+		@Override
+		public Object evaluate(EvaluationManager manager)
+		{
+			FunctionLibrary ftnLib = manager.get(EvaluationManager.FUNCTION);
+			ResolvedFunction current = resolved;
+			if ((current == null) || (current.library != ftnLib))
+			{
+				current = new ResolvedFunction(ftnLib, ftnLib.getFunction(name));
+				resolved = current;
+			}
+			return current.function.evaluate(evaluateVisitor, args, manager);
+		}
+	}
+
+	/**
+	 * A ResolvedFunction is the (immutable) result of looking up a
+	 * FormulaFunction in a FunctionLibrary.
+	 */
+	private static final class ResolvedFunction
+	{
+		private final FunctionLibrary library;
+		private final FormulaFunction function;
+
+		private ResolvedFunction(FunctionLibrary library, FormulaFunction function)
+		{
+			this.library = library;
+			this.function = function;
+		}
+	}
+}
@@ -0,0 +1,44 @@
+/*
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.base.formula.visitor;
+
+import pcgen.base.formula.base.EvaluationManager;
+
+/**
+ * A CompiledExpression is the executable form of a formula (or a part of a
+ * formula), as produced by CompileVisitor.
+ *
+ * A CompiledExpression produces the same result as EvaluateVisitor would when
+ * visiting the tree from which the CompiledExpression was compiled, but avoids
+ * the double dispatch and the re-parsing of constants on each evaluation.
+ *
+ * A CompiledExpression does not hold any state specific to an evaluation, so a
+ * single CompiledExpression may be used (including concurrently) with any
+ * number of EvaluationManager objects.
+ */
+@FunctionalInterface
+public interface CompiledExpression
+{
+	/**
+	 * Evaluates this CompiledExpression in the context of the given
+	 * EvaluationManager.
+	 *
+	 * @param manager
+	 *            The EvaluationManager used in evaluation
+	 * @return The result of evaluating this CompiledExpression
+	 */
+	public Object evaluate(EvaluationManager manager);
+}
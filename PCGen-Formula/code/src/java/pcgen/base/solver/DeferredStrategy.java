@@ -0,0 +1,229 @@
+/*
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this library; if not, write to the Free Software Foundation, Inc.,
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.base.solver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import pcgen.base.formula.base.DependencyConsumer;
+import pcgen.base.formula.base.VariableID;
+import pcgen.base.formula.base.VariableSolver;
+
+/**
+ * A DeferredStrategy is a SolverStrategy that, while a batch is open, only records
+ * which VariableIDs need to be calculated. When the batch is committed, each of those
+ * VariableIDs (and the VariableIDs dependent upon them) is calculated once, in
+ * dependency order.
+ *
+ * Outside of a batch, a DeferredStrategy behaves as an AggressiveStrategy. Nothing is
+ * deferred unless the users of the SolverSystem bracket a series of changes (such as
+ * the loading of a character) with startBatch() and commitBatch().
+ *
+ * Note that values in the VariableStore are not updated until the batch is committed.
+ */
+public class DeferredStrategy implements SolverStrategy
+{
+
+	/**
+	 * The maximum number of passes over the dirty VariableIDs when a batch is
+	 * committed. Each pass calculates the VariableIDs in dependency order, so more than
+	 * a few passes are only needed if dynamic dependencies change the graph during the
+	 * commit; exceeding this indicates a loop.
+	 */
+	private static final int MAX_PASSES = 100;
+
+	/**
+	 * The VariableSolver used to solve a given VariableID. Must return true if the value
+	 * changed.
+	 */
+	private final VariableSolver solveProcessor;
+
+	/**
+	 * The DependencyConsumer used to process an item on all dependents of a VariableID.
+	 */
+	private final DependencyConsumer depConsumer;
+
+	/**
+	 * The AggressiveStrategy used when no batch is open.
+	 */
+	private final AggressiveStrategy immediate;
+
+	/**
+	 * The VariableIDs that need to be calculated when the batch is committed.
+	 */
+	private final Set<VariableID<?>> dirty = new LinkedHashSet<>();
+
+	/**
+	 * The number of batches that have been started but not committed.
+	 */
+	private int batchDepth = 0;
+
+	/**
+	 * Constructs a new DeferredStrategy with the given arguments.
+	 *
+	 * @param depConsumer
+	 *            The DependencyConsumer used to process an item on all dependents of a
+	 *            VariableID
+	 * @param solveProcessor
+	 *            The VariableSolver used to solve a given VariableID
+	 */
+	public DeferredStrategy(DependencyConsumer depConsumer,
+		VariableSolver solveProcessor)
+	{
+		this.depConsumer = Objects.requireNonNull(depConsumer);
+		this.solveProcessor = Objects.requireNonNull(solveProcessor);
+		immediate = new AggressiveStrategy(depConsumer, solveProcessor);
+	}
+
+	@Override
+	public void startBatch()
+	{
+		batchDepth++;
+	}
+
+	@Override
+	public void commitBatch()
+	{
+		if (batchDepth == 0)
+		{
+			throw new IllegalStateException(
+				"Commit called on DeferredStrategy without an open batch");
+		}
+		if (batchDepth > 1)
+		{
+			batchDepth--;
+			return;
+		}
+		/*
+		 * Leave the batch open while solving, so that value updates during the commit
+		 * are recorded rather than processed immediately.
+		 */
+		try
+		{
+			solveDirty();
+		}
+		finally
+		{
+			dirty.clear();
+			batchDepth = 0;
+		}
+	}
+
+	@Override
+	public void processModsUpdated(VariableID<?> varID)
+	{
+		if (batchDepth == 0)
+		{
+			immediate.processModsUpdated(varID);
+		}
+		else
+		{
+			dirty.add(varID);
+		}
+	}
+
+	@Override
+	public void processValueUpdated(VariableID<?> varID)
+	{
+		if (batchDepth == 0)
+		{
+			immediate.processValueUpdated(varID);
+		}
+		else
+		{
+			depConsumer.processForDependents(varID, dirty::add);
+		}
+	}
+
+	/**
+	 * Calculates each dirty VariableID once, in dependency order. Calculating a
+	 * VariableID whose value changes marks its dependents as dirty (through
+	 * processValueUpdated), so those dependents are calculated later in the same pass.
+	 */
+	private void solveDirty()
+	{
+		int passes = 0;
+		while (!dirty.isEmpty())
+		{
+			if (++passes > MAX_PASSES)
+			{
+				throw new IllegalStateException(
+					"Infinite Loop in Variable Processing: " + dirty);
+			}
+			for (VariableID<?> varID : dependencyOrder(new ArrayList<>(dirty)))
+			{
+				if (dirty.remove(varID))
+				{
+					solveProcessor.solve(varID);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the given VariableIDs and all VariableIDs dependent upon them, ordered so
+	 * that each VariableID appears after every VariableID it depends upon.
+	 *
+	 * @param roots
+	 *            The VariableIDs from which the dependency analysis should start
+	 * @return The ordered list of VariableIDs
+	 */
+	private List<VariableID<?>> dependencyOrder(List<VariableID<?>> roots)
+	{
+		Deque<VariableID<?>> order = new ArrayDeque<>();
+		Set<VariableID<?>> visited = new HashSet<>();
+		Set<VariableID<?>> inProgress = new LinkedHashSet<>();
+		for (VariableID<?> root : roots)
+		{
+			visit(root, visited, inProgress, order);
+		}
+		return new ArrayList<>(order);
+	}
+
+	private void visit(VariableID<?> varID, Set<VariableID<?>> visited,
+		Set<VariableID<?>> inProgress, Deque<VariableID<?>> order)
+	{
+		if (visited.contains(varID))
+		{
+			return;
+		}
+		if (!inProgress.add(varID))
+		{
+			throw new IllegalStateException(
+				"Infinite Loop in Variable Processing: " + inProgress);
+		}
+		depConsumer.processForDependents(varID,
+			child -> visit(child, visited, inProgress, order));
+		inProgress.remove(varID);
+		visited.add(varID);
+		order.addFirst(varID);
+	}
+
+	@Override
+	public DeferredStrategy generateReplacement(
+		DependencyConsumer newDepConsumer,
+		VariableSolver newSolver)
+	{
+		return new DeferredStrategy(newDepConsumer, newSolver);
+	}
+
+}
@@ -87,6 +87,18 @@ public class GeneralSolverSystem implements SolverSystem
 		strategy.processModsUpdated(varID);
 	}
 
+	@Override
+	public void startBatch()
+	{
+		strategy.startBatch();
+	}
+
+	@Override
+	public void commitBatch()
+	{
+		strategy.commitBatch();
+	}
+
 	@Override
 	public <T> List<ProcessStep<T>> diagnose(VariableID<T> varID)
 	{
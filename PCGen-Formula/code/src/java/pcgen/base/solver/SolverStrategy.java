@@ -44,6 +44,31 @@ public interface SolverStrategy
 	 */
 	public void processModsUpdated(VariableID<?> varID);
 
+	/**
+	 * Notifies the SolverStrategy that a series of updates is about to be made, so that
+	 * any calculation may be deferred until commitBatch() is called.
+	 * 
+	 * Calls to startBatch() may be nested; each must be matched by a call to
+	 * commitBatch(). The default implementation does nothing, as a SolverStrategy is not
+	 * required to defer calculation.
+	 */
+	public default void startBatch()
+	{
+		//By default, calculation is not deferred
+	}
+
+	/**
+	 * Notifies the SolverStrategy that the series of updates begun by startBatch() is
+	 * complete, so any deferred calculation must now be performed.
+	 * 
+	 * The default implementation does nothing, as a SolverStrategy is not required to
+	 * defer calculation.
+	 */
+	public default void commitBatch()
+	{
+		//By default, calculation is not deferred
+	}
+
 	/**
 	 * Generates a Replacement SolverStrategy with the given arguments.
 	 * 
@@ -70,6 +70,33 @@ public interface SolverSystem
 	public <T> void removeModifier(VariableID<T> varID, Modifier<T> modifier,
 		ScopeInstance source);
 
+	/**
+	 * Begins a series of changes to this SolverSystem. The SolverSystem may defer
+	 * calculating the values of the variables affected by the changes until
+	 * commitBatch() is called.
+	 * 
+	 * Calls to startBatch() may be nested; each must be matched by a call to
+	 * commitBatch(). The default implementation does nothing, as a SolverSystem is not
+	 * required to defer calculation.
+	 */
+	public default void startBatch()
+	{
+		//By default, calculation is not deferred
+	}
+
+	/**
+	 * Completes a series of changes to this SolverSystem begun by startBatch(). Once the
+	 * outermost batch is committed, the values of all variables affected by the changes
+	 * are calculated.
+	 * 
+	 * The default implementation does nothing, as a SolverSystem is not required to
+	 * defer calculation.
+	 */
+	public default void commitBatch()
+	{
+		//By default, calculation is not deferred
+	}
+
 	/**
 	 * Provides a List of ProcessStep objects identifying how the current value of the
 	 * variable identified by the given VariableID has been calculated.
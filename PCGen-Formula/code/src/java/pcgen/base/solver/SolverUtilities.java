@@ -88,4 +88,33 @@ public final class SolverUtilities
 		resultStore.addGeneralListener(event -> strategy.processValueUpdated(event.getVarID()));
 		return new GeneralSolverSystem(newSolver, dm, strategy);
 	}
+
+	/**
+	 * Builds a new GeneralSolverSystem with a Deferred SolverStrategy and a Dynamic
+	 * SolverDependencyManager.
+	 * 
+	 * @param varLib
+	 *            The VariableLibrary used to set up the SolverSystem
+	 * @param managerFactory
+	 *            The ManagerFactory used to set up the SolverSystem
+	 * @param valueStore
+	 *            The ValueStore used to set up the SolverSystem
+	 * @param resultStore
+	 *            The MonitorableVariableStore used to set up the SolverSystem
+	 * @return The new GeneralSolverSystem
+	 */
+	public static GeneralSolverSystem buildDeferredSolverSystem(
+		VariableLibrary varLib, ManagerFactory managerFactory,
+		ValueStore valueStore, MonitorableVariableStore resultStore)
+	{
+		SimpleSolverManager newSolver =
+				new SimpleSolverManager(varLib::isLegalVariableID,
+					managerFactory, valueStore, resultStore);
+		SolverDependencyManager dm = new DynamicSolverDependencyManager(
+			managerFactory, resultStore);
+		SolverStrategy strategy =
+				new DeferredStrategy(dm::processForChildren, newSolver::processSolver);
+		resultStore.addGeneralListener(event -> strategy.processValueUpdated(event.getVarID()));
+		return new GeneralSolverSystem(newSolver, dm, strategy);
+	}
 }
@@ -272,6 +272,28 @@ public class ComplexNEPFormulaTest extends AbstractFormulaTestCase
 		assertEquals(243.0, new ComplexNEPFormula<>("3^5", FormatUtilities.NUMBER_MANAGER).resolve(evalManager));
 	}
 
+	@Test
+	public void testResolveMatchesVisitor()
+	{
+		EvaluationManager evalManager = generateManager();
+		assertLegalVariable("a", "Global", FormatUtilities.NUMBER_MANAGER);
+		assertLegalVariable("b", "Global", FormatUtilities.NUMBER_MANAGER);
+		setVariable(getVariable("a"), 4);
+		setVariable(getVariable("b"), 1);
+		assertLegalVariable("c", "Global", FormatUtilities.BOOLEAN_MANAGER);
+		setVariable(getBooleanVariable("c"), true);
+
+		List<String> formulas = List.of("3+5", "(3+5)*7", "3.5*2", "-a", "a-b", "2^a",
+			"if(a>=b,5,9)", "if(a==b,5,-9)", "if(c,a*b,a/b)", "max(a,b,2.5)");
+		for (String formula : formulas)
+		{
+			ComplexNEPFormula<Number> nep = new ComplexNEPFormula<>(formula, FormatUtilities.NUMBER_MANAGER);
+			assertEquals(nep.resolveByVisitor(evalManager), nep.resolve(evalManager), formula);
+		}
+		ComplexNEPFormula<Boolean> not = new ComplexNEPFormula<>("!c", FormatUtilities.BOOLEAN_MANAGER);
+		assertEquals(not.resolveByVisitor(evalManager), not.resolve(evalManager));
+	}
+
 	@Test
 	public void testAssertionNumberDirect() throws SemanticsException
 	{
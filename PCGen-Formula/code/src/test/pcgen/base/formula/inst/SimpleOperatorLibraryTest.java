@@ -30,6 +30,7 @@ import pcgen.base.formula.operator.generic.GenericEquals;
 import pcgen.base.formula.operator.number.NumberAdd;
 import pcgen.base.formula.operator.number.NumberEquals;
 import pcgen.base.formula.operator.number.NumberMinus;
+import pcgen.base.formula.operator.string.StringAdd;
 import pcgen.base.formula.parse.Operator;
 import pcgen.base.testsupport.TestUtilities;
 
@@ -88,4 +89,22 @@ public class SimpleOperatorLibraryTest
 		assertEquals(Boolean.FALSE, library.evaluate(Operator.EQ, 1, 2, null));
 	}
 
+	@Test
+	public void testRepeatedEvaluation()
+	{
+		SimpleOperatorLibrary library = new SimpleOperatorLibrary();
+		library.addAction(new NumberAdd());
+		library.addAction(new NumberMinus());
+		assertEquals(Integer.valueOf(3), library.evaluate(Operator.ADD, 1, 2, null));
+		assertEquals(Integer.valueOf(7), library.evaluate(Operator.ADD, 3, 4, null));
+		assertEquals(Double.valueOf(3.5), library.evaluate(Operator.ADD, 1, 2.5, null));
+		assertEquals(Integer.valueOf(3), library.evaluate(Operator.MINUS, -3));
+		assertEquals(Integer.valueOf(-4), library.evaluate(Operator.MINUS, 4));
+		//A failed lookup is not remembered once an action is added
+		assertThrows(IllegalStateException.class, () -> library.evaluate(Operator.ADD, "a", "b", null));
+		library.addAction(new StringAdd());
+		assertEquals("ab", library.evaluate(Operator.ADD, "a", "b", null));
+		assertEquals(Integer.valueOf(3), library.evaluate(Operator.ADD, 1, 2, null));
+	}
+
 }
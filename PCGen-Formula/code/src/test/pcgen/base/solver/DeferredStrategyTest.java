@@ -0,0 +1,162 @@
+/*
+ * This library is free software; you can redistribute it and/or modify it under the terms
+ * of the GNU Lesser General Public License as published by the Free Software Foundation;
+ * either version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License along with
+ * this library; if not, write to the Free Software Foundation, Inc., 59 Temple Place,
+ * Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.base.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import pcgen.base.formatmanager.FormatUtilities;
+import pcgen.base.formula.base.VariableID;
+import pcgen.base.testsupport.AbstractFormulaTestCase;
+
+public class DeferredStrategyTest extends AbstractFormulaTestCase
+{
+	private VariableID<Number> str;
+	private VariableID<Number> dex;
+	private VariableID<Number> lift;
+	private Graph graph;
+	private List<VariableID<?>> solved;
+	private DeferredStrategy strategy;
+
+	@BeforeEach
+	@Override
+	protected void setUp()
+	{
+		super.setUp();
+		str = new VariableID<>(getGlobalScopeInst(),
+			FormatUtilities.NUMBER_MANAGER, "STR");
+		dex = new VariableID<>(getGlobalScopeInst(),
+			FormatUtilities.NUMBER_MANAGER, "DEX");
+		lift = new VariableID<>(getGlobalScopeInst(),
+			FormatUtilities.NUMBER_MANAGER, "LIFT");
+		graph = new Graph();
+		solved = new ArrayList<>();
+		//Every solve "changes" the value, as a MonitorableVariableStore would report
+		strategy = new DeferredStrategy(graph::processForChildren, varID -> {
+			solved.add(varID);
+			strategy.processValueUpdated(varID);
+			return true;
+		});
+	}
+
+	@Test
+	public void testIllegalConstruction()
+	{
+		assertThrows(NullPointerException.class, () -> new DeferredStrategy(null, var -> true));
+		assertThrows(NullPointerException.class, () -> new DeferredStrategy((varID, consumer) -> {}, null));
+	}
+
+	@Test
+	public void testImmediateOutsideBatch()
+	{
+		graph.add(str, lift);
+		strategy.processModsUpdated(str);
+		assertEquals(List.of(str, lift), solved);
+	}
+
+	@Test
+	public void testBatchSolvesOnce()
+	{
+		graph.add(str, lift);
+		graph.add(dex, lift);
+		strategy.startBatch();
+		strategy.processModsUpdated(str);
+		strategy.processModsUpdated(dex);
+		strategy.processModsUpdated(str);
+		assertTrue(solved.isEmpty());
+		strategy.commitBatch();
+		assertEquals(3, solved.size());
+		assertEquals(lift, solved.get(2));
+		assertTrue(solved.contains(str));
+		assertTrue(solved.contains(dex));
+	}
+
+	@Test
+	public void testDependencyOrder()
+	{
+		graph.add(str, lift);
+		strategy.startBatch();
+		strategy.processModsUpdated(lift);
+		strategy.processModsUpdated(str);
+		strategy.commitBatch();
+		assertEquals(List.of(str, lift), solved);
+	}
+
+	@Test
+	public void testNestedBatch()
+	{
+		strategy.startBatch();
+		strategy.startBatch();
+		strategy.processModsUpdated(str);
+		strategy.commitBatch();
+		assertTrue(solved.isEmpty());
+		strategy.commitBatch();
+		assertEquals(List.of(str), solved);
+		strategy.processModsUpdated(dex);
+		assertEquals(List.of(str, dex), solved);
+	}
+
+	@Test
+	public void testCommitWithoutStart()
+	{
+		assertThrows(IllegalStateException.class, () -> strategy.commitBatch());
+	}
+
+	@Test
+	public void testLoop()
+	{
+		graph.add(str, lift);
+		graph.add(lift, str);
+		strategy.startBatch();
+		strategy.processModsUpdated(str);
+		assertThrows(IllegalStateException.class, () -> strategy.commitBatch());
+		//The failed commit must not leave the batch open
+		solved.clear();
+		graph.clear();
+		strategy.processModsUpdated(dex);
+		assertEquals(List.of(dex), solved);
+	}
+
+	private static class Graph
+	{
+		private final Map<VariableID<?>, List<VariableID<?>>> children = new HashMap<>();
+
+		public void add(VariableID<?> parent, VariableID<?> child)
+		{
+			children.computeIfAbsent(parent, k -> new ArrayList<>()).add(child);
+		}
+
+		public void clear()
+		{
+			children.clear();
+		}
+
+		public void processForChildren(VariableID<?> varID,
+			Consumer<VariableID<?>> consumer)
+		{
+			children.getOrDefault(varID, List.of()).forEach(consumer);
+		}
+	}
+
+}
@@ -17,12 +17,11 @@
  */
 package pcgen.cdom.enumeration;
 
-import java.util.Map;
 import java.util.Objects;
 
 import pcgen.base.enumeration.TypeSafeConstant;
 import pcgen.cdom.base.PCGenIdentifier;
-import pcgen.cdom.facet.base.AbstractStorageFacet;
+import pcgen.cdom.facet.base.FacetStorage;
 
 /**
  * 
@@ -48,13 +47,12 @@ public final class CharID implements TypeSafeConstant, PCGenIdentifier
 	private final DataSetID datasetID;
 
 	/**
-	 * A view of the cache for this CharID. Generally useful for debuggers,
-	 * since this is a consolidated point for the cache for a single
-	 * CharID/PlayerCharacter (and useful to be here in CharID since there is
-	 * now code that no longer has any PlayerCharacter reference).
+	 * The cache for this CharID. Also useful for debuggers, since this is a
+	 * consolidated point for the cache for a single CharID/PlayerCharacter (and
+	 * useful to be here in CharID since there is now code that no longer has
+	 * any PlayerCharacter reference).
 	 */
-	@SuppressWarnings("unused")
-	private Map<Class<?>, Object> myFacetCache;
+	private final FacetStorage myFacetCache = new FacetStorage();
 
 	private CharID(DataSetID dsid)
 	{
@@ -79,9 +77,7 @@ public final class CharID implements TypeSafeConstant, PCGenIdentifier
 
 	public static CharID getID(DataSetID dsid)
 	{
-		CharID id = new CharID(dsid);
-		id.myFacetCache = AbstractStorageFacet.peekAtCache(id);
-		return id;
+		return new CharID(dsid);
 	}
 
 	@Override
@@ -89,4 +85,10 @@ public final class CharID implements TypeSafeConstant, PCGenIdentifier
 	{
 		return this.datasetID;
 	}
+
+	@Override
+	public FacetStorage getFacetStorage()
+	{
+		return myFacetCache;
+	}
 }
@@ -17,11 +17,9 @@
  */
 package pcgen.cdom.enumeration;
 
-import java.util.Map;
-
 import pcgen.base.enumeration.TypeSafeConstant;
 import pcgen.cdom.base.PCGenIdentifier;
-import pcgen.cdom.facet.base.AbstractStorageFacet;
+import pcgen.cdom.facet.base.FacetStorage;
 
 /**
  * This Class is a Type Safe Constant. It is designed to hold a unique Data Set
@@ -42,13 +40,12 @@ public final class DataSetID implements TypeSafeConstant, PCGenIdentifier
 	private final int ordinal;
 
 	/**
-	 * A view of the cache for this DataSetID. Generally useful for debuggers,
-	 * since this is a consolidated point for the cache for a single
-	 * DataSetID/Loaded Campaigns (and useful to be here in DataSetID since
-	 * there is code that has no Loaded Campaign reference).
+	 * The cache for this DataSetID. Also useful for debuggers, since this is a
+	 * consolidated point for the cache for a single DataSetID/Loaded Campaigns
+	 * (and useful to be here in DataSetID since there is code that has no
+	 * Loaded Campaign reference).
 	 */
-	@SuppressWarnings("unused")
-	private Map<Class<?>, Object> myFacetCache;
+	private final FacetStorage myFacetCache = new FacetStorage();
 
 	private DataSetID()
 	{
@@ -66,9 +63,7 @@ public final class DataSetID implements TypeSafeConstant, PCGenIdentifier
 
 	public static DataSetID getID()
 	{
-		DataSetID id = new DataSetID();
-		id.myFacetCache = AbstractStorageFacet.peekAtCache(id);
-		return id;
+		return new DataSetID();
 	}
 
 	@Override
@@ -76,4 +71,10 @@ public final class DataSetID implements TypeSafeConstant, PCGenIdentifier
 	{
 		return this;
 	}
+
+	@Override
+	public FacetStorage getFacetStorage()
+	{
+		return myFacetCache;
+	}
 }
@@ -170,7 +170,7 @@ public final class Type implements TypeSafeConstant, Comparable<Type>
 	 *            The name of the constant to be returned
 	 * @return The Constant for the given name
 	 */
-	public static Type getConstant(String name)
+	public static synchronized Type getConstant(String name)
 	{
 		Type type = TYPE_MAP.get(name);
 		if (type == null)
@@ -192,7 +192,7 @@ public final class Type implements TypeSafeConstant, Comparable<Type>
 	 * @throws IllegalArgumentException
 	 *             if the given String is not a previously defined Type
 	 */
-	public static Type valueOf(String name)
+	public static synchronized Type valueOf(String name)
 	{
 		Type type = TYPE_MAP.get(name);
 		if (type == null)
@@ -229,7 +229,7 @@ public final class Type implements TypeSafeConstant, Comparable<Type>
 		return fieldName.compareTo(type.fieldName);
 	}
 
-	public static void buildMap()
+	public static synchronized void buildMap()
 	{
 		TYPE_MAP.clear();
 		Field[] fields = Type.class.getDeclaredFields();
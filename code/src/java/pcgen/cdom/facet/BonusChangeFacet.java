@@ -50,9 +50,11 @@ public class BonusChangeFacet extends AbstractStorageFacet<CharID>
 	 * @param id
 	 *            The CharID identifying the Player Character for which the
 	 *            check for changes in bonus values should be performed
+	 * @return true if any Bonus value changed; false otherwise
 	 */
-	public void reset(CharID id)
+	public boolean reset(CharID id)
 	{
+		boolean changed = false;
 		DoubleKeyMap<String, String, Double> map = getConstructingInfo(id);
 		for (String type : support.getBonusTypes())
 		{
@@ -64,9 +66,11 @@ public class BonusChangeFacet extends AbstractStorageFacet<CharID>
 				{
 					map.put(type, name, newValue);
 					support.fireBonusChange(id, type, name, oldValue, newValue);
+					changed = true;
 				}
 			}
 		}
+		return changed;
 	}
 
 	/**
@@ -19,8 +19,11 @@ package pcgen.cdom.facet;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 import pcgen.cdom.base.Constants;
 import pcgen.cdom.enumeration.CharID;
@@ -145,10 +148,23 @@ public class EquipSetFacet extends AbstractListFacet<CharID, EquipSet>
 	 */
 	public EquipSet getEquipSetByIdPath(CharID id, String path)
 	{
-		for (EquipSet eSet : getSet(id))
+		EquipSetList componentSet = (EquipSetList) getCachedSet(id);
+		if (componentSet == null)
+		{
+			return null;
+		}
+		Map<String, EquipSet> index = componentSet.getPathIndex();
+		EquipSet indexed = index.get(path);
+		if ((indexed != null) && indexed.getIdPath().equals(path) && componentSet.contains(indexed))
+		{
+			return indexed;
+		}
+
+		for (EquipSet eSet : componentSet)
 		{
 			if (eSet.getIdPath().equals(path))
 			{
+				index.put(path, eSet);
 				return eSet;
 			}
 		}
@@ -232,6 +248,48 @@ public class EquipSetFacet extends AbstractListFacet<CharID, EquipSet>
 		return (float) 0;
 	}
 
+	@Override
+	protected Collection<EquipSet> getComponentSet()
+	{
+		return new EquipSetList();
+	}
+
+	@Override
+	protected Collection<EquipSet> getCopyForNewOwner(Collection<EquipSet> componentSet)
+	{
+		List<EquipSet> newCopies = new ArrayList<>();
+		for (EquipSet eSet : componentSet)
+		{
+			newCopies.add(eSet.clone());
+		}
+		return newCopies;
+	}
+
+	/**
+	 * The EquipSets of a PC, along with an index of those EquipSets by path.
+	 * EquipSets may be removed (see delEquipSet) or have their path changed
+	 * without the index being informed, so each EquipSet found in the index is
+	 * checked before being returned, and a path that is not found there is
+	 * searched for in the EquipSets.
+	 */
+	private static final class EquipSetList extends LinkedHashSet<EquipSet>
+	{
+		private transient Map<String, EquipSet> pathIndex;
+
+		private Map<String, EquipSet> getPathIndex()
+		{
+			if (pathIndex == null)
+			{
+				pathIndex = new HashMap<>();
+				for (EquipSet eSet : this)
+				{
+					pathIndex.putIfAbsent(eSet.getIdPath(), eSet);
+				}
+			}
+			return pathIndex;
+		}
+	}
+
 	/**
 	 * Notify the facet's listeners that data has been added
 	 * @param dfce The data facet change event.
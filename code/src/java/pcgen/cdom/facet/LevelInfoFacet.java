@@ -45,6 +45,17 @@ public class LevelInfoFacet extends AbstractListFacet<CharID, PCLevelInfo>
 		return new ArrayList<>();
 	}
 
+	@Override
+	protected Collection<PCLevelInfo> getCopyForNewOwner(Collection<PCLevelInfo> componentSet)
+	{
+		List<PCLevelInfo> newCopies = new ArrayList<>();
+		for (PCLevelInfo info : componentSet)
+		{
+			newCopies.add(info.clone());
+		}
+		return newCopies;
+	}
+
 	/**
 	 * Returns the PCLevelInfo in this LevelInfoFacet for the Player Character
 	 * represented by the given CharID and the given location in the list of
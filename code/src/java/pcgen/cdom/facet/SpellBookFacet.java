@@ -392,7 +392,10 @@ public class SpellBookFacet extends AbstractStorageFacet<CharID> implements Data
 		Map<String, SpellBook> map = getCachedMap(source);
 		if (map != null)
 		{
-			addAll(copy, map.values());
+			for (SpellBook book : map.values())
+			{
+				add(copy, book.clone());
+			}
 		}
 	}
 }
@@ -18,15 +18,16 @@
 package pcgen.cdom.facet.base;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 import pcgen.base.test.InequalityTester;
-import pcgen.base.util.DoubleKeyMap;
 import pcgen.cdom.base.PCGenIdentifier;
 import pcgen.util.Logging;
 
@@ -35,14 +36,35 @@ import pcgen.util.Logging;
  * cache. All classes (facets) that want to store information in the cache must
  * extend this class.
  * 
+ * The cache for each resource is the FacetStorage held by its PCGenIdentifier.
+ * Each facet class is given a slot in that FacetStorage when the first facet of
+ * the class is constructed (normally by FacetInitialization), so the contents
+ * of a facet are found without a lookup by class.
+ * 
  * @param <T>
  *            The Type of identifier used in this AbstractStorageFacet
  */
 public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 {
 
+	/**
+	 * The facet classes, in the order of their slots in a FacetStorage.
+	 */
+	private static final List<Class<?>> SLOT_CLASSES = new ArrayList<>();
+
+	/**
+	 * The slot of each facet class in a FacetStorage.
+	 */
+	private static final Map<Class<?>, Integer> SLOTS = new HashMap<>();
+
 	private final Class<?> thisClass = getClass();
 
+	/**
+	 * The slot of this facet (shared by all facets of the same class) in a
+	 * FacetStorage.
+	 */
+	private final int slot = getSlot(thisClass);
+
 	/**
 	 * Copies the contents of the AbstractStorageFacet from one resource to
 	 * another resource, based on the given PCGenIdentifiers representing those
@@ -69,22 +91,137 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	 */
 	public abstract void copyContents(T source, T copy);
 
+	private static synchronized int getSlot(Class<?> facetClass)
+	{
+		Integer facetSlot = SLOTS.get(facetClass);
+		if (facetSlot == null)
+		{
+			facetSlot = SLOT_CLASSES.size();
+			SLOT_CLASSES.add(facetClass);
+			SLOTS.put(facetClass, facetSlot);
+		}
+		return facetSlot;
+	}
+
+	/**
+	 * Returns the number of facet classes that have been given a slot.
+	 */
+	static synchronized int getSlotCount()
+	{
+		return SLOT_CLASSES.size();
+	}
+
+	private static synchronized Class<?> getSlotClass(int facetSlot)
+	{
+		return SLOT_CLASSES.get(facetSlot);
+	}
+
+	/**
+	 * Copies the contents of the given AbstractStorageFacets from one resource
+	 * to another resource, as copyContents does, except that the contents of
+	 * each AbstractStorageFacet are not copied until that AbstractStorageFacet
+	 * is first accessed for either resource.
+	 * 
+	 * Facets change the contents they hold in place, so a read cannot be told
+	 * apart from a write. The contents of an AbstractStorageFacet are
+	 * therefore copied before the first access of either resource, so changes
+	 * made to one resource are not seen by the other. The source resource
+	 * refers to the copy until every deferred copy has been made, so the copy
+	 * must be released with removeAllCache once it is no longer needed.
+	 * 
+	 * @param facets
+	 *            The AbstractStorageFacets for which the contents should be
+	 *            copied
+	 * @param source
+	 *            The PCGenIdentifier representing the resource from which the
+	 *            information should be copied
+	 * @param copy
+	 *            The PCGenIdentifier representing the resource to which the
+	 *            information should be copied
+	 */
+	public static void copyContentsOnAccess(Collection<AbstractStorageFacet> facets, PCGenIdentifier source,
+		PCGenIdentifier copy)
+	{
+		Objects.requireNonNull(source, "Source PCGenIdentifier cannot be null in copyContentsOnAccess");
+		Objects.requireNonNull(copy, "Copy PCGenIdentifier cannot be null in copyContentsOnAccess");
+		PendingCopy pending = new PendingCopy(source, copy);
+		for (AbstractStorageFacet facet : facets)
+		{
+			pending.facets.put(facet.thisClass, facet);
+		}
+		copy.getFacetStorage().pending = pending;
+		FacetStorage sourceStorage = source.getFacetStorage();
+		if (sourceStorage.dependents == null)
+		{
+			sourceStorage.dependents = new ArrayList<>();
+		}
+		sourceStorage.dependents.add(pending);
+	}
+
+	/**
+	 * Removes all of the information from the cache for a given resource,
+	 * including any contents not yet copied to it by copyContentsOnAccess.
+	 * Contents not yet copied from it by copyContentsOnAccess are copied
+	 * first. This is only to be used for a resource that will not be used
+	 * again.
+	 * 
+	 * @param id
+	 *            The PCGenIdentifier for which all information in the cache
+	 *            should be removed
+	 */
+	public static void removeAllCache(PCGenIdentifier id)
+	{
+		Objects.requireNonNull(id, "PCGenIdentifier cannot be null in removeAllCache");
+		FacetStorage storage = id.getFacetStorage();
+		if (storage.pending != null)
+		{
+			storage.pending.detach();
+		}
+		if (storage.dependents != null)
+		{
+			for (PendingCopy dependent : new ArrayList<>(storage.dependents))
+			{
+				dependent.copyAll();
+			}
+		}
+		storage.clear();
+	}
+
 	/**
-	 * The actual cache that stores the CDOM information, as stored by the
-	 * identifying PCGenIdentifier of a resource and the class of the facet
-	 * storing the information
+	 * Copies the contents of this facet, where that was deferred by
+	 * copyContentsOnAccess and has not yet taken place, to the given resource
+	 * and from the given resource to any copies of it.
 	 */
-	private static final DoubleKeyMap<PCGenIdentifier, Class<?>, Object> CACHE =
-			new DoubleKeyMap<>(WeakHashMap.class, HashMap.class);
+	private FacetStorage getStorage(T id)
+	{
+		FacetStorage storage = id.getFacetStorage();
+		if (storage.pending != null)
+		{
+			storage.pending.copy(thisClass);
+		}
+		if (storage.dependents != null)
+		{
+			for (PendingCopy dependent : new ArrayList<>(storage.dependents))
+			{
+				dependent.copy(thisClass);
+			}
+		}
+		return storage;
+	}
 
-	/*
-	 * Note: the use of CACHE.getReadOnlyMapFor(K1) in peekAtCache makes calling
-	 * CACHE.removeAll(k1) or CACHE.clear() [not used in this class at the
-	 * moment] a rather dangerous activity that is prone to later frustration in
-	 * debugging. It is advised that if such a call is every considered that
-	 * detailed consideration is made of the consequences so that debugging
-	 * information is not destroyed in the process. - thpr Dec 15, 2012.
+	/**
+	 * Copies all contents of the given resource that were deferred by
+	 * copyContentsOnAccess and have not yet been copied.
 	 */
+	private static FacetStorage copyAllPending(PCGenIdentifier id)
+	{
+		FacetStorage storage = id.getFacetStorage();
+		if (storage.pending != null)
+		{
+			storage.pending.copyAll();
+		}
+		return storage;
+	}
 
 	/**
 	 * Removes the information from the cache for a given resource and facet (as
@@ -100,7 +237,7 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	public Object removeCache(T id)
 	{
 		Objects.requireNonNull(id, "PCGenIdentifier cannot be null in removeCache");
-		return CACHE.remove(id, thisClass);
+		return getStorage(id).put(slot, null);
 	}
 
 	/**
@@ -119,7 +256,7 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	public Object setCache(T id, Object o)
 	{
 		Objects.requireNonNull(id, "PCGenIdentifier cannot be null in setCache");
-		return CACHE.put(id, thisClass, o);
+		return getStorage(id).put(slot, o);
 	}
 
 	/**
@@ -136,7 +273,7 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	public Object getCache(T id)
 	{
 		Objects.requireNonNull(id, "PCGenIdentifier cannot be null in getCache");
-		return CACHE.get(id, thisClass);
+		return getStorage(id).get(slot);
 	}
 
 	/**
@@ -161,8 +298,10 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	{
 		Objects.requireNonNull(id1, "PCGenIdentifier #1 cannot be null in areEqualCache");
 		Objects.requireNonNull(id2, "PCGenIdentifier #2 cannot be null in areEqualCache");
-		Set<Class<?>> set1 = CACHE.getSecondaryKeySet(id1);
-		Set<Class<?>> set2 = CACHE.getSecondaryKeySet(id2);
+		Map<Class<?>, Object> map1 = getContents(copyAllPending(id1));
+		Map<Class<?>, Object> map2 = getContents(copyAllPending(id2));
+		Set<Class<?>> set1 = map1.keySet();
+		Set<Class<?>> set2 = map2.keySet();
 		if (!set1.equals(set2))
 		{
 			List<Class<?>> l1 = new ArrayList<>(set1);
@@ -174,8 +313,8 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 		}
 		for (Class<?> cl : set1)
 		{
-			Object obj1 = CACHE.get(id1, cl);
-			Object obj2 = CACHE.get(id2, cl);
+			Object obj1 = map1.get(cl);
+			Object obj2 = map2.get(cl);
 			String equal = t.testEquality(obj1, obj2, cl + "/");
 			if (equal != null)
 			{
@@ -187,28 +326,115 @@ public abstract class AbstractStorageFacet<T extends PCGenIdentifier>
 	}
 
 	/**
-	 * Returns a read-only view into the cache for a given PCGenIdentifier.
+	 * Returns a read-only copy of the cache for a given PCGenIdentifier, by
+	 * the class of the facet storing the information. Generally useful for
+	 * debugging.
 	 * 
-	 * Since the returned Map is read-only, the value here is in that it is a
-	 * direct reference to the contents of cache for a given PCGenIdentifier,
-	 * and is therefore reference-semantic (the contents of the returned map
-	 * will change as the contents of the cache are changed). Ownership of the
-	 * returned Map is transferred to the caller, although since it is
-	 * read-only, that is perhaps only relevant for determining the garbage
-	 * collection time of the decorator that makes the returned Map an
-	 * unmodifiable view into this DoubleKeyMap.
-	 * 
-	 * Note that while this is a read-only map, there is no guarantee that this
-	 * returned map is thread-safe. Use in threaded situations with caution.
+	 * The returned Map is a copy, so it will not change as the contents of the
+	 * cache are changed. The contents of the cache are not copied, however, so
+	 * they should not be modified.
 	 * 
 	 * @param id
-	 *            The PCGenIdentifier for which a read-only view of the cache
+	 *            The PCGenIdentifier for which a read-only copy of the cache
 	 *            should be returned.
-	 * @return A read-only view of the cache for the given PCGenIdentifier
+	 * @return A read-only copy of the cache for the given PCGenIdentifier
 	 */
 	public static Map<Class<?>, Object> peekAtCache(PCGenIdentifier id)
 	{
 		Objects.requireNonNull(id, "PCGenIdentifier cannot be null in peekAtCache");
-		return CACHE.getReadOnlyMapFor(id);
+		return Collections.unmodifiableMap(getContents(copyAllPending(id)));
+	}
+
+	/**
+	 * Returns the information in the given FacetStorage, by the class of the
+	 * facet storing it.
+	 */
+	private static Map<Class<?>, Object> getContents(FacetStorage storage)
+	{
+		Map<Class<?>, Object> contents = new LinkedHashMap<>();
+		for (int i = 0; i < storage.size(); i++)
+		{
+			Object o = storage.get(i);
+			if (o != null)
+			{
+				contents.put(getSlotClass(i), o);
+			}
+		}
+		return contents;
+	}
+
+	/**
+	 * The facets for which contents have not yet been copied from a source
+	 * resource to a copy.
+	 */
+	static final class PendingCopy
+	{
+		private final PCGenIdentifier source;
+		private final PCGenIdentifier copy;
+		private final Map<Class<?>, AbstractStorageFacet> facets = new HashMap<>();
+
+		private PendingCopy(PCGenIdentifier source, PCGenIdentifier copy)
+		{
+			this.source = source;
+			this.copy = copy;
+		}
+
+		@SuppressWarnings("unchecked")
+		private void copy(Class<?> facetClass)
+		{
+			/*
+			 * Remove before copying, since copyContents accesses the cache of
+			 * both resources.
+			 */
+			AbstractStorageFacet facet = facets.remove(facetClass);
+			if (facet == null)
+			{
+				return;
+			}
+			FacetStorage copyStorage = copy.getFacetStorage();
+			if (facets.isEmpty())
+			{
+				copyStorage.pending = null;
+				detach();
+			}
+			/*
+			 * Copies of the copy must not take these contents until they are
+			 * complete.
+			 */
+			List<PendingCopy> copyDependents = copyStorage.dependents;
+			copyStorage.dependents = null;
+			try
+			{
+				facet.copyContents(source, copy);
+			}
+			finally
+			{
+				copyStorage.dependents = copyDependents;
+			}
+		}
+
+		private void copyAll()
+		{
+			while (!facets.isEmpty())
+			{
+				copy(facets.keySet().iterator().next());
+			}
+		}
+
+		/**
+		 * Stops the source resource from copying contents to the copy.
+		 */
+		private void detach()
+		{
+			FacetStorage sourceStorage = source.getFacetStorage();
+			if (sourceStorage.dependents != null)
+			{
+				sourceStorage.dependents.remove(this);
+				if (sourceStorage.dependents.isEmpty())
+				{
+					sourceStorage.dependents = null;
+				}
+			}
+		}
 	}
 }
@@ -0,0 +1,100 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.facet.base;
+
+import java.util.List;
+
+/**
+ * A FacetStorage holds the information stored by the AbstractStorageFacets for
+ * a single resource (such as a PlayerCharacter), in a slot for each facet
+ * class.
+ *
+ * Each PCGenIdentifier holds the FacetStorage for its resource, so the
+ * information of a facet is found by the slot of the facet alone, and all of
+ * the information for a resource is released along with its PCGenIdentifier.
+ * Only an AbstractStorageFacet can read or change the contents of a
+ * FacetStorage.
+ */
+public final class FacetStorage
+{
+
+	private static final Object[] EMPTY = new Object[0];
+
+	/**
+	 * The information stored by each facet, indexed by the slot of the facet.
+	 */
+	private Object[] slots = EMPTY;
+
+	/**
+	 * The facets for which the contents have not yet been copied from another
+	 * resource, or null if there are none.
+	 */
+	AbstractStorageFacet.PendingCopy pending;
+
+	/**
+	 * The copies of this resource for which some contents have not yet been
+	 * copied, or null if there are none.
+	 */
+	List<AbstractStorageFacet.PendingCopy> dependents;
+
+	/**
+	 * Returns the information in the given slot.
+	 */
+	Object get(int slot)
+	{
+		Object[] current = slots;
+		return (slot < current.length) ? current[slot] : null;
+	}
+
+	/**
+	 * Sets the information in the given slot, returning the previous
+	 * information in that slot.
+	 */
+	Object put(int slot, Object o)
+	{
+		if (slot >= slots.length)
+		{
+			if (o == null)
+			{
+				return null;
+			}
+			Object[] grown = new Object[Math.max(slot + 1, AbstractStorageFacet.getSlotCount())];
+			System.arraycopy(slots, 0, grown, 0, slots.length);
+			slots = grown;
+		}
+		Object previous = slots[slot];
+		slots[slot] = o;
+		return previous;
+	}
+
+	/**
+	 * Returns the number of slots that may hold information.
+	 */
+	int size()
+	{
+		return slots.length;
+	}
+
+	/**
+	 * Removes all of the information, including any contents not yet copied.
+	 */
+	void clear()
+	{
+		slots = EMPTY;
+		pending = null;
+		dependents = null;
+	}
+}
@@ -24,6 +24,9 @@ import java.util.TreeMap;
 import pcgen.base.formula.base.VariableID;
 import pcgen.base.formula.inst.SimpleVariableStore;
 import pcgen.base.util.DoubleKeyMapToList;
+import pcgen.util.metrics.Counter;
+import pcgen.util.metrics.Histogram;
+import pcgen.util.metrics.Metrics;
 
 /**
  * A MonitorableVariableStore is a WriteableVariableStore that allows
@@ -33,6 +36,19 @@ import pcgen.base.util.DoubleKeyMapToList;
 public class MonitorableVariableStore extends SimpleVariableStore
 {
 
+	/**
+	 * The number of values stored by the solvers, and the number of those that
+	 * changed the value of the variable.
+	 */
+	private static final Counter SOLVE_COUNTER = Metrics.counter("solve.variable");
+	private static final Counter CHANGE_COUNTER = Metrics.counter("solve.variable.changed");
+
+	/**
+	 * The depth to which changes to variables are nested, on each thread.
+	 */
+	private static final Histogram SOLVE_DEPTH = Metrics.histogram("solve.depth");
+	private static final ThreadLocal<int[]> CHANGE_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
 	/**
 	 * The listeners, identified by priority and which VariableID they are listening to.
 	 */
@@ -113,13 +129,42 @@ public class MonitorableVariableStore extends SimpleVariableStore
 	public <T> T put(VariableID<T> varID, T value)
 	{
 		T old = super.put(varID, value);
+		SOLVE_COUNTER.increment();
 		if (!value.equals(old))
 		{
-			fireVariableChanged(varID, old, value);
+			if (Metrics.isEnabled())
+			{
+				fireMeasured(varID, old, value);
+			}
+			else
+			{
+				fireVariableChanged(varID, old, value);
+			}
 		}
 		return old;
 	}
 
+	/**
+	 * Fires a VariableChangeEvent, recording how deeply the change is nested
+	 * within changes to other variables (a listener may cause further
+	 * variables to be solved).
+	 */
+	private <T> void fireMeasured(VariableID<T> varID, T old, T value)
+	{
+		CHANGE_COUNTER.increment();
+		int[] depth = CHANGE_DEPTH.get();
+		SOLVE_DEPTH.record(depth[0]);
+		depth[0]++;
+		try
+		{
+			fireVariableChanged(varID, old, value);
+		}
+		finally
+		{
+			depth[0]--;
+		}
+	}
+
 	/**
 	 * Fires a VariableChangeEvent to the VariableListeners subscribed to the
 	 * given VariableID.
@@ -20,7 +20,9 @@ package pcgen.cdom.reference;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -319,30 +321,34 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 
 	private boolean resolveGroupReferences()
 	{
-		for (T obj : getAllObjects())
+		List<T> objects = new ArrayList<>(getAllObjects());
+		if (allRef != null)
 		{
-			if (allRef != null)
+			for (T obj : objects)
 			{
 				allRef.addResolution(obj);
 			}
-			for (Map.Entry<FixedStringList, WeakReference<CDOMGroupRef<T>>> me : typeReferences.entrySet())
+		}
+		/*
+		 * Each object is tested once for each type used by the type references
+		 * (rather than once for each type of each type reference), and each
+		 * type reference is resolved from the objects of its types.
+		 */
+		Map<String, BitSet> objectsByType = new HashMap<>();
+		for (Map.Entry<FixedStringList, WeakReference<CDOMGroupRef<T>>> me : typeReferences.entrySet())
+		{
+			CDOMGroupRef<T> trt = me.getValue().get();
+			if (trt != null)
 			{
-				CDOMGroupRef<T> trt = me.getValue().get();
-				if (trt != null)
+				BitSet matches = new BitSet(objects.size());
+				matches.set(0, objects.size());
+				for (String type : me.getKey())
 				{
-					boolean typeOkay = true;
-					for (String type : me.getKey())
-					{
-						if (!obj.isType(type))
-						{
-							typeOkay = false;
-							break;
-						}
-					}
-					if (typeOkay)
-					{
-						trt.addResolution(obj);
-					}
+					matches.and(objectsByType.computeIfAbsent(type, t -> getObjectsOfType(objects, t)));
+				}
+				for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1))
+				{
+					trt.addResolution(objects.get(i));
 				}
 			}
 		}
@@ -356,6 +362,23 @@ public abstract class AbstractReferenceManufacturer<T extends Loadable> implemen
 		return true;
 	}
 
+	/**
+	 * Returns the positions, in the given List, of the objects of the given
+	 * type.
+	 */
+	private static <T extends Loadable> BitSet getObjectsOfType(List<T> objects, String type)
+	{
+		BitSet ofType = new BitSet(objects.size());
+		for (int i = 0; i < objects.size(); i++)
+		{
+			if (objects.get(i).isType(type))
+			{
+				ofType.set(i);
+			}
+		}
+		return ofType;
+	}
+
 	/**
 	 * Adds an object to the contents of this AbstractReferenceManufacturer.
 	 * This is used in conditions where this AbstractReferenceManufacturer was
@@ -19,10 +19,13 @@
  */
 package pcgen.core;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +52,10 @@ import pcgen.core.prereq.Prerequisite;
 import pcgen.core.utils.CoreUtility;
 import pcgen.util.Delta;
 import pcgen.util.Logging;
+import pcgen.util.metrics.Counter;
+import pcgen.util.metrics.Histogram;
+import pcgen.util.metrics.Metrics;
+import pcgen.util.metrics.Timer;
 
 public class BonusManager
 {
@@ -65,10 +72,24 @@ public class BonusManager
 
 	private static final List<String> NO_ASSOC_LIST = Collections.singletonList("");
 
+	/** The time taken to rebuild the active bonus map, and the bonuses it held. */
+	private static final Timer RECALC_TIMER = Metrics.timer("bonus.recalc");
+	private static final Histogram ACTIVE_BONUSES = Metrics.histogram("bonus.recalc.active");
+
+	/** The number of recalculations stopped because the active bonuses went round in a cycle. */
+	private static final Counter RECALC_CYCLES = Metrics.counter("bonus.recalc.cycle");
+
 	private Map<String, String> activeBonusMap = new ConcurrentHashMap<>();
 
 	private Map<String, Double> cachedActiveBonusSumsMap = new ConcurrentHashMap<>();
 
+	/**
+	 * The values in activeBonusMap, indexed by bonus name and info (e.g. COMBAT.AC) and
+	 * then by bonus name, info and type (e.g. COMBAT.AC:LUCK), so a total can be found
+	 * without scanning every active bonus.
+	 */
+	private Map<String, Map<String, BonusTotals>> activeBonusIndex = new ConcurrentHashMap<>();
+
 	private Map<BonusObj, Object> activeBonusBySource = new IdentityHashMap<>();
 
 	private final Map<BonusObj, TempBonusInfo> tempBonusBySource = new IdentityHashMap<>();
@@ -78,6 +99,54 @@ public class BonusManager
 	private final PlayerCharacter pc;
 	private Map<String, String> checkpointMap;
 
+	/**
+	 * The bonus maps at the start of each pass of the current recalculation of the
+	 * active bonuses, so that a recalculation that goes round in a cycle can be found.
+	 */
+	private final List<Map<String, String>> earlierMaps = new ArrayList<>();
+
+	/**
+	 * true while the values read from the active bonuses are being recorded: from the
+	 * checkpoint until the bonus map is rebuilt.
+	 */
+	private boolean recording = false;
+
+	/**
+	 * The bonus names and infos (e.g. COMBAT.AC) whose totals were read since the
+	 * checkpoint.
+	 */
+	private final Set<String> groupsRead = new HashSet<>();
+
+	/**
+	 * The prefixes (e.g. COMBAT.AC.) of the entries of the bonus map read since the
+	 * checkpoint.
+	 */
+	private final Set<String> prefixesRead = new HashSet<>();
+
+	/**
+	 * true if the active bonus list was read since the checkpoint, before it was
+	 * rebuilt.
+	 */
+	private boolean activeListRead = false;
+
+	/** true if the active bonus list has been rebuilt since the checkpoint. */
+	private boolean activeListRebuilt = false;
+
+	/** true if the rebuilt active bonus list holds different bonuses. */
+	private boolean activeListChanged = false;
+
+	/**
+	 * The number of recalculations of the active bonuses under way. A recalculation may
+	 * be started while another runs (e.g. by a listener told of a bonus change).
+	 */
+	private int recalculationDepth = 0;
+
+	/**
+	 * The state of the passes of the recalculations interrupted by the one under way,
+	 * most recent first.
+	 */
+	private final Deque<PassState> interrupted = new ArrayDeque<>();
+
 	public BonusManager(PlayerCharacter p)
 	{
 		pc = p;
@@ -97,101 +166,37 @@ public class BonusManager
 		}
 
 		fullyQualifiedBonusType = fullyQualifiedBonusType.toUpperCase();
+		recordRead(getBonusGroup(fullyQualifiedBonusType));
 		if (cachedActiveBonusSumsMap.containsKey(fullyQualifiedBonusType))
 		{
 			return cachedActiveBonusSumsMap.get(fullyQualifiedBonusType);
 		}
 
-		final List<String> aList = new ArrayList<>();
+		// fullyQualifiedBonusType is either of the form:
+		// COMBAT.AC
+		// which matches the totals for
+		// COMBAT.AC
+		// COMBAT.AC:Luck
+		// or
+		// COMBAT.AC:Luck
+		// which matches the totals for COMBAT.AC:Luck
+		// However, neither may match
+		// COMBAT.ACCHECK
+		final Map<String, BonusTotals> group = activeBonusIndex.get(getBonusGroup(fullyQualifiedBonusType));
+		if (group == null)
+		{
+			return bonus;
+		}
 		boolean found = false;
+		final String typedPrefix = fullyQualifiedBonusType + ':';
 
-		for (String fullyQualifedCurrentBonus : activeBonusMap.keySet())
+		for (Map.Entry<String, BonusTotals> entry : group.entrySet())
 		{
-			// aKey is either of the form:
-			// COMBAT.AC
-			// or
-			// COMBAT.AC:Luck
-			// or
-			// COMBAT.AC:Armor.REPLACE
-			if (aList.contains(fullyQualifedCurrentBonus))
-			{
-				continue;
-			}
-
-			if (fullyQualifedCurrentBonus == null)
-			{
-				Logging.errorPrint(
-					"null BONUS: loaded into activeBonusMap. " + fullyQualifiedBonusType + " was requested");
-				continue;
-			}
-
-			String currentTypedBonusNameInfo = fullyQualifedCurrentBonus;
-
-			// rString could be something like:
-			// COMBAT.AC:Armor.REPLACE
-			// So need to remove the .STACK or .REPLACE
-			// to get a match for prefix like: COMBAT.AC:Armor
-			if (currentTypedBonusNameInfo.endsWith(".STACK"))
-			{
-				currentTypedBonusNameInfo =
-						currentTypedBonusNameInfo.substring(0, currentTypedBonusNameInfo.length() - 6);
-			}
-			else if (currentTypedBonusNameInfo.endsWith(".REPLACE"))
-			{
-				currentTypedBonusNameInfo =
-						currentTypedBonusNameInfo.substring(0, currentTypedBonusNameInfo.length() - 8);
-			}
-
-            // if prefix is of the form:
-			// COMBAT.AC
-			// then is must match rstring:
-			// COMBAT.AC
-			// COMBAT.AC:Luck
-			// COMBAT.AC:Armor.REPLACE
-			// However, it must not match
-			// COMBAT.ACCHECK
-			if ((currentTypedBonusNameInfo.length() > fullyQualifiedBonusType.length())
-				&& !currentTypedBonusNameInfo.startsWith(fullyQualifiedBonusType + ":"))
-			{
-				continue;
-			}
-
-			if (currentTypedBonusNameInfo.startsWith(fullyQualifiedBonusType))
+			final String typedBonusNameInfo = entry.getKey();
+			if (typedBonusNameInfo.equals(fullyQualifiedBonusType) || typedBonusNameInfo.startsWith(typedPrefix))
 			{
 				found = true;
-				aList.add(currentTypedBonusNameInfo);
-				aList.add(currentTypedBonusNameInfo + ".STACK");
-				aList.add(currentTypedBonusNameInfo + ".REPLACE");
-
-				final double aBonus = getActiveBonusForMapKey(currentTypedBonusNameInfo, Double.NaN);
-				final double replaceBonus = getActiveBonusForMapKey(currentTypedBonusNameInfo + ".REPLACE", Double.NaN);
-				final double stackBonus = getActiveBonusForMapKey(currentTypedBonusNameInfo + ".STACK", 0);
-				//
-				// Using NaNs in order to be able to get the max
-				// between an undefined bonus and a negative
-				//
-				if (Double.isNaN(aBonus)) // no bonusKey
-				{
-					if (!Double.isNaN(replaceBonus))
-					{
-						// no bonusKey, but there
-						// is a replaceKey
-						bonus += replaceBonus;
-					}
-				}
-				else if (Double.isNaN(replaceBonus))
-				{
-					// is a bonusKey and no replaceKey
-					bonus += aBonus;
-				}
-				else
-				{
-					// is a bonusKey and a replaceKey
-					bonus += Math.max(aBonus, replaceBonus);
-				}
-
-				// always add stackBonus
-				bonus += stackBonus;
+				bonus += entry.getValue().getTotal();
 			}
 		}
 
@@ -214,6 +219,7 @@ public class BonusManager
 	private double getActiveBonusForMapKey(String fullyQualifiedBonusType, final double defaultValue)
 	{
 		fullyQualifiedBonusType = fullyQualifiedBonusType.toUpperCase();
+		recordRead(getBonusGroupOfKey(fullyQualifiedBonusType));
 
 		final String regVal = activeBonusMap.get(fullyQualifiedBonusType);
 
@@ -243,6 +249,7 @@ public class BonusManager
 	{
 		String prefix = bonusName + '.' + bonusInfo;
 		prefix = prefix.toUpperCase();
+		recordRead(prefix);
 
 		for (String fullyQualifedBonusType : activeBonusMap.keySet())
 		{
@@ -296,7 +303,13 @@ public class BonusManager
 	 */
 	void buildActiveBonusMap()
 	{
+		// The map is built from scratch, so what it reads while being built is not an
+		// input carried over from the previous pass
+		recording = false;
+		long start = RECALC_TIMER.start();
+		ACTIVE_BONUSES.record(activeBonusBySource.size());
 		activeBonusMap = new ConcurrentHashMap<>();
+		activeBonusIndex = new ConcurrentHashMap<>();
 		cachedActiveBonusSumsMap = new ConcurrentHashMap<>();
 		Map<String, String> nonStackMap = new ConcurrentHashMap<>();
 		Map<String, String> stackMap = new ConcurrentHashMap<>();
@@ -332,7 +345,7 @@ public class BonusManager
 			{
 				final double iBonus = bp.resolve(pc).doubleValue();
 				setActiveBonusStack(iBonus, bp.fullyQualifiedBonusType, nonStackMap, stackMap);
-				totalBonusesForType(nonStackMap, stackMap, bp.fullyQualifiedBonusType, activeBonusMap);
+				totalActiveBonusesForType(nonStackMap, stackMap, bp.fullyQualifiedBonusType);
 
 				if (Logging.isDebugMode())
 				{
@@ -378,6 +391,7 @@ public class BonusManager
 				continue;
 			}
 		}
+		RECALC_TIMER.stop(start);
 	}
 
 	/**
@@ -408,14 +422,121 @@ public class BonusManager
 		putActiveBonusMap(fullyQualifiedBonusType, String.valueOf(FullValue), targetMap);
 	}
 
+	/**
+	 * Calculate the total for the specified bonus into activeBonusMap, keeping
+	 * activeBonusIndex up to date.
+	 *
+	 * @param nonStackMap
+	 *            The map of non-stacking bonuses to be totalled.
+	 * @param stackMap
+	 *            The map of stacking bonuses to be totalled.
+	 * @param fullyQualifiedBonusType
+	 *            The type of the bonus e.g. STAT.DEX:LUCK
+	 */
+	private void totalActiveBonusesForType(Map<String, String> nonStackMap, Map<String, String> stackMap,
+	                                       String fullyQualifiedBonusType)
+	{
+		totalBonusesForType(nonStackMap, stackMap, fullyQualifiedBonusType, activeBonusMap);
+		if (fullyQualifiedBonusType != null)
+		{
+			String key = fullyQualifiedBonusType.toUpperCase();
+			String bonusValue = activeBonusMap.get(key);
+			if (bonusValue != null)
+			{
+				indexActiveBonus(key, bonusValue);
+			}
+		}
+	}
+
+	/**
+	 * Records the value of an entry of activeBonusMap in activeBonusIndex.
+	 *
+	 * @param fullyQualifiedBonusType
+	 *            The key of the entry e.g. COMBAT.AC:ARMOR.REPLACE
+	 * @param bonusValue
+	 *            The value of the entry
+	 */
+	private void indexActiveBonus(String fullyQualifiedBonusType, String bonusValue)
+	{
+		// fullyQualifiedBonusType could be something like:
+		// COMBAT.AC:Armor.REPLACE
+		// So need to remove the .STACK or .REPLACE
+		// to get the typed bonus: COMBAT.AC:Armor
+		String typedBonusNameInfo = fullyQualifiedBonusType;
+		boolean stack = typedBonusNameInfo.endsWith(".STACK");
+		boolean replace = !stack && typedBonusNameInfo.endsWith(".REPLACE");
+		if (stack)
+		{
+			typedBonusNameInfo = typedBonusNameInfo.substring(0, typedBonusNameInfo.length() - 6);
+		}
+		else if (replace)
+		{
+			typedBonusNameInfo = typedBonusNameInfo.substring(0, typedBonusNameInfo.length() - 8);
+		}
+		BonusTotals totals = activeBonusIndex
+			.computeIfAbsent(getBonusGroup(typedBonusNameInfo), k -> new ConcurrentHashMap<>())
+			.computeIfAbsent(typedBonusNameInfo, k -> new BonusTotals());
+		double value = Double.parseDouble(bonusValue);
+		if (stack)
+		{
+			totals.stackBonus = value;
+		}
+		else if (replace)
+		{
+			totals.replaceBonus = value;
+		}
+		else
+		{
+			totals.bonus = value;
+		}
+	}
+
+	/**
+	 * Returns the bonus name and info (e.g. COMBAT.AC) of a fully qualified bonus type
+	 * (e.g. COMBAT.AC:LUCK).
+	 */
+	private static String getBonusGroup(String fullyQualifiedBonusType)
+	{
+		final int typeIndex = fullyQualifiedBonusType.indexOf(':');
+		return (typeIndex < 0) ? fullyQualifiedBonusType : fullyQualifiedBonusType.substring(0, typeIndex);
+	}
+
+	/**
+	 * Returns the bonus name and info (e.g. COMBAT.AC) of a key of activeBonusMap (e.g.
+	 * COMBAT.AC:ARMOR.REPLACE or COMBAT.AC.STACK).
+	 */
+	private static String getBonusGroupOfKey(String fullyQualifiedBonusType)
+	{
+		String group = getBonusGroup(fullyQualifiedBonusType);
+		if (group.endsWith(".STACK"))
+		{
+			return group.substring(0, group.length() - 6);
+		}
+		if (group.endsWith(".REPLACE"))
+		{
+			return group.substring(0, group.length() - 8);
+		}
+		return group;
+	}
+
 	public Collection<BonusObj> getActiveBonusList()
 	{
+		if (recording && !activeListRebuilt)
+		{
+			activeListRead = true;
+		}
 		return activeBonusBySource.keySet();
 	}
 
 	public void setActiveBonusList()
 	{
-		activeBonusBySource = getAllActiveBonuses();
+		Map<BonusObj, Object> bonuses = getAllActiveBonuses();
+		if (recording && !activeListRebuilt)
+		{
+			activeListRebuilt = true;
+			activeListChanged = !bonuses.keySet().equals(activeBonusBySource.keySet());
+		}
+		activeBonusBySource = bonuses;
 	}
 
 	public String listBonusesFor(String bonusName, String bonusInfo)
@@ -423,6 +544,7 @@ public class BonusManager
 		final String prefix = bonusName + '.' + bonusInfo;
 		final StringBuilder buf = new StringBuilder();
 		final Collection<String> aList = new ArrayList<>();
+		recordPrefixRead(prefix);
 
 		// final List<TypedBonus> bonuses = theBonusMap.get(prefix);
 		// if ( bonuses == null )
@@ -596,7 +718,7 @@ public class BonusManager
 		{
 			final double iBonus = bp.resolve(pc).doubleValue();
 			setActiveBonusStack(iBonus, bp.fullyQualifiedBonusType, nonStackMap, stackMap);
-			totalBonusesForType(nonStackMap, stackMap, bp.fullyQualifiedBonusType, activeBonusMap);
+			totalActiveBonusesForType(nonStackMap, stackMap, bp.fullyQualifiedBonusType);
 			//			Logging.debugPrint("vBONUS: " + anObj.getDisplayName() + " : "
 			//					+ iBonus + " : " + bp.fullyQualifiedBonusType);
 		}
@@ -845,13 +967,60 @@ public class BonusManager
 		clone.activeBonusBySource.putAll(activeBonusBySource);
 		clone.tempBonusBySource.putAll(tempBonusBySource);
 		clone.activeBonusMap.putAll(activeBonusMap);
+		activeBonusMap.forEach(clone::indexActiveBonus);
 		clone.tempBonusFilters.addAll(tempBonusFilters);
 		return clone;
 	}
 
+	/**
+	 * Starts a recalculation of the active bonuses, which may take several passes. If
+	 * another recalculation is under way, the state of its current pass is kept until
+	 * endRecalculation is called, so that the nested recalculation does not change what
+	 * it finds. Each call must be matched by a call to endRecalculation.
+	 */
+	public void startRecalculation()
+	{
+		if (recalculationDepth > 0)
+		{
+			interrupted.push(new PassState(this));
+		}
+		recalculationDepth++;
+		earlierMaps.clear();
+	}
+
+	/**
+	 * Ends the recalculation started by the matching call to startRecalculation,
+	 * returning to the pass of any recalculation it interrupted.
+	 */
+	public void endRecalculation()
+	{
+		recalculationDepth--;
+		PassState state = interrupted.poll();
+		if (state == null)
+		{
+			earlierMaps.clear();
+			recording = false;
+		}
+		else
+		{
+			state.restore(this);
+		}
+	}
+
+	/**
+	 * Records the current bonus map as the checkpoint at the start of a pass of the
+	 * recalculation, and starts recording the values read from it.
+	 */
 	public void checkpointBonusMap()
 	{
 		checkpointMap = activeBonusMap;
+		earlierMaps.add(activeBonusMap);
+		groupsRead.clear();
+		prefixesRead.clear();
+		activeListRead = false;
+		activeListRebuilt = false;
+		activeListChanged = false;
+		recording = true;
 	}
 
 	public boolean compareToCheckpoint()
@@ -859,6 +1028,127 @@ public class BonusManager
 		return checkpointMap != null && checkpointMap.equals(activeBonusMap);
 	}
 
+	/**
+	 * Determines if another pass of the recalculation of the active bonuses is
+	 * required after the pass started at the checkpoint.
+	 * 
+	 * The bonus map is rebuilt from scratch on each pass, so the only inputs a pass
+	 * takes from the one before are the values read from the previous bonus map (by
+	 * the prerequisites of the bonuses and the objects holding them, and by the
+	 * variables used) before the map is rebuilt. If none of those values has changed,
+	 * another pass would build the same map, even if other bonuses changed.
+	 * 
+	 * If the bonus map is the same as it was at the start of an earlier pass, the
+	 * bonuses depend on each other in a cycle that will not settle. The bonuses
+	 * changing in the cycle are reported, and no further pass is required.
+	 * 
+	 * @param bonusChangeReported
+	 *            true if a change to a bonus was reported to listeners during the
+	 *            pass, which may have changed the PC
+	 * @return true if another pass is required
+	 */
+	public boolean isRecalculationRequired(boolean bonusChangeReported)
+	{
+		recording = false;
+		Set<String> changedInputs = getChangedInputs();
+		if (changedInputs.isEmpty() && !bonusChangeReported)
+		{
+			earlierMaps.clear();
+			return false;
+		}
+		// The map before the first pass was built for the PC as it was before the change
+		for (int i = 1; i < earlierMaps.size() - 1; i++)
+		{
+			if (earlierMaps.get(i).equals(activeBonusMap))
+			{
+				RECALC_CYCLES.increment();
+				Logging.errorPrint("Active bonuses repeat every " + (earlierMaps.size() - i)
+					+ " passes, so the bonus calculation has stopped. Bonuses read in the cycle: " + changedInputs);
+				logChangeFromCheckpoint();
+				earlierMaps.clear();
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the bonus names and infos (and prefixes) read since the checkpoint whose
+	 * values have changed since the checkpoint.
+	 */
+	private Set<String> getChangedInputs()
+	{
+		Set<String> changed = new TreeSet<>();
+		if (activeListRead && activeListChanged)
+		{
+			changed.add("active bonus list");
+		}
+		if (checkpointMap == null)
+		{
+			changed.add("bonus map");
+			return changed;
+		}
+		if (checkpointMap == activeBonusMap)
+		{
+			return changed;
+		}
+		for (Map.Entry<String, String> entry : activeBonusMap.entrySet())
+		{
+			if (!entry.getValue().equals(checkpointMap.get(entry.getKey())))
+			{
+				addChangedInput(entry.getKey(), changed);
+			}
+		}
+		for (String key : checkpointMap.keySet())
+		{
+			if (!activeBonusMap.containsKey(key))
+			{
+				addChangedInput(key, changed);
+			}
+		}
+		return changed;
+	}
+
+	private void addChangedInput(String key, Set<String> changed)
+	{
+		String group = getBonusGroupOfKey(key);
+		if (groupsRead.contains(group))
+		{
+			changed.add(group);
+		}
+		for (String prefix : prefixesRead)
+		{
+			if (key.startsWith(prefix))
+			{
+				changed.add(prefix);
+			}
+		}
+	}
+
+	/**
+	 * Records that the total of the given bonus name and info (e.g. COMBAT.AC) was
+	 * read.
+	 */
+	private void recordRead(String bonusGroup)
+	{
+		if (recording)
+		{
+			groupsRead.add(bonusGroup);
+		}
+	}
+
+	/**
+	 * Records that the entries of the bonus map starting with the given prefix were
+	 * read.
+	 */
+	private void recordPrefixRead(String prefix)
+	{
+		if (recording)
+		{
+			prefixesRead.add(prefix);
+		}
+	}
+
 	public Map<BonusObj, TempBonusInfo> getTempBonusMap()
 	{
 		return new IdentityHashMap<>(tempBonusBySource);
@@ -868,6 +1158,7 @@ public class BonusManager
 	{
 		Map<String, String> returnMap = new HashMap<>();
 		String prefix = bonusName + "." + bonusInfo + ".";
+		recordPrefixRead(prefix);
 
 		for (Map.Entry<String, String> entry : activeBonusMap.entrySet())
 		{
@@ -1234,6 +1525,56 @@ public class BonusManager
 		return bonusList;
 	}
 
+	/**
+	 * The totals of one typed bonus (e.g. COMBAT.AC:LUCK): the bonus itself, the
+	 * .REPLACE bonus and the .STACK bonus. NaN indicates an absent bonus.
+	 */
+	private static final class BonusTotals
+	{
+		private double bonus = Double.NaN;
+		private double replaceBonus = Double.NaN;
+		private double stackBonus = Double.NaN;
+
+		/**
+		 * Returns the total of this typed bonus: the larger of the bonus and the
+		 * .REPLACE bonus (whichever are present), plus the .STACK bonus.
+		 */
+		private double getTotal()
+		{
+			double total = 0;
+			//
+			// Using NaNs in order to be able to get the max
+			// between an undefined bonus and a negative
+			//
+			if (Double.isNaN(bonus)) // no bonusKey
+			{
+				if (!Double.isNaN(replaceBonus))
+				{
+					// no bonusKey, but there
+					// is a replaceKey
+					total += replaceBonus;
+				}
+			}
+			else if (Double.isNaN(replaceBonus))
+			{
+				// is a bonusKey and no replaceKey
+				total += bonus;
+			}
+			else
+			{
+				// is a bonusKey and a replaceKey
+				total += Math.max(bonus, replaceBonus);
+			}
+
+			// always add stackBonus
+			if (!Double.isNaN(stackBonus))
+			{
+				total += stackBonus;
+			}
+			return total;
+		}
+	}
+
 	public static class TempBonusInfo
 	{
 		public final Object source;
@@ -1367,4 +1708,47 @@ public class BonusManager
 		Logging.errorPrint("..Bonuses removed last round: " + removedMap);
 		Logging.errorPrint("..Bonuses added last round: " + addedMap);
 	}
+
+	/**
+	 * The state of a pass of a recalculation of the active bonuses, kept while a nested
+	 * recalculation runs.
+	 */
+	private static final class PassState
+	{
+		private final Map<String, String> checkpointMap;
+		private final List<Map<String, String>> earlierMaps;
+		private final boolean recording;
+		private final Set<String> groupsRead;
+		private final Set<String> prefixesRead;
+		private final boolean activeListRead;
+		private final boolean activeListRebuilt;
+		private final boolean activeListChanged;
+
+		private PassState(BonusManager manager)
+		{
+			checkpointMap = manager.checkpointMap;
+			earlierMaps = new ArrayList<>(manager.earlierMaps);
+			recording = manager.recording;
+			groupsRead = new HashSet<>(manager.groupsRead);
+			prefixesRead = new HashSet<>(manager.prefixesRead);
+			activeListRead = manager.activeListRead;
+			activeListRebuilt = manager.activeListRebuilt;
+			activeListChanged = manager.activeListChanged;
+		}
+
+		private void restore(BonusManager manager)
+		{
+			manager.checkpointMap = checkpointMap;
+			manager.earlierMaps.clear();
+			manager.earlierMaps.addAll(earlierMaps);
+			manager.recording = recording;
+			manager.groupsRead.clear();
+			manager.groupsRead.addAll(groupsRead);
+			manager.prefixesRead.clear();
+			manager.prefixesRead.addAll(prefixesRead);
+			manager.activeListRead = activeListRead;
+			manager.activeListRebuilt = activeListRebuilt;
+			manager.activeListChanged = activeListChanged;
+		}
+	}
 }
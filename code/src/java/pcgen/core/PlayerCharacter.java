@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -29,6 +30,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.TreeMap;
 import java.util.TreeSet;
 
 import pcgen.base.formula.Formula;
@@ -248,6 +250,7 @@ import pcgen.core.chooser.ChooserUtilities;
 import pcgen.core.display.CharacterDisplay;
 import pcgen.core.display.SkillDisplay;
 import pcgen.core.pclevelinfo.PCLevelInfo;
+import pcgen.core.prereq.PrerequisiteCache;
 import pcgen.core.spell.Spell;
 import pcgen.core.utils.CoreUtility;
 import pcgen.core.utils.MessageType;
@@ -264,6 +267,8 @@ import pcgen.util.Delta;
 import pcgen.util.Logging;
 import pcgen.util.enumeration.AttackType;
 import pcgen.util.enumeration.Load;
+import pcgen.util.metrics.Histogram;
+import pcgen.util.metrics.Metrics;
 
 import org.jetbrains.annotations.TestOnly;
 
@@ -275,6 +280,23 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	// This marker is static so that the spells allocated to it can also be found in the cloned character.
 	private static final CDOMObject GRANTED_SPELL_CACHE = new ObjectCache();
 
+	/**
+	 * The PCStringKey values that only describe the character. These are not used by any
+	 * prerequisite, bonus or formula, so a change to them does not invalidate the caches.
+	 */
+	private static final Set<PCStringKey> DESCRIPTIVE_STRING_KEYS = EnumSet.of(PCStringKey.BIO,
+		PCStringKey.BIRTHDAY, PCStringKey.CATCHPHRASE, PCStringKey.DESCRIPTION, PCStringKey.EYECOLOR,
+		PCStringKey.GMNOTES, PCStringKey.HANDED, PCStringKey.INTERESTS, PCStringKey.LOCATION,
+		PCStringKey.NAME, PCStringKey.PERSONALITY1, PCStringKey.PERSONALITY2, PCStringKey.PHOBIAS,
+		PCStringKey.PLAYERSNAME, PCStringKey.RESIDENCE, PCStringKey.SPEECHTENDENCY, PCStringKey.TABNAME,
+		PCStringKey.FILE_NAME, PCStringKey.PORTRAIT_PATH);
+
+	/**
+	 * The number of times the active bonuses are rebuilt by each call to
+	 * calcActiveBonuses before they settle.
+	 */
+	private static final Histogram BONUS_LOOPS = Metrics.histogram("bonus.recalc.loops");
+
 	private final CharID id;
 	private final SAtoStringProcessor SA_TO_STRING_PROC;
 	private final SAProcessor SA_PROC;
@@ -395,6 +417,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	private final SpellProhibitorFacet spellProhibitorFacet = FacetLibrary.getFacet(SpellProhibitorFacet.class);
 
 	private ObjectCache cache = new ObjectCache();
+	private final PrerequisiteCache prerequisiteCache = new PrerequisiteCache();
 	private AssociationSupport assocSupt = new AssociationSupport();
 	private BonusManager bonusManager = new BonusManager(this);
 	private final BonusChangeFacet bonusChangeFacet = FacetLibrary.getFacet(BonusChangeFacet.class);
@@ -628,11 +651,11 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 			deityWatchSetup(context);
 		}
 		ChannelUtilities.setDirtyOnChannelChange(this, CControl.GOLDINPUT);
-		ChannelUtilities.setDirtyOnChannelChange(this, CControl.HAIRSTYLEINPUT);
-		ChannelUtilities.setDirtyOnChannelChange(this, CControl.HAIRCOLORINPUT);
-		ChannelUtilities.setDirtyOnChannelChange(this, CControl.HANDEDINPUT);
+		ChannelUtilities.setDescriptionDirtyOnChannelChange(this, CControl.HAIRSTYLEINPUT);
+		ChannelUtilities.setDescriptionDirtyOnChannelChange(this, CControl.HAIRCOLORINPUT);
+		ChannelUtilities.setDescriptionDirtyOnChannelChange(this, CControl.HANDEDINPUT);
 		ChannelUtilities.setDirtyOnChannelChange(this, CControl.HEIGHTINPUT);
-		ChannelUtilities.setDirtyOnChannelChange(this, CControl.SKINCOLORINPUT);
+		ChannelUtilities.setDescriptionDirtyOnChannelChange(this, CControl.SKINCOLORINPUT);
 	}
 
 	private void deityWatchSetup(LoadContext context)
@@ -794,6 +817,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 
 		// loop through all equipment and make sure that
 		// containers contents are updated
+		final Map<String, Equipment> masterByName = getEquipmentByName(getEquipmentMasterList());
 		for (Equipment eq : getEquipmentSet())
 		{
 			if (eq.isContainer())
@@ -804,7 +828,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 			// also make sure the masterList output order is
 			// preserved as this equipmentList is a modified
 			// clone of the original
-			final Equipment anEquip = getEquipmentNamed(eq.getName());
+			final Equipment anEquip = masterByName.get(eq.getName());
 
 			if (anEquip != null)
 			{
@@ -815,12 +839,13 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		// if temporary bonuses, read the bonus equipList
 		if (useTempBonuses)
 		{
+			final Map<String, Equipment> equipmentByName = getEquipmentByName(getEquipmentSet());
 			for (Equipment eq : tempBonusItemList)
 			{
 				// make sure that this EquipSet is the one
 				// this temporary bonus item comes from
 				// to make sure we keep them together
-				final Equipment anEquip = getEquipmentNamed(eq.getName(), getEquipmentSet());
+				final Equipment anEquip = equipmentByName.get(eq.getName());
 
 				if (anEquip == null)
 				{
@@ -844,6 +869,16 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 						// replace the orig item with the bonus item
 						eq.setLocation(anEquip.getLocation());
 						removeLocalEquipment(anEquip);
+						// another item of the same name may remain
+						final Equipment sameName = getEquipmentNamed(anEquip.getName(), getEquipmentSet());
+						if (sameName == null)
+						{
+							equipmentByName.remove(anEquip.getName());
+						}
+						else
+						{
+							equipmentByName.put(anEquip.getName(), sameName);
+						}
 						anEquip.setIsEquipped(false, this);
 						anEquip.setLocation(EquipmentLocation.NOT_CARRIED);
 						anEquip.setNumberCarried(0.0f);
@@ -863,6 +898,7 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 				// Adding this type to be correctly treated by Merge
 				eq.addType(Type.TEMPORARY);
 				addLocalEquipment(eq);
+				equipmentByName.putIfAbsent(eq.getName(), eq);
 			}
 		}
 
@@ -993,6 +1029,20 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		dirtyFlag = dirtyState;
 	}
 
+	/**
+	 * Sets the character changed since last save, for a change that only describes the
+	 * character (such as hair colour) and is not an input to any calculation.
+	 *
+	 * The serial is incremented, so output based on the serial is refreshed, but unlike
+	 * setDirty(true) the ObjectCache, the VariableProcessor caches and the conditional
+	 * facets are retained.
+	 */
+	public void setDescriptionDirty()
+	{
+		serial++;
+		dirtyFlag = true;
+	}
+
 	/**
 	 * Gets whether the character has been changed since last saved.
 	 *
@@ -1133,6 +1183,28 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		            .orElse(null);
 	}
 
+	/**
+	 * Index the given equipment by name, ignoring case. Where several items
+	 * have the same name, the first is indexed, matching the item that
+	 * getEquipmentNamed would find.
+	 *
+	 * @param aList
+	 *            The Collection of equipment to index.
+	 * @return The equipment by name.
+	 */
+	private static Map<String, Equipment> getEquipmentByName(final Collection<Equipment> aList)
+	{
+		final Map<String, Equipment> index = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		for (Equipment eq : aList)
+		{
+			if (eq.getName() != null)
+			{
+				index.putIfAbsent(eq.getName(), eq);
+			}
+		}
+		return index;
+	}
+
 	/**
 	 * Search among the PCs equipment for a named piece of equipment.
 	 * @param name The name of the piece of equipment.
@@ -3754,6 +3826,15 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		return variableProcessor;
 	}
 
+	/**
+	 * @return The PrerequisiteCache holding the results of prerequisites tested
+	 *         for this character
+	 */
+	public PrerequisiteCache getPrerequisiteCache()
+	{
+		return prerequisiteCache;
+	}
+
 	public int getTotalCasterLevelWithSpellBonus(CharacterSpell acs, final Spell aSpell, final String spellType,
 		final String classOrRace, final int casterLev)
 	{
@@ -4581,36 +4662,54 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 			return;
 		}
 
-		// Keep rebuilding the active bonus map until the
-		// contents do not change. This is to cope with the
+		// Keep rebuilding the active bonus map until the values
+		// read from it do not change. This is to cope with the
 		// situation where we have a variable A that has a prereq
 		// that depends on variable B that will not be the correct
 		// value until after the map has been completely created.
+		// Bonuses that go round in a cycle are reported by the
+		// BonusManager, rather than looping until the limit below.
+		// This may be called again while the bonuses are being
+		// calculated; the BonusManager keeps the state of the outer
+		// calculation until the nested one is done.
 
+		bonusManager.startRecalculation();
 		int count = 0;
-		do
+		// Prerequisites are tested against bonuses that change within a serial
+		PrerequisiteCache.suspend();
+		try
 		{
-			if (count >= 29)
+			boolean bonusChanged;
+			do
 			{
-				Logging.errorPrint("Active bonus loop exceeded reasonable limit of " + count + '.');
-				bonusManager.logChangeFromCheckpoint();
-				if (count > 31)
+				if (count >= 29)
 				{
-					break;
+					Logging.errorPrint("Active bonus loop exceeded reasonable limit of " + count + '.');
+					bonusManager.logChangeFromCheckpoint();
+					if (count > 31)
+					{
+						break;
+					}
+				}
+				bonusManager.checkpointBonusMap();
+				setDirty(true);
+				count++;
+				bonusChanged = calcActiveBonusLoop();
+				if (Globals.checkRule(RuleConstants.RETROSKILL))
+				{
+					checkSkillModChange();
 				}
 			}
-			bonusManager.checkpointBonusMap();
-			setDirty(true);
-			count++;
-			calcActiveBonusLoop();
-			if (Globals.checkRule(RuleConstants.RETROSKILL))
-			{
-				checkSkillModChange();
-			}
+			while (bonusManager.isRecalculationRequired(bonusChanged));
+			// If a value read while activating the bonuses has changed,
+			// loop again until they no longer change.
+		}
+		finally
+		{
+			PrerequisiteCache.resume();
+			bonusManager.endRecalculation();
 		}
-		while (!bonusManager.compareToCheckpoint());
-		// If the newly calculated bonus map is different to the old one
-		// loop again until they are the same.
+		BONUS_LOOPS.record(count);
 		if (Logging.isDebugMode())
 		{
 			Logging.log(Logging.DEBUG, "Ran " + count + " loops to calc bonuses");
@@ -4624,18 +4723,24 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	private int cablInt = 1;
 	private int lastCablInt = 0;
 
-	private void calcActiveBonusLoop()
+	/**
+	 * Rebuilds the active bonus list and map.
+	 *
+	 * @return true if a change to a bonus was reported to the listeners of the
+	 *         BonusChangeFacet
+	 */
+	private boolean calcActiveBonusLoop()
 	{
 		if (cablInt == lastCablInt)
 		{
-			return;
+			return false;
 		}
 		lastCablInt = cablInt;
 		bonusManager.setActiveBonusList();
 		// buildBonusMap(bonuses);
 		bonusManager.buildActiveBonusMap();
 		cablInt++;
-		bonusChangeFacet.reset(id);
+		return bonusChangeFacet.reset(id);
 	}
 
 	public int calcSR(final boolean includeEquipment)
@@ -6963,6 +7068,47 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 	 */
 	@Override
 	public PlayerCharacter clone()
+	{
+		return copy(false);
+	}
+
+	/**
+	 * Returns a snapshot of the PlayerCharacter, for trying out changes (such
+	 * as applying a kit) that are then thrown away. The snapshot behaves as a
+	 * clone, except that the contents of each facet are only copied when the
+	 * snapshot or this PlayerCharacter first uses that facet, and the active
+	 * bonuses and move rates are taken from this PlayerCharacter rather than
+	 * calculated again. The snapshot must be released with discardSnapshot()
+	 * once it is no longer needed.
+	 * <p>
+	 * The equipment, classes, master and variable solver of the snapshot are
+	 * still set up when the snapshot is taken, which copies the facets holding
+	 * them and those that listen to the equipment facets.
+	 *
+	 * @return a new snapshot of the {@code PlayerCharacter}
+	 */
+	public PlayerCharacter snapshot()
+	{
+		return copy(true);
+	}
+
+	/**
+	 * Releases the facet contents of a PlayerCharacter returned by snapshot().
+	 * The PlayerCharacter must not be used after this has been called.
+	 */
+	public void discardSnapshot()
+	{
+		AbstractStorageFacet.removeAllCache(id);
+	}
+
+	/**
+	 * Returns a copy of the PlayerCharacter.
+	 *
+	 * @param copyOnAccess true if the contents of each facet should only be
+	 *            copied when first used by the copy
+	 * @return a new copy of the {@code PlayerCharacter}
+	 */
+	private PlayerCharacter copy(boolean copyOnAccess)
 	{
 		PlayerCharacter aClone;
 
@@ -6980,9 +7126,16 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 			Logging.errorPrint("PlayerCharacter.clone failed", e);
 		}
 		Collection<AbstractStorageFacet> beans = SpringHelper.getStorageBeans();
-		for (AbstractStorageFacet bean : beans)
+		if (copyOnAccess)
 		{
-			bean.copyContents(id, aClone.id);
+			AbstractStorageFacet.copyContentsOnAccess(beans, id, aClone.id);
+		}
+		else
+		{
+			for (AbstractStorageFacet bean : beans)
+			{
+				bean.copyContents(id, aClone.id);
+			}
 		}
 		SolverManager sm = solverManagerFacet.get(id);
 		if (sm != null)
@@ -7005,11 +7158,6 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		{
 			aClone.masterFacet.remove(id);
 		}
-		aClone.equipSetFacet.removeAll(aClone.id);
-		for (EquipSet eqSet : equipSetFacet.getSet(id))
-		{
-			aClone.addEquipSet(eqSet.clone());
-		}
 		List<Equipment> equipmentMasterList = aClone.getEquipmentMasterList();
 		aClone.userEquipmentFacet.removeAll(aClone.id);
 		aClone.equipmentFacet.removeAll(aClone.id);
@@ -7019,18 +7167,6 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		{
 			aClone.addEquipment(equip.clone());
 		}
-
-		aClone.levelInfoFacet.removeAll(aClone.id);
-		for (PCLevelInfo info : getLevelInfo())
-		{
-			PCLevelInfo newLvlInfo = info.clone();
-			aClone.levelInfoFacet.add(aClone.id, newLvlInfo);
-		}
-		aClone.spellBookFacet.removeAll(aClone.id);
-		for (String book : spellBookFacet.getBookNames(id))
-		{
-			aClone.addSpellBook(spellBookFacet.getBookNamed(id, book).clone());
-		}
 		aClone.calcEquipSetId = calcEquipSetId;
 		aClone.tempBonusItemList.addAll(tempBonusItemList);
 		aClone.autoKnownSpells = autoKnownSpells;
@@ -7054,10 +7190,19 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		aClone.spellLevelTemp = spellLevelTemp;
 		aClone.pointBuyPoints = pointBuyPoints;
 
-		aClone.adjustMoveRates();
-		//This mod set is necessary to trigger certain calculations to ensure correct output
-		//modSkillPointsBuffer = Integer.MIN_VALUE;
-		aClone.calcActiveBonuses();
+		/*
+		 * A snapshot takes the bonuses and move rates already calculated for
+		 * this PlayerCharacter (from the bonus manager and the facets copied on
+		 * access), rather than calculating them again and so copying every
+		 * facet the calculation reads.
+		 */
+		if (!copyOnAccess)
+		{
+			aClone.adjustMoveRates();
+			//This mod set is necessary to trigger certain calculations to ensure correct output
+			//modSkillPointsBuffer = Integer.MIN_VALUE;
+			aClone.calcActiveBonuses();
+		}
 		//Just to be safe
 		aClone.equippedFacet.reset(aClone.id);
 
@@ -7079,7 +7224,14 @@ public class PlayerCharacter implements Cloneable, VariableContainer
 		if (PlayerCharacter.shouldDirtyForChange(s, currValue))
 		{
 			factFacet.set(id, key, s);
-			setDirty(true);
+			if (DESCRIPTIVE_STRING_KEYS.contains(key))
+			{
+				setDescriptionDirty();
+			}
+			else
+			{
+				setDirty(true);
+			}
 		}
 	}
 
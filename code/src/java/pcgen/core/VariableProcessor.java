@@ -33,6 +33,8 @@ import pcgen.io.ExportHandler;
 import pcgen.util.Logging;
 import pcgen.util.PJEP;
 import pcgen.util.PjepPool;
+import pcgen.util.metrics.Counter;
+import pcgen.util.metrics.Metrics;
 
 /**
  * {@code VariableProcessor} is the base class for PCGen variable
@@ -54,6 +56,14 @@ public abstract class VariableProcessor
 	private String jepIndent = "";
 	protected PlayerCharacter pc;
 
+	/**
+	 * The lookups of cached variables that found a current value, and that did
+	 * not (including those that found an out of date value).
+	 */
+	private static final Counter CACHE_HITS = Metrics.counter("variable.cache.hit");
+	private static final Counter CACHE_MISSES = Metrics.counter("variable.cache.miss");
+	private static final Counter CACHE_STALE = Metrics.counter("variable.cache.stale");
+
 	private int cachePaused;
 	private int serial;
 
@@ -445,8 +455,8 @@ public abstract class VariableProcessor
 		try
 		{
 			parser = PjepPool.getInstance().aquire(this, src);
-			parser.parseExpression(formula);
-			if (parser.hasError())
+			PJEP.ParsedFormula parsed = parser.getParsedFormula(formula);
+			if (parsed == null)
 			{
 				if (Logging.isLoggable(Logging.DEBUG) && formula.startsWith(DEBUG_FORMULA_PREFIX))
 				{
@@ -455,7 +465,7 @@ public abstract class VariableProcessor
 				return null;
 			}
 
-			for (final String element : (Iterable<String>) parser.getSymbolTable().keySet())
+			for (final String element : parsed.getVariableNames())
 			{
 				if ("e".equals(element) || "FALSE".equals(element) || "pi".equals(element) || "TRUE".equals(element))
 				{
@@ -465,7 +475,7 @@ public abstract class VariableProcessor
 				Float d = lookupVariable(element, src, spell);
 				if (d != null)
 				{
-					parser.addVariable(element, d.doubleValue());
+					parsed.setVariable(element, d.doubleValue());
 				} else
 				{
 					// we could not get a value for all of the variables, so it must not have been a JEP function
@@ -474,7 +484,7 @@ public abstract class VariableProcessor
 				}
 			}
 
-			final Object result = parser.getValueAsObject();
+			final Object result = parser.evaluate(parsed);
 			if (result != null)
 			{
 				if (Logging.isLoggable(Logging.DEBUG) && formula.startsWith(DEBUG_FORMULA_PREFIX))
@@ -483,7 +493,7 @@ public abstract class VariableProcessor
 				}
 				try
 				{
-					return new CachableResult(Float.valueOf(result.toString()), parser.isResultCachable());
+					return new CachableResult(Float.valueOf(result.toString()), parsed.isResultCachable());
 				}
 				catch (NumberFormatException nfe)
 				{
@@ -494,10 +504,6 @@ public abstract class VariableProcessor
 					return null;
 				}
 			}
-			if (parser.hasError())
-			{
-				Logging.errorPrint("Failed to process formula " + formula + " due to error: " + parser.getErrorInfo());
-			}
 			if (Logging.isLoggable(Logging.DEBUG) && formula.startsWith(DEBUG_FORMULA_PREFIX))
 			{
 				Logging.debugPrint(jepIndent + "Result '" + formula + "' was null...");
@@ -581,10 +587,13 @@ public abstract class VariableProcessor
 		{
 			if (cached.getSerial() >= getSerial())
 			{
+				CACHE_HITS.increment();
 				return cached.getValue();
 			}
+			CACHE_STALE.increment();
 			fVariableCache.remove(lookup);
 		}
+		CACHE_MISSES.increment();
 		return null;
 	}
 
@@ -682,10 +691,13 @@ public abstract class VariableProcessor
 		{
 			if (cached.getSerial() >= getSerial())
 			{
+				CACHE_HITS.increment();
 				return cached.getValue();
 			}
+			CACHE_STALE.increment();
 			sVariableCache.remove(lookup);
 		}
+		CACHE_MISSES.increment();
 		return null;
 	}
 
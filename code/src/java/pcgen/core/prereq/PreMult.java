@@ -39,7 +39,7 @@ public class PreMult extends AbstractPrerequisiteTest implements PrerequisiteTes
 		for (Prerequisite element : prereq.getPrerequisites())
 		{
 			final PrerequisiteTestFactory factory = PrerequisiteTestFactory.getInstance();
-			final PrerequisiteTest test = factory.getTest(element.getKind());
+			final PrerequisiteTest test = factory.getTest(element);
 			if (test != null)
 			{
 				runningTotal += test.passes(element, character, source);
@@ -71,7 +71,7 @@ public class PreMult extends AbstractPrerequisiteTest implements PrerequisiteTes
 		for (Prerequisite element : prereq.getPrerequisites())
 		{
 			final PrerequisiteTestFactory factory = PrerequisiteTestFactory.getInstance();
-			final PrerequisiteTest test = factory.getTest(element.getKind());
+			final PrerequisiteTest test = factory.getTest(element);
 			runningTotal += test.passes(element, equipment, aPC);
 		}
 
@@ -88,7 +88,7 @@ public class PreMult extends AbstractPrerequisiteTest implements PrerequisiteTes
 		String delimiter = ""; //$NON-NLS-1$
 		for (Prerequisite element : prereq.getPrerequisites())
 		{
-			final PrerequisiteTest test = factory.getTest(element.getKind());
+			final PrerequisiteTest test = factory.getTest(element);
 			if (test == null)
 			{
 				Logging.errorPrintLocalised("PreMult.cannot_find_subformatter", element.getKind()); //$NON-NLS-1$
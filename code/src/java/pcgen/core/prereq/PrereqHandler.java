@@ -170,7 +170,9 @@ public final class PrereqHandler
 	}
 
 	/**
-	 * Returns true if the character passes the prereq.
+	 * Returns true if the character passes the prereq. While a
+	 * PrerequisiteCache is enabled on the current thread, the result is reused
+	 * for the same prereq and caller until the character changes.
 	 * @param prereq The prerequisite to test.
 	 * @param aPC The character to test against
 	 * @param caller The CDOMObject that is calling this method
@@ -178,12 +180,30 @@ public final class PrereqHandler
 	 */
 	public static boolean passes(final Prerequisite prereq, final PlayerCharacter aPC, final Object caller)
 	{
-		if (aPC == null && prereq.isCharacterRequired())
+		if (aPC == null)
 		{
-			return true;
+			return prereq.isCharacterRequired() || testPrereq(prereq, null, caller);
+		}
+		if (!PrerequisiteCache.isActive())
+		{
+			return testPrereq(prereq, aPC, caller);
+		}
+		PrerequisiteCache cache = aPC.getPrerequisiteCache();
+		int serial = aPC.getSerial();
+		Boolean cached = cache.get(prereq, caller, serial);
+		if (cached != null)
+		{
+			return cached;
 		}
+		boolean passes = testPrereq(prereq, aPC, caller);
+		cache.put(prereq, caller, serial, passes);
+		return passes;
+	}
+
+	private static boolean testPrereq(final Prerequisite prereq, final PlayerCharacter aPC, final Object caller)
+	{
 		final PrerequisiteTestFactory factory = PrerequisiteTestFactory.getInstance();
-		final PrerequisiteTest test = factory.getTest(prereq.getKind());
+		final PrerequisiteTest test = factory.getTest(prereq);
 
 		if (test == null)
 		{
@@ -237,7 +257,7 @@ public final class PrereqHandler
 			return true;
 		}
 		final PrerequisiteTestFactory factory = PrerequisiteTestFactory.getInstance();
-		final PrerequisiteTest test = factory.getTest(preReq.getKind());
+		final PrerequisiteTest test = factory.getTest(preReq);
 
 		if (test == null)
 		{
@@ -278,7 +298,7 @@ public final class PrereqHandler
 
 		for (Prerequisite preReq : anArrayList)
 		{
-			final PrerequisiteTest preReqTest = factory.getTest(preReq.getKind());
+			final PrerequisiteTest preReqTest = factory.getTest(preReq);
 
 			if (preReqTest == null)
 			{
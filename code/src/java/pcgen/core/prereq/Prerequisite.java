@@ -57,6 +57,12 @@ public class Prerequisite implements Cloneable
 	/** Used for abilities only - the category to restrict matches to. */
 	private String categoryName;
 
+	/**
+	 * The PrerequisiteTest for the kind of this Prerequisite, once bound by the
+	 * PrerequisiteTestFactory.
+	 */
+	private BoundTest boundTest = null;
+
 	/**
 	 * @return Returns the totalValues.
 	 */
@@ -118,6 +124,7 @@ public class Prerequisite implements Cloneable
 	public void setKind(final String val)
 	{
 		this.kind = val;
+		boundTest = null;
 	}
 
 	/**
@@ -547,6 +554,44 @@ public class Prerequisite implements Cloneable
 		return copy;
 	}
 
+	/**
+	 * Returns the PrerequisiteTest bound to this Prerequisite, if it was bound
+	 * for the given registration of tests.
+	 * 
+	 * @param registration
+	 *            The current registration of tests in the
+	 *            PrerequisiteTestFactory
+	 * @return The bound PrerequisiteTest, or null if there is none
+	 */
+	PrerequisiteTest getBoundTest(Object registration)
+	{
+		BoundTest bound = boundTest;
+		return ((bound != null) && (bound.registration == registration)) ? bound.test : null;
+	}
+
+	/**
+	 * Binds the PrerequisiteTest for the kind of this Prerequisite, so that it
+	 * need not be looked up each time this Prerequisite is tested.
+	 * 
+	 * @param registration
+	 *            The current registration of tests in the
+	 *            PrerequisiteTestFactory
+	 * @param test
+	 *            The PrerequisiteTest for the kind of this Prerequisite
+	 */
+	void bindTest(Object registration, PrerequisiteTest test)
+	{
+		boundTest = new BoundTest(registration, test);
+	}
+
+	/**
+	 * A PrerequisiteTest bound to a Prerequisite, and the registration of tests
+	 * from which it was found.
+	 */
+	private record BoundTest(Object registration, PrerequisiteTest test)
+	{
+	}
+
 	public int getPrerequisiteCount()
 	{
 		return prerequisites == null ? 0 : prerequisites.size();
@@ -0,0 +1,136 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core.prereq;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A PrerequisiteCache holds the results of the prerequisites tested for a
+ * PlayerCharacter, by Prerequisite and caller, so that a question asked many
+ * times (such as for each row of a list of available abilities, or throughout
+ * an output sheet) is only answered once.
+ *
+ * The cache is optional. Results are only stored and reused while the current
+ * thread has enabled caching, which a caller does only while it is reading
+ * (not changing) characters, and caching has not been suspended (as it is
+ * while the active bonuses of a character are calculated). Results are only
+ * valid for the serial of the PlayerCharacter at which they were found, since
+ * the serial changes whenever the PlayerCharacter is marked dirty.
+ */
+public final class PrerequisiteCache
+{
+
+	/**
+	 * The depth to which caching is enabled and suspended on each thread.
+	 */
+	private static final ThreadLocal<Scope> SCOPE = ThreadLocal.withInitial(Scope::new);
+
+	/**
+	 * The number of Prerequisites for which results are held before they are
+	 * discarded, since some Prerequisites are created as they are tested.
+	 */
+	private static final int MAX_PREREQUISITES = 10000;
+
+	/**
+	 * The serial of the PlayerCharacter for which the results are valid.
+	 */
+	private int serial = -1;
+
+	/**
+	 * The results of the prerequisites, by Prerequisite and then by caller.
+	 */
+	private final Map<Prerequisite, Map<Object, Boolean>> results = new IdentityHashMap<>();
+
+	/**
+	 * Enables caching on the current thread, until disable is called. Calls to
+	 * enable and disable may be nested, and should be made in a try/finally
+	 * block.
+	 */
+	public static void enable()
+	{
+		SCOPE.get().enabled++;
+	}
+
+	/**
+	 * Ends caching enabled by the matching call to enable.
+	 */
+	public static void disable()
+	{
+		SCOPE.get().enabled--;
+	}
+
+	/**
+	 * Suspends caching on the current thread, while characters are being
+	 * changed, until resume is called. Calls to suspend and resume may be
+	 * nested, and should be made in a try/finally block.
+	 */
+	public static void suspend()
+	{
+		SCOPE.get().suspended++;
+	}
+
+	/**
+	 * Ends the suspension started by the matching call to suspend.
+	 */
+	public static void resume()
+	{
+		SCOPE.get().suspended--;
+	}
+
+	/**
+	 * Returns true if results may be stored and reused on the current thread.
+	 */
+	static boolean isActive()
+	{
+		Scope scope = SCOPE.get();
+		return (scope.enabled > 0) && (scope.suspended == 0);
+	}
+
+	/**
+	 * Returns the result of the given Prerequisite for the given caller, or
+	 * null if it is not known at the given serial.
+	 */
+	synchronized Boolean get(Prerequisite prereq, Object caller, int pcSerial)
+	{
+		if (pcSerial != serial)
+		{
+			return null;
+		}
+		Map<Object, Boolean> byCaller = results.get(prereq);
+		return (byCaller == null) ? null : byCaller.get(caller);
+	}
+
+	/**
+	 * Stores the result of the given Prerequisite for the given caller at the
+	 * given serial, discarding any results from an earlier serial.
+	 */
+	synchronized void put(Prerequisite prereq, Object caller, int pcSerial, boolean passes)
+	{
+		if ((pcSerial != serial) || (results.size() >= MAX_PREREQUISITES))
+		{
+			results.clear();
+			serial = pcSerial;
+		}
+		results.computeIfAbsent(prereq, k -> new IdentityHashMap<>()).put(caller, passes);
+	}
+
+	private static final class Scope
+	{
+		private int enabled = 0;
+		private int suspended = 0;
+	}
+}
@@ -30,6 +30,12 @@ public final class PrerequisiteTestFactory implements PluginLoader
 	private static PrerequisiteTestFactory instance = null;
 	private final Map<String, PrerequisiteTest> TEST_LOOKUP = new HashMap<>();
 
+	/**
+	 * Identifies the tests currently registered. Replaced whenever the tests
+	 * change, so that tests bound to a Prerequisite are bound again.
+	 */
+	private Object registration = new Object();
+
 	/**
 	 * @return Returns the instance.
 	 */
@@ -63,6 +69,7 @@ public final class PrerequisiteTestFactory implements PluginLoader
 				testClass.getClass().getName(), kindHandled, test.getClass().getName()));
 		}
 		TEST_LOOKUP.put(kindHandled.toUpperCase(), testClass);
+		registration = new Object();
 	}
 
 	/**
@@ -89,6 +96,28 @@ public final class PrerequisiteTestFactory implements PluginLoader
 		return test;
 	}
 
+	/**
+	 * Returns the appropriate PrerequisiteTest class for the given prereq. The
+	 * PrerequisiteTest is bound to the prereq when first found, so later calls
+	 * for the same prereq do not look it up again.
+	 * @param prereq The prereq to be tested
+	 * @return PrerequisiteTest for the kind of the prereq
+	 */
+	public PrerequisiteTest getTest(final Prerequisite prereq)
+	{
+		Object current = registration;
+		PrerequisiteTest test = prereq.getBoundTest(current);
+		if (test == null)
+		{
+			test = getTest(prereq.getKind());
+			if (test != null)
+			{
+				prereq.bindTest(current, test);
+			}
+		}
+		return test;
+	}
+
 	@Override
 	public void loadPlugin(Class<?> clazz) throws Exception
 	{
@@ -106,6 +135,7 @@ public final class PrerequisiteTestFactory implements PluginLoader
 		if (instance != null)
 		{
 			instance.TEST_LOOKUP.clear();
+			instance.registration = new Object();
 		}
 	}
 }
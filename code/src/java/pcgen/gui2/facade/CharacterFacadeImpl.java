@@ -35,6 +35,7 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
 
 import pcgen.cdom.base.AssociatedPrereqObject;
 import pcgen.cdom.base.CDOMObject;
@@ -109,6 +110,7 @@ import pcgen.core.display.CharacterDisplay;
 import pcgen.core.kit.BaseKit;
 import pcgen.core.pclevelinfo.PCLevelInfo;
 import pcgen.core.prereq.PrereqHandler;
+import pcgen.core.prereq.PrerequisiteCache;
 import pcgen.core.spell.Spell;
 import pcgen.core.utils.CoreUtility;
 import pcgen.core.utils.MessageType;
@@ -2404,7 +2406,29 @@ public class CharacterFacadeImpl
 	@Override
 	public boolean isQualifiedFor(PCClass c)
 	{
-		return theCharacter.isQualified(c);
+		return testQualification(() -> theCharacter.isQualified(c));
+	}
+
+	/**
+	 * Tests whether the character qualifies for something, reusing the results
+	 * of prerequisites already tested since the character last changed. The
+	 * GUI asks the same questions each time a list of available choices is
+	 * filtered or drawn.
+	 *
+	 * @param test The test of the character's qualification
+	 * @return The result of the test
+	 */
+	private static boolean testQualification(BooleanSupplier test)
+	{
+		PrerequisiteCache.enable();
+		try
+		{
+			return test.getAsBoolean();
+		}
+		finally
+		{
+			PrerequisiteCache.disable();
+		}
 	}
 
 	@Override
@@ -3195,7 +3219,7 @@ public class CharacterFacadeImpl
 	public boolean isQualifiedFor(EquipmentFacade equipment)
 	{
 		final Equipment equip = (Equipment) equipment;
-		final boolean accept = PrereqHandler.passesAll(equip, theCharacter, equip);
+		final boolean accept = testQualification(() -> PrereqHandler.passesAll(equip, theCharacter, equip));
 
 		if (accept && (equip.isShield() || equip.isWeapon() || equip.isArmor()))
 		{
@@ -3423,7 +3447,7 @@ public class CharacterFacadeImpl
 			return false;
 		}
 
-		return theCharacter.isQualified(pObj);
+		return testQualification(() -> theCharacter.isQualified(pObj));
     }
 
 	@Override
@@ -3433,14 +3457,16 @@ public class CharacterFacadeImpl
 		{
 			return false;
 		}
-		return PrereqHandler.passesAll(aDeity, theCharacter, aDeity) && theCharacter.isQualified(aDeity);
+		return testQualification(
+			() -> PrereqHandler.passesAll(aDeity, theCharacter, aDeity) && theCharacter.isQualified(aDeity));
 	}
 
 	@Override
 	public boolean isQualifiedFor(QualifiedObject<Domain> wrappedDomain)
 	{
 		Domain domain = wrappedDomain.getRawObject();
-        return PrereqHandler.passesAll(wrappedDomain, theCharacter, domain) && theCharacter.isQualified(domain);
+        return testQualification(
+			() -> PrereqHandler.passesAll(wrappedDomain, theCharacter, domain) && theCharacter.isQualified(domain));
     }
 
 	@Override
@@ -3463,7 +3489,7 @@ public class CharacterFacadeImpl
 			return false;
 		}
 
-		if (!theCharacter.isQualified(spellFI.getSpell()))
+		if (!testQualification(() -> theCharacter.isQualified(spellFI.getSpell())))
 		{
 			return false;
 		}
@@ -4045,14 +4071,14 @@ public class CharacterFacadeImpl
 		{
 			return false;
 		}
-		return PrereqHandler.passesAll(template, theCharacter, template)
-			&& theCharacter.isQualified(template);
+		return testQualification(() -> PrereqHandler.passesAll(template, theCharacter, template)
+			&& theCharacter.isQualified(template));
 	}
 
 	@Override
 	public boolean isQualifiedFor(Race qRace)
 	{
-		return theCharacter.isQualified(qRace);
+		return testQualification(() -> theCharacter.isQualified(qRace));
 	}
 
 	@Override
@@ -24,4 +24,15 @@ public interface Filter<C, E>
 
 	public boolean accept(C context, E element);
 
+	/**
+	 * Informs this filter that the given element has been modified, so any
+	 * information the filter holds about the element is out of date.
+	 *
+	 * @param element The modified element
+	 */
+	public default void elementModified(E element)
+	{
+		//Most filters hold no information about the elements
+	}
+
 }
@@ -117,6 +117,15 @@ public class FilterBar<C, E> extends JPanel implements DisplayableFilter<C, E>
 		return true;
 	}
 
+	@Override
+	public void elementModified(E element)
+	{
+		for (DisplayableFilter<? super C, ? super E> displayableFilter : filters)
+		{
+			displayableFilter.elementModified(element);
+		}
+	}
+
 	private static class ArrowButton extends JButton
 	{
 
@@ -19,10 +19,12 @@
 package pcgen.gui2.filter;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import pcgen.facade.util.AbstractListFacade;
 import pcgen.facade.util.ListFacade;
+import pcgen.facade.util.ListFacades;
 import pcgen.facade.util.event.ListEvent;
 import pcgen.facade.util.event.ListListener;
 
@@ -33,6 +35,7 @@ public class FilteredListFacade<C, E> extends AbstractListFacade<E> implements L
 	private ListFacade<E> delegate = null;
 	private Filter<? super C, ? super E> filter = null;
 	private C context = null;
+	private final IncrementalFilter<C, E> incrementalFilter = new IncrementalFilter<>(this::setData, this::addData);
 
 	@Override
 	public E getElementAt(int index)
@@ -81,28 +84,42 @@ public class FilteredListFacade<C, E> extends AbstractListFacade<E> implements L
 		refilter();
 	}
 
+	/**
+	 * Filters the elements of the delegate again. A long list is filtered in
+	 * slices, and the elements accepted are added to this list after each
+	 * slice.
+	 */
 	public void refilter()
+	{
+		List<E> elements = (delegate == null) ? Collections.emptyList() : new ArrayList<>(ListFacades.wrap(delegate));
+		incrementalFilter.start(elements, filter, context);
+	}
+
+	private void setData(List<E> elements)
 	{
 		data.clear();
-		if (delegate != null)
+		data.addAll(elements);
+		fireElementsChanged(this);
+	}
+
+	private void addData(List<E> elements)
+	{
+		for (E element : elements)
 		{
-			List<E> list = new ArrayList<>(delegate.getSize());
-			for (E element : delegate)
-			{
-				if (filter == null || filter.accept(context, element))
-				{
-					list.add(element);
-				}
-			}
-			data.addAll(list);
+			int index = data.size();
+			data.add(element);
+			fireElementAdded(this, element, index);
 		}
-		fireElementsChanged(this);
 	}
 
 	@Override
 	public void elementAdded(ListEvent<E> e)
 	{
-		if (filter == null || filter.accept(context, e.getElement()))
+		if (incrementalFilter.isRunning())
+		{
+			incrementalFilter.restartLater(this::refilter);
+		}
+		else if (filter == null || filter.accept(context, e.getElement()))
 		{
 			int size = data.size();
 			data.add(e.getElement());
@@ -113,6 +130,11 @@ public class FilteredListFacade<C, E> extends AbstractListFacade<E> implements L
 	@Override
 	public void elementRemoved(ListEvent<E> e)
 	{
+		if (incrementalFilter.isRunning())
+		{
+			incrementalFilter.restartLater(this::refilter);
+			return;
+		}
 		int index = data.indexOf(e.getElement());
 		data.remove(e.getElement());
 		fireElementRemoved(this, e.getElement(), index);
@@ -121,13 +143,28 @@ public class FilteredListFacade<C, E> extends AbstractListFacade<E> implements L
 	@Override
 	public void elementsChanged(ListEvent<E> e)
 	{
-		refilter();
+		if (incrementalFilter.isRunning())
+		{
+			incrementalFilter.restartLater(this::refilter);
+		}
+		else
+		{
+			refilter();
+		}
 	}
 
 	@Override
 	public void elementModified(ListEvent<E> e)
 	{
-		if (data.contains(e.getElement()))
+		if (filter != null)
+		{
+			filter.elementModified(e.getElement());
+		}
+		if (incrementalFilter.isRunning())
+		{
+			incrementalFilter.restartLater(this::refilter);
+		}
+		else if (data.contains(e.getElement()))
 		{
 			if (filter != null && !filter.accept(context, e.getElement()))
 			{
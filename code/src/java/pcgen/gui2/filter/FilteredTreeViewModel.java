@@ -34,6 +34,8 @@ public class FilteredTreeViewModel<C, E> implements TreeViewModel<E>, ListListen
 {
 
 	private final DefaultListFacade<E> data = new DefaultListFacade<>();
+	private final IncrementalFilter<C, E> incrementalFilter =
+			new IncrementalFilter<>(data::updateContents, this::addData);
 	private Filter<C, E> filter;
 	private TreeViewModel<E> model;
 	private C context;
@@ -64,6 +66,7 @@ public class FilteredTreeViewModel<C, E> implements TreeViewModel<E>, ListListen
 
 	public void setBaseModel(TreeViewModel<E> model)
 	{
+		incrementalFilter.cancel();
 		if (this.model != null)
 		{
 			this.model.getDataModel().removeListListener(this);
@@ -99,24 +102,35 @@ public class FilteredTreeViewModel<C, E> implements TreeViewModel<E>, ListListen
 		}
 	}
 
+	/**
+	 * Filters the elements of the base model again. A long list is filtered in
+	 * slices, and the elements accepted are added to the data model after each
+	 * slice.
+	 */
 	public void refilter()
 	{
-		ListFacade<E> base = model.getDataModel();
-		List<E> list = new ArrayList<>(base.getSize());
-		for (E element : base)
-		{
-			if (filter == null || filter.accept(context, element))
-			{
-				list.add(element);
-			}
-		}
-		data.updateContents(list);
+		incrementalFilter.start(new ArrayList<>(ListFacades.wrap(model.getDataModel())), filter, context);
+	}
+
+	/**
+	 * Adds the elements found by a later slice of a run to the end of the data
+	 * model, in one update.
+	 */
+	private void addData(List<E> found)
+	{
+		List<E> contents = new ArrayList<>(ListFacades.wrap(data));
+		contents.addAll(found);
+		data.updateContents(contents);
 	}
 
 	@Override
 	public void elementAdded(ListEvent<E> e)
 	{
-		if (filter == null || filter.accept(context, e.getElement()))
+		if (incrementalFilter.isRunning())
+		{
+			incrementalFilter.restartLater(this::refilter);
+		}
+		else if (filter == null || filter.accept(context, e.getElement()))
 		{
 			data.addElement(e.getElement());
 		}
@@ -125,19 +139,41 @@ public class FilteredTreeViewModel<C, E> implements TreeViewModel<E>, ListListen
 	@Override
 	public void elementRemoved(ListEvent<E> e)
 	{
-		data.removeElement(e.getElement());
+		if (incrementalFilter.isRunning())
+		{
+			incrementalFilter.restartLater(this::refilter);
+		}
+		else
+		{
+			data.removeElement(e.getElement());
+		}
 	}
 
 	@Override
 	public void elementsChanged(ListEvent<E> e)
 	{
-		refilter();
+		if (incrementalFilter.isRunning())
+		{
+			incrementalFilter.restartLater(this::refilter);
+		}
+		else
+		{
+			refilter();
+		}
 	}
 
 	@Override
 	public void elementModified(ListEvent<E> e)
 	{
-		if (!filter.accept(context, e.getElement()))
+		if (filter != null)
+		{
+			filter.elementModified(e.getElement());
+		}
+		if (incrementalFilter.isRunning())
+		{
+			incrementalFilter.restartLater(this::refilter);
+		}
+		else if (!filter.accept(context, e.getElement()))
 		{
 			data.removeElement(e.getElement());
 		}
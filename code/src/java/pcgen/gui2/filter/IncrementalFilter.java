@@ -0,0 +1,224 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.gui2.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * An IncrementalFilter finds the elements of a list that are accepted by a
+ * Filter. A long list is filtered on the event dispatch thread in short
+ * slices, so that keystrokes and repaints are handled between them while
+ * filters that test the character (such as whether it qualifies for each
+ * element) are run. The accepted elements are passed back after each slice.
+ * Starting a new run cancels any earlier run, which then stops at the end of
+ * its current slice and passes nothing more back. Changes to the list while a
+ * run is under way are gathered with restartLater, so that they start a
+ * single new run at the next slice rather than one run each.
+ * <p>
+ * Filters are never run on another thread, since they may read the character,
+ * which is changed on the event dispatch thread.
+ *
+ * @param <C> The type of the context of the Filter
+ * @param <E> The type of the elements being filtered
+ */
+final class IncrementalFilter<C, E>
+{
+
+	/**
+	 * The size below which a list is filtered in a single pass.
+	 */
+	private static final int SLICED_SIZE = 500;
+
+	/**
+	 * The time, in milliseconds, spent filtering in each slice.
+	 */
+	private static final long SLICE_TIME = 20;
+
+	/**
+	 * Replaces the contents of the filtered list with the first elements found.
+	 */
+	private final Consumer<List<E>> replacer;
+
+	/**
+	 * Adds the later elements found to the end of the filtered list.
+	 */
+	private final Consumer<List<E>> appender;
+
+	/**
+	 * The run that has yet to filter some elements, or null if there is none.
+	 */
+	private Run current = null;
+
+	/**
+	 * Starts a new run in place of the next slice of the current run, or null
+	 * if the current run is to continue.
+	 */
+	private Runnable restart = null;
+
+	/**
+	 * Creates a new IncrementalFilter.
+	 *
+	 * @param replacer Replaces the contents of the filtered list with the
+	 *            first elements found
+	 * @param appender Adds later elements found to the end of the filtered
+	 *            list
+	 */
+	IncrementalFilter(Consumer<List<E>> replacer, Consumer<List<E>> appender)
+	{
+		this.replacer = replacer;
+		this.appender = appender;
+	}
+
+	/**
+	 * Finds the elements accepted by the given filter, cancelling any earlier
+	 * run. The first slice is filtered before this method returns. The list
+	 * is filtered in a single pass if it is short or the caller is not the
+	 * event dispatch thread.
+	 *
+	 * @param elements The elements to be filtered, which are not changed
+	 *            while they are filtered
+	 * @param filter The filter, or null to accept every element
+	 * @param context The context passed to the filter
+	 */
+	void start(List<E> elements, Filter<? super C, ? super E> filter, C context)
+	{
+		cancel();
+		if ((filter == null) || (elements.size() < SLICED_SIZE) || !SwingUtilities.isEventDispatchThread())
+		{
+			List<E> accepted = new ArrayList<>(elements.size());
+			for (E element : elements)
+			{
+				if ((filter == null) || filter.accept(context, element))
+				{
+					accepted.add(element);
+				}
+			}
+			replacer.accept(accepted);
+			return;
+		}
+		Run run = new Run(elements, filter, context);
+		current = run;
+		run.run();
+	}
+
+	/**
+	 * Arranges for the current run to be replaced by a new run, started by the
+	 * given task in place of the next slice. Further calls before then only
+	 * replace the task, so a burst of changes starts one new run.
+	 *
+	 * @param restarter Starts the new run, usually by calling start
+	 */
+	void restartLater(Runnable restarter)
+	{
+		restart = restarter;
+	}
+
+	/**
+	 * Cancels the current run, leaving the elements it has not yet filtered.
+	 */
+	void cancel()
+	{
+		current = null;
+		restart = null;
+	}
+
+	/**
+	 * Returns true if a run has yet to filter some elements.
+	 */
+	boolean isRunning()
+	{
+		return current != null;
+	}
+
+	private final class Run implements Runnable
+	{
+
+		private final List<E> elements;
+		private final Filter<? super C, ? super E> filter;
+		private final C context;
+
+		/**
+		 * The index of the next element to be filtered.
+		 */
+		private int next = 0;
+
+		/**
+		 * True until the contents of the filtered list have been replaced.
+		 */
+		private boolean first = true;
+
+		private Run(List<E> elements, Filter<? super C, ? super E> filter, C context)
+		{
+			this.elements = elements;
+			this.filter = filter;
+			this.context = context;
+		}
+
+		@Override
+		public void run()
+		{
+			if (current != this)
+			{
+				return;
+			}
+			if (restart != null)
+			{
+				restart.run();
+				return;
+			}
+			List<E> accepted = new ArrayList<>();
+			long sliceEnd = System.currentTimeMillis() + SLICE_TIME;
+			try
+			{
+				while ((next < elements.size()) && (System.currentTimeMillis() < sliceEnd))
+				{
+					E element = elements.get(next++);
+					if (filter.accept(context, element))
+					{
+						accepted.add(element);
+					}
+				}
+			}
+			catch (RuntimeException e)
+			{
+				current = null;
+				throw e;
+			}
+			boolean done = next >= elements.size();
+			if (done)
+			{
+				current = null;
+			}
+			if (first)
+			{
+				first = false;
+				replacer.accept(accepted);
+			}
+			else if (!accepted.isEmpty())
+			{
+				appender.accept(accepted);
+			}
+			if (!done)
+			{
+				SwingUtilities.invokeLater(this);
+			}
+		}
+	}
+}
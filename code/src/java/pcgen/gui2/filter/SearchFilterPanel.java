@@ -30,19 +30,17 @@ import javax.swing.JTextField;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 
-import pcgen.cdom.enumeration.ListKey;
-import pcgen.cdom.enumeration.StringKey;
-import pcgen.core.Campaign;
-import pcgen.facade.core.InfoFacade;
 import pcgen.gui2.tools.Icons;
 import pcgen.system.LanguageBundle;
 
-import org.apache.commons.lang3.StringUtils;
-
 /**
  * A text search filtering bar including the title, the text field and a clear 
  * button. When text is typed into the field the table contents will be 
  * filtered to only those matching the search text.
+ * <p>
+ * Matching elements are found through a SearchIndex, so each keystroke does not
+ * have to examine the text of every element. The text of an element is indexed
+ * again when the element is modified.
  *
  * 
  */
@@ -53,6 +51,8 @@ public class SearchFilterPanel extends JPanel
 	private FilterHandler filterHandler;
 	private final JTextField searchField = new JTextField();
 	private final JButton clearButton = new JButton(Icons.CloseX9.getImageIcon());
+	private final SearchIndex searchIndex = new SearchIndex();
+	private String searchText = ""; //$NON-NLS-1$
 
 	public SearchFilterPanel()
 	{
@@ -85,6 +85,7 @@ public class SearchFilterPanel extends JPanel
 	private void refreshFilter()
 	{
 		String text = searchField.getText();
+		searchText = (text == null) ? "" : SearchIndex.toSearchText(text); //$NON-NLS-1$
 		filterHandler.setSearchEnabled(text != null && !text.isEmpty());
 		filterHandler.refilter();
 		filterHandler.scrollToTop();
@@ -93,21 +94,13 @@ public class SearchFilterPanel extends JPanel
 	@Override
 	public boolean accept(Object context, Object element)
 	{
-		String typeStr = ""; //$NON-NLS-1$
-		String abbStr = ""; //$NON-NLS-1$
-		if (element instanceof InfoFacade)
-		{
-			typeStr = ((InfoFacade) element).getType();
-		}
-		else if (element instanceof Campaign)
-		{
-			typeStr = ((Campaign) element).getListAsString(ListKey.BOOK_TYPE);
-			abbStr = ((Campaign) element).get(StringKey.SOURCE_SHORT);
-		}
-		final String searchText = searchField.getText();
-		return StringUtils.containsIgnoreCase(element.toString(), searchText)
-			|| StringUtils.containsIgnoreCase(typeStr, searchText)
-			|| StringUtils.containsIgnoreCase(abbStr, searchText);
+		return searchIndex.matches(element, searchText);
+	}
+
+	@Override
+	public void elementModified(Object element)
+	{
+		searchIndex.removeElement(element);
 	}
 
 	@Override
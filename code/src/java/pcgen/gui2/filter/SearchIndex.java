@@ -0,0 +1,220 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.gui2.filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import pcgen.cdom.enumeration.ListKey;
+import pcgen.cdom.enumeration.StringKey;
+import pcgen.core.Campaign;
+import pcgen.facade.core.InfoFacade;
+
+/**
+ * A SearchIndex finds the elements whose name, type or source abbreviation
+ * contain the text being searched for, ignoring case.
+ *
+ * The searchable text of each element is built once, when the element is first
+ * searched, and each run of three characters (trigram) in that text is indexed.
+ * A search then only examines the elements that hold every trigram of the
+ * search text, and a search that extends the previous one (as when the user
+ * types another character) only examines the matches of the previous search.
+ * The text of an element is indexed again once it is removed, as it is when
+ * the element is modified. Elements are held weakly, so the index does not
+ * keep unloaded data alive.
+ */
+final class SearchIndex
+{
+
+	/**
+	 * The length of the runs of characters that are indexed.
+	 */
+	private static final int GRAM_LENGTH = 3;
+
+	/**
+	 * The searchable text of each indexed element, in lower case.
+	 */
+	private final Map<Object, String> texts = new WeakHashMap<>();
+
+	/**
+	 * The indexed elements holding each trigram.
+	 */
+	private final Map<String, Set<Object>> grams = new HashMap<>();
+
+	/**
+	 * The text of the most recent search of at least GRAM_LENGTH characters.
+	 */
+	private String lastSearch = null;
+
+	/**
+	 * The indexed elements matching lastSearch.
+	 */
+	private Set<Object> lastMatches = null;
+
+	/**
+	 * Returns true if the searchable text of the given element contains the
+	 * given search text, which must be in lower case.
+	 */
+	synchronized boolean matches(Object element, String search)
+	{
+		if (search.isEmpty())
+		{
+			return true;
+		}
+		String text = texts.get(element);
+		if (text == null)
+		{
+			text = addElement(element);
+		}
+		else if (search.length() >= GRAM_LENGTH)
+		{
+			return getMatches(search).contains(element);
+		}
+		return text.contains(search);
+	}
+
+	/**
+	 * Returns the indexed elements matching the given search text.
+	 */
+	private Set<Object> getMatches(String search)
+	{
+		if (search.equals(lastSearch))
+		{
+			return lastMatches;
+		}
+		Set<Object> matches = new HashSet<>();
+		if ((lastSearch != null) && search.contains(lastSearch))
+		{
+			for (Object element : lastMatches)
+			{
+				if (texts.get(element).contains(search))
+				{
+					matches.add(element);
+				}
+			}
+		}
+		else
+		{
+			List<Set<Object>> postings = new ArrayList<>();
+			for (int i = 0; i + GRAM_LENGTH <= search.length(); i++)
+			{
+				Set<Object> posting = grams.get(search.substring(i, i + GRAM_LENGTH));
+				if (posting == null)
+				{
+					postings.clear();
+					break;
+				}
+				postings.add(posting);
+			}
+			if (!postings.isEmpty())
+			{
+				postings.sort((a, b) -> Integer.compare(a.size(), b.size()));
+				for (Object element : postings.get(0))
+				{
+					String text = texts.get(element);
+					if ((text != null) && text.contains(search))
+					{
+						matches.add(element);
+					}
+				}
+			}
+		}
+		lastSearch = search;
+		lastMatches = matches;
+		return matches;
+	}
+
+	/**
+	 * Removes the given element from the index, so its searchable text is
+	 * built again when it is next searched.
+	 */
+	synchronized void removeElement(Object element)
+	{
+		String text = texts.remove(element);
+		if (text == null)
+		{
+			return;
+		}
+		for (int i = 0; i + GRAM_LENGTH <= text.length(); i++)
+		{
+			Set<Object> posting = grams.get(text.substring(i, i + GRAM_LENGTH));
+			if (posting != null)
+			{
+				posting.remove(element);
+			}
+		}
+		if (lastMatches != null)
+		{
+			lastMatches.remove(element);
+		}
+	}
+
+	/**
+	 * Indexes the searchable text of the given element.
+	 */
+	private String addElement(Object element)
+	{
+		String text = getSearchText(element);
+		texts.put(element, text);
+		for (int i = 0; i + GRAM_LENGTH <= text.length(); i++)
+		{
+			grams.computeIfAbsent(text.substring(i, i + GRAM_LENGTH),
+				k -> Collections.newSetFromMap(new WeakHashMap<>())).add(element);
+		}
+		if ((lastSearch != null) && text.contains(lastSearch))
+		{
+			lastMatches.add(element);
+		}
+		return text;
+	}
+
+	/**
+	 * Returns the text of the given element that is searched, in lower case.
+	 * The name, type and source abbreviation are separated by a line break, so
+	 * a search cannot match across them.
+	 */
+	static String getSearchText(Object element)
+	{
+		String typeStr = ""; //$NON-NLS-1$
+		String abbStr = ""; //$NON-NLS-1$
+		if (element instanceof InfoFacade)
+		{
+			typeStr = ((InfoFacade) element).getType();
+		}
+		else if (element instanceof Campaign)
+		{
+			typeStr = ((Campaign) element).getListAsString(ListKey.BOOK_TYPE);
+			abbStr = ((Campaign) element).get(StringKey.SOURCE_SHORT);
+		}
+		return toSearchText(element + "\n" + Objects.toString(typeStr, "") + "\n" + Objects.toString(abbStr, ""));
+	}
+
+	/**
+	 * Returns the given text in lower case, as it is searched for.
+	 */
+	static String toSearchText(String text)
+	{
+		return text.toLowerCase(Locale.ROOT);
+	}
+}
@@ -80,6 +80,7 @@ import pcgen.system.PluginLoader;
 import pcgen.util.Delta;
 import pcgen.util.Logging;
 import pcgen.util.enumeration.View;
+import pcgen.util.metrics.Metrics;
 
 /**
  * This class deals with exporting a PC to various types of output sheets 
@@ -1619,13 +1620,16 @@ public abstract class ExportHandler
 			else if (TOKEN_MAP.get(firstToken) != null)
 			{
 				Token token = TOKEN_MAP.get(firstToken);
+				long start = Metrics.start();
+				String value = token.getToken(tokenString, aPC, this);
+				Metrics.stop("export.token.", firstToken, start);
 				if (token.isEncoded())
 				{
-					FileAccess.encodeWrite(output, token.getToken(tokenString, aPC, this));
+					FileAccess.encodeWrite(output, value);
 				}
 				else
 				{
-					FileAccess.write(output, token.getToken(tokenString, aPC, this));
+					FileAccess.write(output, value);
 				}
 			}
 			// Default case
@@ -2949,6 +2953,7 @@ public abstract class ExportHandler
 	 */
 	private void write(PlayerCharacter[] PCs, BufferedWriter out)
 	{
+		long start = Metrics.start();
 		// Set an output filter based on the type of template in use.
 		FileAccess.setCurrentOutputFilter(templateFile.getName());
 
@@ -3036,6 +3041,7 @@ public abstract class ExportHandler
 		{
 			Logging.errorPrint("Error in ExportHandler::write", exc);
 		}
+		Metrics.stop("export.sheet.", templateFile.getName(), start);
 	}
 
 	/**
@@ -3250,7 +3256,10 @@ public abstract class ExportHandler
 		final Token token = TOKEN_MAP.get(firstToken);
 		if (token != null)
 		{
-			return token.getToken(aString, aPC, null);
+			long start = Metrics.start();
+			String value = token.getToken(aString, aPC, null);
+			Metrics.stop("export.token.", firstToken, start);
+			return value;
 		}
 		return "";
 	}
@@ -1,5 +1,6 @@
 package pcgen.io;
 
+import freemarker.cache.MruCacheStorage;
 import freemarker.template.Configuration;
 import static freemarker.template.Configuration.VERSION_2_3_20;
 import freemarker.template.Template;
@@ -10,9 +11,11 @@ import java.io.IOException;
 import java.io.Writer;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import pcgen.core.GameMode;
 import pcgen.core.PlayerCharacter;
 import pcgen.core.SettingsHandler;
+import pcgen.core.prereq.PrerequisiteCache;
 import pcgen.io.freemarker.EquipSetLoopDirective;
 import pcgen.io.freemarker.LoopDirective;
 import pcgen.io.freemarker.PCBooleanFunction;
@@ -24,6 +27,18 @@ import pcgen.util.Logging;
 
 public class FreeMarkerExportHandler extends ExportHandler
 {
+	/**
+	 * The number of parsed templates retained by each Configuration.
+	 */
+	private static final int TEMPLATE_CACHE_SIZE = 20;
+
+	/**
+	 * The FreeMarker Configuration for each template directory. Each
+	 * Configuration retains the templates it has parsed, and parses a template
+	 * again only if its file has been modified.
+	 */
+	private static final Map<File, Configuration> CONFIGURATIONS = new ConcurrentHashMap<>();
+
 	/**
 	 * Constructor.  Populates the token map (a list of possible output tokens) and
 	 * sets the character sheet template we are using.
@@ -46,10 +61,47 @@ public class FreeMarkerExportHandler extends ExportHandler
 		}
 		FileAccess.setCurrentOutputFilter(getTemplateFile().getName().substring(0, getTemplateFile().getName().length() - 4));
 
-		exportCharacterUsingFreemarker(aPC, out);
+		// The character is only read while exporting, so prerequisite results may be reused
+		PrerequisiteCache.enable();
+		try
+		{
+			exportCharacterUsingFreemarker(aPC, out);
+		}
+		finally
+		{
+			PrerequisiteCache.disable();
+		}
 	}
 
 
+	/**
+	 * Returns the shared FreeMarker Configuration for templates in the given
+	 * directory, creating it if necessary.
+	 *
+	 * @param templateDir The directory containing the templates.
+	 * @return The Configuration for the directory.
+	 * @throws IOException If the directory cannot be used for templates.
+	 */
+	private static Configuration getConfiguration(File templateDir) throws IOException
+	{
+		Configuration cfg = CONFIGURATIONS.get(templateDir);
+		if (cfg == null)
+		{
+			cfg = new Configuration(VERSION_2_3_20);
+			cfg.setDirectoryForTemplateLoading(templateDir);
+			cfg.setCacheStorage(new MruCacheStorage(TEMPLATE_CACHE_SIZE, TEMPLATE_CACHE_SIZE));
+			// Check the modification time of the template file on each use
+			cfg.setTemplateUpdateDelayMilliseconds(0);
+			cfg.setSharedVariable("loop", new LoopDirective());
+			Configuration existing = CONFIGURATIONS.putIfAbsent(templateDir, cfg);
+			if (existing != null)
+			{
+				cfg = existing;
+			}
+		}
+		return cfg;
+	}
+
 	/**
 	 * Produce an output file for a character using a FreeMarker template.
 	 *
@@ -61,26 +113,23 @@ public class FreeMarkerExportHandler extends ExportHandler
 	{
 		try
 		{
-			// Set Directory for templates
-			Configuration cfg = new Configuration(VERSION_2_3_20);
-			cfg.setDirectoryForTemplateLoading(getTemplateFile().getParentFile());
-
 			// load template
+			Configuration cfg = getConfiguration(getTemplateFile().getParentFile());
 			Template template = cfg.getTemplate(getTemplateFile().getName());
 
-			// Configure our custom directives and functions.
-			cfg.setSharedVariable("pcstring", new PCStringDirective(aPC, this));
-			cfg.setSharedVariable("pcvar", new PCVarFunction(aPC));
-			cfg.setSharedVariable("pcboolean", new PCBooleanFunction(aPC, this));
-			cfg.setSharedVariable("pchasvar", new PCHasVarFunction(aPC, this));
-			cfg.setSharedVariable("loop", new LoopDirective());
-			cfg.setSharedVariable("equipsetloop", new EquipSetLoopDirective(aPC));
-
 			GameMode gamemode = SettingsHandler.getGameAsProperty().get();
 			// data-model
 			Map<String, Object> pc = OutputDB.buildDataModel(aPC.getCharID());
 			Map<String, Object> mode = OutputDB.buildModeDataModel(gamemode);
 			Map<String, Object> input = new HashMap<>();
+
+			// Configure our custom directives and functions. Those specific to the
+			// character are part of the data-model, as the Configuration is shared.
+			input.put("pcstring", new PCStringDirective(aPC, this));
+			input.put("pcvar", new PCVarFunction(aPC));
+			input.put("pcboolean", new PCBooleanFunction(aPC, this));
+			input.put("pchasvar", new PCHasVarFunction(aPC, this));
+			input.put("equipsetloop", new EquipSetLoopDirective(aPC));
 			input.put("pcgen", OutputDB.getGlobal());
 			input.put("pc", ExportUtilities.getObjectWrapper().wrap(pc));
 			input.put("gamemode", mode);
@@ -12,6 +12,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import pcgen.cdom.base.Constants;
 import pcgen.core.PlayerCharacter;
+import pcgen.core.prereq.PrerequisiteCache;
 import pcgen.util.Logging;
 
 public class PCGenExportHandler extends ExportHandler
@@ -33,6 +34,8 @@ public class PCGenExportHandler extends ExportHandler
 		// Set an output filter based on the type of template in use.
 		FileAccess.setCurrentOutputFilter(getTemplateFile().getName());
 
+		// The character is only read while exporting, so prerequisite results may be reused
+		PrerequisiteCache.enable();
 		try (FileInputStream fis = new FileInputStream(getTemplateFile());
 			 InputStreamReader isr = new InputStreamReader(fis, StandardCharsets.UTF_8);
 			 BufferedReader br = new BufferedReader(isr))
@@ -62,6 +65,10 @@ public class PCGenExportHandler extends ExportHandler
 		{
 			Logging.errorPrint("Error in ExportHandler::write", exc);
 		}
+		finally
+		{
+			PrerequisiteCache.disable();
+		}
 	}
 
 
@@ -271,6 +271,22 @@ public final class ChannelUtilities
 		addListenerToChannel(pc, codeControl, x -> pc.setDirty(true));
 	}
 
+	/**
+	 * Sets up the given Code Control so that if the value on the channel changes, the PC
+	 * is categorized as Dirty without invalidating any calculated values. This should
+	 * only be used for channels that are not an input to any calculation.
+	 * 
+	 * @param pc
+	 *            The PlayerCharacter on which the channel should be watched
+	 * @param codeControl
+	 *            The name of the channel to be watched
+	 */
+	public static void setDescriptionDirtyOnChannelChange(PlayerCharacter pc,
+		CControl codeControl)
+	{
+		addListenerToChannel(pc, codeControl, x -> pc.setDescriptionDirty());
+	}
+
 	/**
 	 * Adds a listener to the channel on the given PlayerCharacter.
 	 * 
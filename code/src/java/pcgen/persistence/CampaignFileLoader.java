@@ -22,8 +22,14 @@ import java.io.File;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.LinkedList;
-
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.LogRecord;
+
 import pcgen.core.Campaign;
 import pcgen.core.Globals;
 import pcgen.persistence.lst.CampaignLoader;
@@ -35,6 +41,13 @@ import pcgen.util.Logging;
 
 public class CampaignFileLoader extends PCGenTask
 {
+	private static final ThreadFactory THREAD_FACTORY = r -> {
+		Thread thread = new Thread(r);
+		thread.setDaemon(true);
+		thread.setName("campaign-load-thread");
+		return thread;
+	};
+
 	private File alternateSourceFolder = null;
 
 	@Override
@@ -71,31 +84,116 @@ public class CampaignFileLoader extends PCGenTask
 	 * {@link #campaignFiles campaignFiles} to a {@link pcgen.persistence.lst.CampaignLoader CampaignLoader},
 	 * which will load the data within into the {@link pcgen.rules.context.LoadContext LoadContext}
 	 * of the {@link pcgen.core.Campaign Campaign}.
+	 * 
+	 * The files are parsed concurrently, but the campaigns are added to
+	 * {@link pcgen.core.Globals Globals} in the order of campaignFiles. The
+	 * messages logged while parsing each file are held, and logged as its
+	 * campaign is added, so they also appear in the order of campaignFiles.
 	 * @param campaignFiles
 	 */
 	private void loadCampaigns(List<URI> campaignFiles)
 	{
-		int progress = 0;
-		CampaignLoader campaignLoader = new CampaignLoader();
-		for (URI uri : campaignFiles)
+		int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(threads, THREAD_FACTORY);
+		try
 		{
-			// Do not load campaign if already loaded
-			if (Globals.getCampaignByURI(uri, false) == null)
+			List<ParsingCampaign> parsedCampaigns = new ArrayList<>(campaignFiles.size());
+			for (URI uri : campaignFiles)
 			{
-				try
+				// Do not load campaign if already loaded
+				if (Globals.getCampaignByURI(uri, false) == null)
 				{
-					// Pass this URI to campaign loader
-					campaignLoader.loadCampaignLstFile(uri);
+					// Campaigns are created here, as creating the LoadContext is not thread safe
+					Campaign campaign = CampaignLoader.createCampaign(uri);
+					List<LogRecord> messages = new ArrayList<>();
+					Future<Campaign> parsed = executor.submit(() -> {
+						Logging.holdMessages(messages);
+						try
+						{
+							new CampaignLoader().parseCampaign(campaign);
+						}
+						finally
+						{
+							Logging.releaseMessages();
+						}
+						return campaign;
+					});
+					parsedCampaigns.add(new ParsingCampaign(parsed, messages));
 				}
-				catch (PersistenceLayerException ex)
+				else
+				{
+					parsedCampaigns.add(null);
+				}
+			}
+
+			int progress = 0;
+			CampaignLoader campaignLoader = new CampaignLoader();
+			for (ParsingCampaign parsedCampaign : parsedCampaigns)
+			{
+				if (parsedCampaign != null)
 				{
-					// LATER: This is not an appropriate way to deal with this exception.
-					// Deal with it this way because of the way the loading takes place.  XXX
-					Logging.errorPrint("PersistanceLayer", ex);
+					Campaign campaign = getParsedCampaign(parsedCampaign);
+					if (campaign != null)
+					{
+						campaignLoader.registerCampaign(campaign);
+					}
 				}
+				setProgress(progress++);
 			}
-			setProgress(progress++);
 		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Waits for a campaign to be parsed, then logs the messages held while it
+	 * was parsed.
+	 * @param parsedCampaign The campaign being parsed.
+	 * @return The parsed campaign, or null if it could not be parsed.
+	 */
+	private static Campaign getParsedCampaign(ParsingCampaign parsedCampaign)
+	{
+		try
+		{
+			Campaign campaign = parsedCampaign.parsed().get();
+			Logging.logHeldMessages(parsedCampaign.messages());
+			return campaign;
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while loading campaigns", e);
+		}
+		catch (ExecutionException e)
+		{
+			Logging.logHeldMessages(parsedCampaign.messages());
+			Throwable cause = e.getCause();
+			if (cause instanceof PersistenceLayerException)
+			{
+				// LATER: This is not an appropriate way to deal with this exception.
+				// Deal with it this way because of the way the loading takes place.  XXX
+				Logging.errorPrint("PersistanceLayer", cause);
+				return null;
+			}
+			if (cause instanceof RuntimeException)
+			{
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error)
+			{
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	/**
+	 * A campaign being parsed, and the messages held while it is parsed.
+	 */
+	private record ParsingCampaign(Future<Campaign> parsed, List<LogRecord> messages)
+	{
 	}
 
 	/**
@@ -0,0 +1,187 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.persistence;
+
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import pcgen.cdom.enumeration.ListKey;
+import pcgen.core.Campaign;
+import pcgen.core.DataSet;
+import pcgen.core.GameMode;
+import pcgen.core.Globals;
+import pcgen.io.PCGFile;
+import pcgen.persistence.lst.CampaignLoader;
+import pcgen.persistence.lst.CampaignSourceEntry;
+import pcgen.rules.context.LoadContext;
+
+/**
+ * A DatasetSnapshot records the game mode, campaigns and source files that
+ * were used to build the data held in a LoadContext, so that a later request
+ * to load the same sources can reuse the already resolved data rather than
+ * reading and parsing every file again.
+ *
+ * <p>
+ * The source files are identified by their URI, size and modification time,
+ * so an edit to any file used by the load prevents the snapshot from being
+ * reused.
+ */
+final class DatasetSnapshot
+{
+
+	/**
+	 * The LoadContext into which the data was loaded.
+	 */
+	private final LoadContext context;
+
+	/**
+	 * The DataSet built from the loaded data.
+	 */
+	private final DataSet dataset;
+
+	/**
+	 * The fingerprint of the game mode, campaigns and files that were loaded.
+	 */
+	private final List<String> fingerprint;
+
+	/**
+	 * The modification count of the reference context when the load finished.
+	 */
+	private final int modificationCount;
+
+	/**
+	 * Constructs a new DatasetSnapshot.
+	 *
+	 * @param context
+	 *            The LoadContext into which the data was loaded
+	 * @param dataset
+	 *            The DataSet built from the loaded data
+	 * @param fingerprint
+	 *            The fingerprint of the loaded sources, as returned by
+	 *            fingerprint(GameMode, Collection)
+	 */
+	DatasetSnapshot(LoadContext context, DataSet dataset, List<String> fingerprint)
+	{
+		this.context = Objects.requireNonNull(context);
+		this.dataset = Objects.requireNonNull(dataset);
+		this.fingerprint = List.copyOf(fingerprint);
+		this.modificationCount = context.getReferenceContext().getModificationCount();
+	}
+
+	/**
+	 * Returns the DataSet built from the loaded data.
+	 *
+	 * @return The DataSet built from the loaded data
+	 */
+	DataSet getDataSet()
+	{
+		return dataset;
+	}
+
+	/**
+	 * Returns true if this DatasetSnapshot can be reused for a load with the
+	 * given fingerprint into the given LoadContext. It cannot be reused once
+	 * objects have been added to or removed from the loaded data, as they are
+	 * when a character with custom equipment is loaded.
+	 *
+	 * @param currentContext
+	 *            The LoadContext that would be loaded
+	 * @param currentFingerprint
+	 *            The fingerprint of the sources that would be loaded
+	 * @return true if this DatasetSnapshot can be reused; false otherwise
+	 */
+	boolean matches(LoadContext currentContext, List<String> currentFingerprint)
+	{
+		//Identity: Globals.emptyLists() replaces the context
+		return (context == currentContext) && fingerprint.equals(currentFingerprint)
+			&& (modificationCount == context.getReferenceContext().getModificationCount());
+	}
+
+	/**
+	 * Builds the fingerprint of a load of the given campaigns in the given
+	 * game mode. This includes the campaigns referenced by the given campaigns
+	 * and each of the files they load.
+	 *
+	 * @param gameMode
+	 *            The game mode being loaded
+	 * @param campaigns
+	 *            The campaigns selected to be loaded
+	 * @return The fingerprint of the load
+	 */
+	static List<String> fingerprint(GameMode gameMode, Collection<Campaign> campaigns)
+	{
+		Set<Campaign> allCampaigns = new LinkedHashSet<>();
+		campaigns.forEach(campaign -> addCampaign(allCampaigns, campaign));
+
+		List<String> fingerprint = new ArrayList<>();
+		fingerprint.add(gameMode.getName());
+		for (Campaign campaign : allCampaigns)
+		{
+			fingerprint.add(campaign.getKeyName());
+			fingerprint.add(stamp(campaign.getSourceURI()));
+			for (CampaignSourceEntry cse : campaign.getSafeListFor(ListKey.FILE_LST_EXCLUDE))
+			{
+				fingerprint.add(cse.getLSTformat());
+			}
+			for (ListKey<CampaignSourceEntry> lk : CampaignLoader.OBJECT_FILE_LISTKEY)
+			{
+				for (CampaignSourceEntry cse : campaign.getSafeListFor(lk))
+				{
+					fingerprint.add(cse.getLSTformat());
+					fingerprint.add(stamp(cse.getURI()));
+				}
+			}
+		}
+		return fingerprint;
+	}
+
+	private static void addCampaign(Set<Campaign> allCampaigns, Campaign campaign)
+	{
+		if ((campaign == null) || !allCampaigns.add(campaign))
+		{
+			return;
+		}
+		for (CampaignSourceEntry cse : campaign.getSafeListFor(ListKey.FILE_PCC))
+		{
+			URI uri = cse.getURI();
+			if (PCGFile.isPCGenCampaignFile(uri))
+			{
+				addCampaign(allCampaigns, Globals.getCampaignByURI(uri, false));
+			}
+		}
+	}
+
+	/**
+	 * Identifies the current version of the file at the given URI. Local files
+	 * are identified by size and modification time; other URIs (which are not
+	 * expected to change underneath a running PCGen) by the URI alone.
+	 */
+	private static String stamp(URI uri)
+	{
+		if ((uri == null) || !"file".equals(uri.getScheme()))
+		{
+			return String.valueOf(uri);
+		}
+		File file = new File(uri);
+		return uri + "|" + file.length() + "|" + file.lastModified();
+	}
+}
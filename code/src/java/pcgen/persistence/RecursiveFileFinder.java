@@ -1,25 +1,30 @@
 package pcgen.persistence;
 
 import java.io.File;
-import java.io.FilenameFilter;
+import java.io.IOException;
 import java.net.URI;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+
+import pcgen.util.Logging;
+
 import org.apache.commons.lang3.StringUtils;
 
 public class RecursiveFileFinder
 {
 
-	private final FilenameFilter pccFileFilter;
-
-	public RecursiveFileFinder()
-	{
-		pccFileFilter = (parentDir, fileName) -> StringUtils.endsWithIgnoreCase(fileName, ".pcc")
-				|| new File(parentDir, fileName).isDirectory();
-	}
-
 	/**
 	 * Recursively looks inside a given directory for PCC files
 	 * and adds them to the {@link #campaignFiles campaignFiles} list.
+	 * The files are added in order of their path, so that the order
+	 * does not depend on the file system.
 	 *  @param aDirectory    The directory to search.
 	 * @param campaignFiles
 	 */
@@ -29,19 +34,40 @@ public class RecursiveFileFinder
 		{
 			return;
 		}
-		_findFiles(aDirectory, campaignFiles);
-	}
+		final List<Path> found = new ArrayList<>();
+		try
+		{
+			Files.walkFileTree(aDirectory.toPath(), EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+				new SimpleFileVisitor<>()
+				{
+					@Override
+					public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+					{
+						if (attrs.isRegularFile()
+							&& StringUtils.endsWithIgnoreCase(file.getFileName().toString(), ".pcc"))
+						{
+							found.add(file);
+						}
+						return FileVisitResult.CONTINUE;
+					}
 
-	private void _findFiles(File aDirectory, List<URI> campaignFiles)
-	{
-		for (final File file : aDirectory.listFiles(pccFileFilter))
+					@Override
+					public FileVisitResult visitFileFailed(Path file, IOException exc)
+					{
+						Logging.errorPrint("Unable to search " + file + " for campaigns", exc);
+						return FileVisitResult.CONTINUE;
+					}
+				});
+		}
+		catch (IOException e)
+		{
+			Logging.errorPrint("Unable to search " + aDirectory + " for campaigns", e);
+		}
+		found.sort(null);
+		for (Path file : found)
 		{
-			if (file.isDirectory())
-			{
-				_findFiles(file, campaignFiles);
-				continue;
-			}
-			campaignFiles.add(file.toURI());
+			// File.toURI, as campaigns are identified by the URI in that form
+			campaignFiles.add(file.toFile().toURI());
 		}
 	}
 }
@@ -105,6 +105,7 @@ import pcgen.persistence.lst.LstLineFileLoader;
 import pcgen.persistence.lst.LstObjectFileLoader;
 import pcgen.persistence.lst.PCClassLoader;
 import pcgen.persistence.lst.SourceEntry;
+import pcgen.persistence.lst.SourceFileIndex;
 import pcgen.persistence.lst.VariableLoader;
 import pcgen.rules.context.AbstractReferenceContext;
 import pcgen.rules.context.LoadContext;
@@ -119,6 +120,8 @@ import pcgen.system.LanguageBundle;
 import pcgen.system.PCGenSettings;
 import pcgen.system.PCGenTask;
 import pcgen.util.Logging;
+import pcgen.util.metrics.Metrics;
+import pcgen.util.metrics.Timer;
 
 public class SourceFileLoader extends PCGenTask implements Observer
 {
@@ -178,6 +181,27 @@ public class SourceFileLoader extends PCGenTask implements Observer
     private DataSet dataset = null;
     private int progress = 0;
     private final UIDelegate uiDelegate;
+    private boolean reuseLoadedData = false;
+
+    /*
+     * The record of the most recent successful load, used to skip reloading
+     * identical sources when reuseLoadedData is set.
+     */
+    private static DatasetSnapshot lastLoad = null;
+
+    /*
+     * The versions and objects of each file loaded, kept between loads when the
+     * option to report changed sources is set.
+     */
+    private static SourceFileIndex sourceFileIndex = null;
+
+    /*
+     * The time spent loading the sources, in total and in the reading of the
+     * LST files and the processing that follows.
+     */
+    private static final Timer LOAD_TIMER = Metrics.timer("load.sources");
+    private static final Timer LST_TIMER = Metrics.timer("load.sources.lst");
+    private static final Timer FINISH_TIMER = Metrics.timer("load.sources.finish");
 
     public SourceFileLoader(UIDelegate delegate, ListFacade<Campaign> campaigns, String gameModeNamed)
     {
@@ -216,9 +240,34 @@ public class SourceFileLoader extends PCGenTask implements Observer
         dynamicLoader.addObserver(this);
     }
 
+    /**
+     * Sets whether this loader may reuse the data already loaded by an earlier
+     * SourceFileLoader. If set, and the game mode, campaigns and source files
+     * (by size and modification time) are identical to those of the most
+     * recent successful load, the existing data is used rather than reloading
+     * it. The data is not reused once objects have been added to or removed
+     * from it since it was loaded, as when a character with custom equipment
+     * is loaded.
+     * <p>
+     * Only data loaded earlier in the same run of PCGen can be reused. The
+     * loaded data is not saved to disk for later runs, since the loaded
+     * objects, references and formulas cannot be serialized, so this does not
+     * shorten the first load after PCGen starts.
+     *
+     * @param reuseLoadedData true if already loaded data may be reused
+     */
+    public void setReuseLoadedData(boolean reuseLoadedData)
+    {
+        this.reuseLoadedData = reuseLoadedData;
+    }
+
     @Override
     public void run()
     {
+        if (reuseLoadedData && reuseLastLoad())
+        {
+            return;
+        }
         Globals.emptyLists();
         SettingsHandler.setGame(selectedGame.getName());
         Globals.initPreferences();
@@ -237,6 +286,29 @@ public class SourceFileLoader extends PCGenTask implements Observer
         Logging.removeHandler(handler);
     }
 
+    /**
+     * Uses the data from the most recent load, if it was a load of the same
+     * sources into the current LoadContext.
+     *
+     * @return true if the data from the most recent load is being used; false
+     *         if the sources need to be loaded
+     */
+    private boolean reuseLastLoad()
+    {
+        DatasetSnapshot snapshot = lastLoad;
+        if ((snapshot == null) || (SettingsHandler.getGameAsProperty().get() != selectedGame))
+        {
+            return false;
+        }
+        if (!snapshot.matches(Globals.getContext(), DatasetSnapshot.fingerprint(selectedGame, selectedCampaigns)))
+        {
+            return false;
+        }
+        Logging.log(Logging.INFO, "Reusing loaded game " + selectedGame + " and sources " + selectedCampaigns + ".");
+        dataset = snapshot.getDataSet();
+        return true;
+    }
+
     public String getOGL()
     {
         return sec15.toString();
@@ -447,6 +519,13 @@ public class SourceFileLoader extends PCGenTask implements Observer
     private void loadCampaigns() throws PersistenceLayerException
     {
         // Unload the existing campaigns and load our selected campaign
+        lastLoad = null;
+        initSourceFileIndex();
+        if (sourceFileIndex != null)
+        {
+            logChangedSources(sourceFileIndex);
+            sourceFileIndex.clearObjects();
+        }
         Globals.emptyLists();
         PersistenceManager pManager = PersistenceManager.getInstance();
         List<URI> uris = new ArrayList<>();
@@ -465,15 +544,20 @@ public class SourceFileLoader extends PCGenTask implements Observer
         // 21 Nov 2002: Put load inside a try/finally block to make sure
         // that file lines were cleared even if an exception occurred.
         // -- sage_sam
+        long loadStart = LOAD_TIMER.start();
         try
         {
             LoadContext context = Globals.getContext();
+            long start = LST_TIMER.start();
             loadCampaigns(selectedGame, selectedCampaigns, context);
+            LST_TIMER.stop(start);
 
             // Load custom items
             loadCustomItems(context);
 
+            start = FINISH_TIMER.start();
             finishLoad(selectedGame, selectedCampaigns, context);
+            FINISH_TIMER.stop(start);
             // Check for valid race types
             //			checkRaceTypes();
 
@@ -489,6 +573,8 @@ public class SourceFileLoader extends PCGenTask implements Observer
             context.loadCampaignFacets();
 
             dataset = new DataSet(context, selectedGame, new DefaultListFacade<>(selectedCampaigns));
+            lastLoad = new DatasetSnapshot(context, dataset,
+                    DatasetSnapshot.fingerprint(selectedGame, selectedCampaigns));
             //			//  Show the licenses
             //			showLicensesIfNeeded();
         } catch (Throwable thr)
@@ -496,6 +582,48 @@ public class SourceFileLoader extends PCGenTask implements Observer
             Logging.errorPrint("Exception loading files.", thr);
             uiDelegate.showErrorMessage(Constants.APPLICATION_NAME, "Failed to load campaigns, see log for details.");
         }
+        LOAD_TIMER.stop(loadStart);
+    }
+
+    /**
+     * Creates (or drops) the SourceFileIndex kept between loads, according to
+     * the option to report changed sources, and gives it to the loaders.
+     */
+    private void initSourceFileIndex()
+    {
+        if (PCGenSettings.OPTIONS_CONTEXT.initBoolean(PCGenSettings.OPTION_SOURCES_REPORT_CHANGES, false))
+        {
+            if (sourceFileIndex == null)
+            {
+                sourceFileIndex = new SourceFileIndex();
+            }
+        }
+        else
+        {
+            sourceFileIndex = null;
+        }
+        List.of(classLoader, languageLoader, kitLoader, abilityLoader, featLoader, templateLoader,
+                equipmentLoader, eqModLoader, raceLoader, skillLoader, wProfLoader, aProfLoader, sProfLoader,
+                deityLoader, domainLoader, savesLoader, alignmentLoader, statLoader, sizeLoader, spellLoader)
+                .forEach(loader -> loader.setSourceFileIndex(sourceFileIndex));
+    }
+
+    /**
+     * Reports the source files that have changed since they were last loaded,
+     * and the files and objects affected by those changes.
+     *
+     * @param index The SourceFileIndex recording the earlier load
+     */
+    private static void logChangedSources(SourceFileIndex index)
+    {
+        Set<URI> changed = index.getChangedSources();
+        if (changed.isEmpty())
+        {
+            return;
+        }
+        Set<URI> affected = index.getAffectedSources(changed);
+        Logging.log(Logging.INFO, "Reloading changed sources " + changed + ", affecting sources " + affected
+                + " and objects " + index.getAffectedObjects(affected) + ".");
     }
 
     private void loadCampaigns(GameMode gamemode, final List<Campaign> aSelectedCampaignsList, LoadContext context)
@@ -38,7 +38,7 @@ public class CampaignLoader extends LstLineFileLoader
 {
 	/**
 	 * The {@link pcgen.core.Campaign Campaign}
-	 * being loaded by {@link #loadCampaignLstFile(java.net.URI) loadCampaignLstFile}.
+	 * being parsed by {@link #parseCampaign(Campaign) parseCampaign}.
 	 */
 	private Campaign campaign = null;
 	private final List<Campaign> inittedCampaigns = new ArrayList<>();
@@ -141,23 +141,60 @@ public class CampaignLoader extends LstLineFileLoader
 	 * @throws PersistenceLayerException  if problems with lst file.
 	 */
 	public void loadCampaignLstFile(URI filePath) throws PersistenceLayerException
+	{
+		Campaign newCampaign = createCampaign(filePath);
+		parseCampaign(newCampaign);
+		registerCampaign(newCampaign);
+	}
+
+	/**
+	 * Creates the Campaign for a campaign LST file, ready to be parsed by
+	 * {@link #parseCampaign(Campaign) parseCampaign}.
+	 * @param filePath The file path of the campaign.
+	 * @return The new Campaign.
+	 */
+	public static Campaign createCampaign(URI filePath)
 	{
 		// Instantiate a Campaign, which will automatically establish a LoadContext
-		campaign = new Campaign();
-		campaign.setSourceURI(filePath);
+		Campaign newCampaign = new Campaign();
+		newCampaign.setSourceURI(filePath);
+		return newCampaign;
+	}
+
+	/**
+	 * Parses the campaign LST file of a Campaign into that Campaign. Apart from
+	 * the messages it logs, parsing only changes the Campaign and its
+	 * LoadContext, so separate Campaigns may be parsed concurrently, each by
+	 * its own CampaignLoader. A thread parsing concurrently should hold its
+	 * messages (see Logging.holdMessages) so that they can be logged in the
+	 * order of the campaigns.
+	 * @param newCampaign The Campaign to be parsed, from createCampaign.
+	 * @throws PersistenceLayerException  if problems with lst file.
+	 */
+	public void parseCampaign(Campaign newCampaign) throws PersistenceLayerException
+	{
+		campaign = newCampaign;
 
 		// Parses the data in the referenced URI and loads it into a LoadContext;
 		// this quickly goes to the parseLine method below
-		super.loadLstFile(campaign.getCampaignContext(), filePath);
+		super.loadLstFile(campaign.getCampaignContext(), campaign.getSourceURI());
+	}
 
+	/**
+	 * Adds a parsed Campaign to the Global container if a campaign from the
+	 * same file has not already been added.
+	 * @param newCampaign The parsed Campaign.
+	 */
+	public void registerCampaign(Campaign newCampaign)
+	{
 		// Make sure this campaign has not already been added to the Global container
-		if (Globals.getCampaignByURI(campaign.getSourceURI(), false) == null)
+		if (Globals.getCampaignByURI(newCampaign.getSourceURI(), false) == null)
 		{
 			// Check the campaign's prerequisites, generating errors if any are not met but proceeding
-			validatePrereqs(campaign.getPrerequisiteList());
+			validatePrereqs(newCampaign, newCampaign.getPrerequisiteList());
 
 			// Adds this campaign to the Global container.
-			Globals.addCampaign(campaign);
+			Globals.addCampaign(newCampaign);
 		}
 	}
 
@@ -173,9 +210,10 @@ public class CampaignLoader extends LstLineFileLoader
 	 * errors. This is a recursive function allowing it to 
 	 * check nested prereqs.
 	 * 
+	 * @param pccCampaign The campaign the prerequisites are from.
 	 * @param prereqList The prerequisites to be checked.
 	 */
-	private void validatePrereqs(List<Prerequisite> prereqList)
+	private static void validatePrereqs(Campaign pccCampaign, List<Prerequisite> prereqList)
 	{
 		if (prereqList == null || prereqList.isEmpty())
 		{
@@ -192,11 +230,11 @@ public class CampaignLoader extends LstLineFileLoader
 				String lstString = prereqWriter.getPrerequisiteString(displayList, Constants.TAB);
 				Logging.log(Logging.LST_ERROR,
 					"Prereq " + prereq.getKind() + " is not supported in PCC files. Prereq was " + lstString + " in "
-						+ campaign.getSourceURI() + ". Prereq will be ignored.");
+						+ pccCampaign.getSourceURI() + ". Prereq will be ignored.");
 			}
 			else
 			{
-				validatePrereqs(prereq.getPrerequisites());
+				validatePrereqs(pccCampaign, prereq.getPrerequisites());
 			}
 		}
 	}
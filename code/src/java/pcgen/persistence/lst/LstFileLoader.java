@@ -79,6 +79,41 @@ public final class LstFileLoader
 	 */
 	@Nullable
 	public static String readFromURI(URI uri) throws PersistenceLayerException
+	{
+		try
+		{
+			InputStream inputStream = openURI(uri);
+			if (inputStream != null)
+			{
+				// Java doesn't handle BOM correctly. See http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=4508058
+				try (var bomInputStream = new BOMInputStream(inputStream))
+				{
+					return new String(bomInputStream.readAllBytes(), StandardCharsets.UTF_8);
+				}
+			}
+		}
+		catch (IOException ioe)
+		{
+			// Don't throw an exception here because a simple
+			// file not found will prevent ANY other files from
+			// being loaded/processed -- NOT what we want
+			logReadError(uri, ioe);
+		}
+		return null;
+	}
+
+	/**
+	 * Opens the given URI for reading. Web links are only opened if loading
+	 * of URLs is allowed; otherwise the user is told and null is returned.
+	 *
+	 * @param uri The URI to be opened
+	 * @return The InputStream of the contents of the URI, or null if web links
+	 *         may not be loaded
+	 * @throws PersistenceLayerException if the URI is not valid
+	 * @throws IOException if the URI could not be opened
+	 */
+	@Nullable
+	static InputStream openURI(URI uri) throws PersistenceLayerException, IOException
 	{
 		if (uri == null)
 		{
@@ -97,36 +132,29 @@ public final class LstFileLoader
 				"LstFileLoader.readFromURI() could not convert parameter to a URL: " + e.getLocalizedMessage(), e);
 		}
 
-		try
+		//only load local urls, unless loading of URLs is allowed
+		if (!CoreUtility.isNetURL(url) || SettingsHandler.isLoadURLs())
 		{
-			//only load local urls, unless loading of URLs is allowed
-			if (!CoreUtility.isNetURL(url) || SettingsHandler.isLoadURLs())
-			{
-				InputStream inputStream = url.openStream();
-				// Java doesn't handle BOM correctly. See http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=4508058
-				try (var bomInputStream = new BOMInputStream(inputStream))
-				{
-					return new String(bomInputStream.readAllBytes(), StandardCharsets.UTF_8);
-				}
-			}
-			else
-			{
-				// Just to protect people from using web
-				// sources without their knowledge,
-				// we added a preference.
-				ShowMessageDelegate.showMessageDialog("Preferences are currently set to NOT allow\nloading of "
-					+ "sources from web links. \n" + url + " is a web link", Constants.APPLICATION_NAME,
-					MessageType.ERROR);
-			}
-		}
-		catch (IOException ioe)
-		{
-			// Don't throw an exception here because a simple
-			// file not found will prevent ANY other files from
-			// being loaded/processed -- NOT what we want
-			Logging.errorPrint("ERROR:" + url + '\n' + "Exception type:" + ioe.getClass().getName() + "\n" + "Message:"
-				+ ioe.getMessage(), ioe);
+			return url.openStream();
 		}
+		// Just to protect people from using web
+		// sources without their knowledge,
+		// we added a preference.
+		ShowMessageDelegate.showMessageDialog("Preferences are currently set to NOT allow\nloading of "
+			+ "sources from web links. \n" + url + " is a web link", Constants.APPLICATION_NAME,
+			MessageType.ERROR);
 		return null;
 	}
+
+	/**
+	 * Logs a problem reading the given URI.
+	 *
+	 * @param uri The URI that could not be read
+	 * @param ioe The problem reading the URI
+	 */
+	static void logReadError(URI uri, IOException ioe)
+	{
+		Logging.errorPrint("ERROR:" + uri + '\n' + "Exception type:" + ioe.getClass().getName() + "\n" + "Message:"
+			+ ioe.getMessage(), ioe);
+	}
 }
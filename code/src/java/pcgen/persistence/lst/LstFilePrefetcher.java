@@ -0,0 +1,258 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.persistence.lst;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import pcgen.persistence.PersistenceLayerException;
+
+/**
+ * An LstFilePrefetcher reads and splits LST files into lines on a shared pool
+ * of worker threads, ahead of the loader that will consume them.
+ *
+ * <p>
+ * Only the I/O, character decoding and line splitting are performed on the
+ * workers. The lines are handed back to the loader on the calling thread, so
+ * that the parsing of each line into the LoadContext (and thus the processing
+ * of .COPY, .MOD and .FORGET) continues to happen in source order.
+ *
+ * <p>
+ * Only a few files are read ahead of the loader at any time, so that the lines
+ * of the files the loader has not yet reached are not all held at once.
+ *
+ * <p>
+ * Instances of LstFilePrefetcher are not thread-safe; they are intended to be
+ * used by a single loader for the duration of one loadLstFiles call.
+ */
+public final class LstFilePrefetcher implements AutoCloseable
+{
+
+	/**
+	 * The number of worker threads used to read files. Reading is mostly I/O
+	 * and decoding bound, so there is little benefit beyond a small number.
+	 */
+	private static final int WORKER_COUNT = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+	private static final ThreadFactory THREAD_FACTORY = r -> {
+		Thread thread = new Thread(r);
+		thread.setDaemon(true);
+		thread.setName("lst-prefetch-thread");
+		return thread;
+	};
+
+	/**
+	 * The number of files that may be read (or held once read) ahead of the
+	 * loader.
+	 */
+	private static final int READ_AHEAD = 2 * WORKER_COUNT;
+
+	private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(WORKER_COUNT, THREAD_FACTORY);
+
+	/**
+	 * The pending (or completed) reads, by URI.
+	 */
+	private final Map<URI, Future<String[]>> pending = new HashMap<>();
+
+	/**
+	 * The files to be read once there is room in the read-ahead window, in the
+	 * order they were requested.
+	 */
+	private final Set<URI> waiting = new LinkedHashSet<>();
+
+	/**
+	 * true if lines starting with a tab should be joined to the previous line.
+	 */
+	private final boolean allowMultiLine;
+
+	/**
+	 * The SourceFileIndex recording the version of each file read, or null.
+	 */
+	private final SourceFileIndex sourceFileIndex;
+
+	/**
+	 * Constructs a new LstFilePrefetcher.
+	 *
+	 * @param allowMultiLine
+	 *            true if lines that start with a tab are a continuation of the
+	 *            previous line; false otherwise
+	 */
+	public LstFilePrefetcher(boolean allowMultiLine)
+	{
+		this(allowMultiLine, null);
+	}
+
+	/**
+	 * Constructs a new LstFilePrefetcher which records the version of each
+	 * file read in the given SourceFileIndex.
+	 *
+	 * @param allowMultiLine
+	 *            true if lines that start with a tab are a continuation of the
+	 *            previous line; false otherwise
+	 * @param sourceFileIndex
+	 *            The SourceFileIndex recording the version of each file read;
+	 *            may be null
+	 */
+	public LstFilePrefetcher(boolean allowMultiLine, SourceFileIndex sourceFileIndex)
+	{
+		this.allowMultiLine = allowMultiLine;
+		this.sourceFileIndex = sourceFileIndex;
+	}
+
+	/**
+	 * Queues each of the given files to be read in the background. The first
+	 * few files are started immediately; the others are started as the lines
+	 * of earlier files are taken by getLines. Files which have already been
+	 * requested from this LstFilePrefetcher are not read again.
+	 *
+	 * @param fileList
+	 *            The files to be read; null entries are ignored
+	 */
+	public void prefetch(Collection<CampaignSourceEntry> fileList)
+	{
+		for (CampaignSourceEntry sourceEntry : fileList)
+		{
+			if ((sourceEntry != null) && !pending.containsKey(sourceEntry.getURI()))
+			{
+				waiting.add(sourceEntry.getURI());
+			}
+		}
+		fillWindow();
+	}
+
+	/**
+	 * Starts reading waiting files until the read-ahead window is full.
+	 */
+	private void fillWindow()
+	{
+		for (Iterator<URI> it = waiting.iterator(); (pending.size() < READ_AHEAD) && it.hasNext();)
+		{
+			URI uri = it.next();
+			it.remove();
+			pending.put(uri, EXECUTOR.submit(() -> read(uri)));
+		}
+	}
+
+	/**
+	 * Returns the lines of the given file, waiting for the background read to
+	 * complete if necessary. If the file was not prefetched, it is read on the
+	 * calling thread.
+	 *
+	 * <p>
+	 * The lines are only returned once; the LstFilePrefetcher does not hold on
+	 * to the file contents after they have been handed back.
+	 *
+	 * @param uri
+	 *            The URI of the file to be returned
+	 * @return The lines of the given file, or null if the file could not be
+	 *         read
+	 * @throws PersistenceLayerException
+	 *             if there was a problem reading the file
+	 */
+	public String[] getLines(URI uri) throws PersistenceLayerException
+	{
+		Future<String[]> future = pending.remove(uri);
+		if (future == null)
+		{
+			waiting.remove(uri);
+			return read(uri);
+		}
+		fillWindow();
+		try
+		{
+			return future.get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new PersistenceLayerException("Interrupted while reading " + uri, e);
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof PersistenceLayerException)
+			{
+				throw (PersistenceLayerException) cause;
+			}
+			throw new PersistenceLayerException("Failed to read " + uri + ": " + cause.getMessage(), cause);
+		}
+	}
+
+	/**
+	 * Cancels any reads that were not consumed.
+	 */
+	@Override
+	public void close()
+	{
+		waiting.clear();
+		pending.values().forEach(future -> future.cancel(false));
+		pending.clear();
+	}
+
+	private String[] read(URI uri) throws PersistenceLayerException
+	{
+		return (sourceFileIndex == null) ? readLines(uri, allowMultiLine)
+			: sourceFileIndex.getLines(uri, allowMultiLine);
+	}
+
+	/**
+	 * Reads the given file and splits it into lines.
+	 *
+	 * @param uri
+	 *            The URI of the file to be read
+	 * @param allowMultiLine
+	 *            true if lines that start with a tab are a continuation of the
+	 *            previous line; false otherwise
+	 * @return The lines of the given file, or null if the file could not be
+	 *         read
+	 * @throws PersistenceLayerException
+	 *             if there was a problem reading the file
+	 */
+	static String[] readLines(URI uri, boolean allowMultiLine) throws PersistenceLayerException
+	{
+		try (LstLineReader reader = LstLineReader.open(uri, allowMultiLine))
+		{
+			if (reader == null)
+			{
+				return null;
+			}
+			List<String> lines = new ArrayList<>();
+			String line;
+			while ((line = reader.readLine()) != null)
+			{
+				lines.add(line);
+			}
+			return lines.toArray(new String[0]);
+		}
+		catch (IOException ioe)
+		{
+			throw new PersistenceLayerException("Unable to read " + uri, ioe);
+		}
+	}
+}
@@ -19,15 +19,17 @@
  */
 package pcgen.persistence.lst;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.net.URI;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Observable;
 import java.util.Set;
-import java.util.StringTokenizer;
 
 import pcgen.persistence.PersistenceLayerException;
 import pcgen.rules.context.LoadContext;
+import pcgen.util.metrics.Metrics;
 
 /**
  * This class is an extension of the LstFileLoader that loads items
@@ -59,12 +61,22 @@ public abstract class LstLineFileLoader extends Observable
 	 */
 	public void loadLstFile(LoadContext context, URI uri) throws PersistenceLayerException
 	{
-		String dataBuffer = LstFileLoader.readFromURI(uri);
-		if (context != null)
+		try (LstLineReader lines = LstLineReader.open(uri, false))
 		{
-			context.setSourceURI(uri);
+			if (lines == null)
+			{
+				return;
+			}
+			if (context != null)
+			{
+				context.setSourceURI(uri);
+			}
+			loadLstLines(context, uri, lines);
+		}
+		catch (IOException ioe)
+		{
+			LstFileLoader.logReadError(uri, ioe);
 		}
-		loadLstString(context, uri, dataBuffer);
 	}
 
 	/**
@@ -78,12 +90,36 @@ public abstract class LstLineFileLoader extends Observable
 	 */
 	public void loadLstString(LoadContext context, URI uri, final String aString) throws PersistenceLayerException
 	{
-		final String newlinedelim = "\r\n";
-		final StringTokenizer fileLines = new StringTokenizer(aString, newlinedelim);
+		try (LstLineReader lines = new LstLineReader(new StringReader(aString), false))
+		{
+			loadLstLines(context, uri, lines);
+		}
+		catch (IOException ioe)
+		{
+			// Not expected when reading a String
+			throw new PersistenceLayerException("Unable to read " + uri, ioe);
+		}
+	}
 
-		while (fileLines.hasMoreTokens())
+	/**
+	 * This method loads the lines of a single LST formatted file. Loaders
+	 * which need to prepare for, or check the result of, loading a file
+	 * should override this method.
+	 *
+	 * @param context the context
+	 * @param uri String containing the absolute file path
+	 * or the URL from which the LST formatted data was read.
+	 * @param lines The lines of LST formatted data
+	 * @throws PersistenceLayerException the persistence layer exception
+	 * @throws IOException if there was a problem reading the lines
+	 */
+	protected void loadLstLines(LoadContext context, URI uri, LstLineReader lines)
+		throws PersistenceLayerException, IOException
+	{
+		String line;
+		while ((line = lines.readLine()) != null)
 		{
-			String line = fileLines.nextToken().trim();
+			line = line.trim();
 
 			// check for comments and blank lines
 			if ((line.isEmpty()) || (line.charAt(0) == LstFileLoader.LINE_COMMENT_CHAR))
@@ -126,7 +162,9 @@ public abstract class LstLineFileLoader extends Observable
 			// Check if the CSE has already been loaded before loading it
 			if (!loadedFiles.contains(cse))
 			{
+				long start = Metrics.start();
 				loadLstFile(context, cse.getURI());
+				Metrics.stop("load.file.", cse.getURI(), start);
 				loadedFiles.add(cse);
 			}
 		}
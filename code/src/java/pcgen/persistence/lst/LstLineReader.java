@@ -0,0 +1,255 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.persistence.lst;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import pcgen.persistence.PersistenceLayerException;
+
+import org.apache.commons.io.input.BOMInputStream;
+
+/**
+ * An LstLineReader reads the lines of an LST file one at a time, so that the
+ * whole file does not need to be held in memory while it is loaded.
+ *
+ * <p>
+ * Lines are separated as by {@link LstFileLoader#LINE_SEPARATOR_REGEXP}: a
+ * line ends at "\r\n", "\r" or "\n". If multi-line entries are allowed, a line
+ * that starts with a tab and follows a "\n" (or "\r\n") is joined to the
+ * previous line.
+ */
+public final class LstLineReader implements Closeable
+{
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final Reader reader;
+
+	/**
+	 * true if lines starting with a tab should be joined to the previous line.
+	 */
+	private final boolean allowMultiLine;
+
+	private final char[] buffer = new char[BUFFER_SIZE];
+
+	private int position = 0;
+
+	private int limit = 0;
+
+	private final StringBuilder physicalLine = new StringBuilder();
+
+	/**
+	 * true if the last physical line read ended with "\n" or "\r\n".
+	 */
+	private boolean endedWithNewline;
+
+	/**
+	 * A physical line read ahead while looking for a multi-line entry.
+	 */
+	private String pending = null;
+
+	private boolean pendingEndedWithNewline;
+
+	private int lineNumber = 0;
+
+	/**
+	 * Constructs a new LstLineReader for the given Reader.
+	 *
+	 * @param reader
+	 *            The Reader providing the contents of the file
+	 * @param allowMultiLine
+	 *            true if lines that start with a tab are a continuation of the
+	 *            previous line; false otherwise
+	 */
+	public LstLineReader(Reader reader, boolean allowMultiLine)
+	{
+		this.reader = reader;
+		this.allowMultiLine = allowMultiLine;
+	}
+
+	/**
+	 * Constructs a new LstLineReader for the given InputStream of UTF-8
+	 * encoded data, which may start with a byte order mark.
+	 *
+	 * @param inputStream
+	 *            The InputStream providing the contents of the file
+	 * @param allowMultiLine
+	 *            true if lines that start with a tab are a continuation of the
+	 *            previous line; false otherwise
+	 */
+	public LstLineReader(InputStream inputStream, boolean allowMultiLine)
+	{
+		// Java doesn't handle BOM correctly. See http://bugs.sun.com/bugdatabase/view_bug.do?bug_id=4508058
+		this(new InputStreamReader(new BOMInputStream(inputStream), StandardCharsets.UTF_8), allowMultiLine);
+	}
+
+	/**
+	 * Opens an LstLineReader for the given URI. As with
+	 * {@link LstFileLoader#readFromURI(URI)}, a problem opening the file is
+	 * logged and null is returned.
+	 *
+	 * @param uri
+	 *            The URI of the file to be read
+	 * @param allowMultiLine
+	 *            true if lines that start with a tab are a continuation of the
+	 *            previous line; false otherwise
+	 * @return The LstLineReader, or null if the file could not be opened
+	 * @throws PersistenceLayerException
+	 *             if the URI is not valid
+	 */
+	public static LstLineReader open(URI uri, boolean allowMultiLine) throws PersistenceLayerException
+	{
+		try
+		{
+			InputStream inputStream = LstFileLoader.openURI(uri);
+			return (inputStream == null) ? null : new LstLineReader(inputStream, allowMultiLine);
+		}
+		catch (IOException ioe)
+		{
+			LstFileLoader.logReadError(uri, ioe);
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the next line of the file.
+	 *
+	 * @return The next line of the file, or null if there are no more lines
+	 * @throws IOException
+	 *             if there was a problem reading the file
+	 */
+	public String readLine() throws IOException
+	{
+		String line;
+		boolean newline;
+		if (pending == null)
+		{
+			line = readPhysicalLine();
+			if (line == null)
+			{
+				return null;
+			}
+			newline = endedWithNewline;
+		}
+		else
+		{
+			line = pending;
+			newline = pendingEndedWithNewline;
+			pending = null;
+		}
+		if (allowMultiLine)
+		{
+			StringBuilder joined = null;
+			while (newline)
+			{
+				String next = readPhysicalLine();
+				if (next == null)
+				{
+					break;
+				}
+				if (next.isEmpty() || (next.charAt(0) != '\t'))
+				{
+					pending = next;
+					pendingEndedWithNewline = endedWithNewline;
+					break;
+				}
+				if (joined == null)
+				{
+					joined = new StringBuilder(line);
+				}
+				joined.append(next);
+				newline = endedWithNewline;
+			}
+			if (joined != null)
+			{
+				line = joined.toString();
+			}
+		}
+		lineNumber++;
+		return line;
+	}
+
+	/**
+	 * Returns the number of the line last returned by readLine, starting at 1.
+	 *
+	 * @return The number of the line last returned by readLine
+	 */
+	public int getLineNumber()
+	{
+		return lineNumber;
+	}
+
+	private String readPhysicalLine() throws IOException
+	{
+		physicalLine.setLength(0);
+		boolean found = false;
+		while (true)
+		{
+			if ((position >= limit) && !fill())
+			{
+				endedWithNewline = false;
+				return found ? physicalLine.toString() : null;
+			}
+			found = true;
+			int start = position;
+			while (position < limit)
+			{
+				char c = buffer[position];
+				if ((c == '\n') || (c == '\r'))
+				{
+					break;
+				}
+				position++;
+			}
+			physicalLine.append(buffer, start, position - start);
+			if (position < limit)
+			{
+				char c = buffer[position++];
+				endedWithNewline = (c == '\n');
+				if ((c == '\r') && ((position < limit) || fill()) && (buffer[position] == '\n'))
+				{
+					position++;
+					endedWithNewline = true;
+				}
+				return physicalLine.toString();
+			}
+		}
+	}
+
+	private boolean fill() throws IOException
+	{
+		int read = reader.read(buffer, 0, BUFFER_SIZE);
+		while (read == 0)
+		{
+			read = reader.read(buffer, 0, BUFFER_SIZE);
+		}
+		position = 0;
+		limit = Math.max(read, 0);
+		return read > 0;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		reader.close();
+	}
+}
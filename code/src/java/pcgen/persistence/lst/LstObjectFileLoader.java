@@ -38,6 +38,7 @@ import pcgen.rules.context.LoadContext;
 import pcgen.system.LanguageBundle;
 import pcgen.system.PCGenSettings;
 import pcgen.util.Logging;
+import pcgen.util.metrics.Metrics;
 
 /**
  * This class is an extension of the LstFileLoader that loads items
@@ -59,11 +60,26 @@ public abstract class LstObjectFileLoader<T extends CDOMObject> extends Observab
 	private static final String FORGET_SUFFIX = ".FORGET"; //$NON-NLS-1$
 
 	private final Collection<ModEntry> copyLineList = new ArrayList<>();
-	private final Collection<String> forgetLineList = new ArrayList<>();
+	private final Collection<ModEntry> forgetLineList = new ArrayList<>();
 	private final Collection<List<ModEntry>> modEntryList = new ArrayList<>();
 	private boolean processComplete = true;
 	/** A list of objects that will not be included. */
 	private final Collection<String> excludedObjects = new ArrayList<>();
+	/** The background reader for the files currently being loaded, if any. */
+	private LstFilePrefetcher prefetcher = null;
+	/** The record of the versions and objects of each file, if any. */
+	private SourceFileIndex sourceFileIndex = null;
+
+	/**
+	 * Sets the SourceFileIndex in which this loader records the version of
+	 * each file read and the objects each file defines or depends on.
+	 * 
+	 * @param sourceFileIndex The SourceFileIndex, or null to record nothing
+	 */
+	public void setSourceFileIndex(SourceFileIndex sourceFileIndex)
+	{
+		this.sourceFileIndex = sourceFileIndex;
+	}
 
 	/**
 	 * This method loads the given list of LST files.
@@ -76,21 +92,39 @@ public abstract class LstObjectFileLoader<T extends CDOMObject> extends Observab
 		// Track which sources have been loaded already
 		Set<CampaignSourceEntry> loadedFiles = new HashSet<>();
 
-		// Load the files themselves as thoroughly as possible
-		for (CampaignSourceEntry sourceEntry : fileList)
+		boolean allowMultiLine =
+				PCGenSettings.OPTIONS_CONTEXT.initBoolean(PCGenSettings.OPTION_SOURCES_ALLOW_MULTI_LINE, false);
+		try (LstFilePrefetcher filePrefetcher = new LstFilePrefetcher(allowMultiLine, sourceFileIndex))
 		{
-			if (sourceEntry == null)
+			/*
+			 * Read the files in the background; the lines are still parsed
+			 * into the context in source order below.
+			 */
+			filePrefetcher.prefetch(fileList);
+			prefetcher = filePrefetcher;
+
+			// Load the files themselves as thoroughly as possible
+			for (CampaignSourceEntry sourceEntry : fileList)
 			{
-				continue;
-			}
+				if (sourceEntry == null)
+				{
+					continue;
+				}
 
-			// Check if the CSE has already been loaded before loading it
-			if (!loadedFiles.contains(sourceEntry))
-			{
-				loadLstFile(context, sourceEntry);
-				loadedFiles.add(sourceEntry);
+				// Check if the CSE has already been loaded before loading it
+				if (!loadedFiles.contains(sourceEntry))
+				{
+					long start = Metrics.start();
+					loadLstFile(context, sourceEntry);
+					Metrics.stop("load.file.", sourceEntry.getURI(), start);
+					loadedFiles.add(sourceEntry);
+				}
 			}
 		}
+		finally
+		{
+			prefetcher = null;
+		}
 
 		// Next we perform copy operations
 		processCopies(context);
@@ -157,6 +191,10 @@ public abstract class LstObjectFileLoader<T extends CDOMObject> extends Observab
 		if (includeObject(source, pObj))
 		{
 			storeObject(context, pObj);
+			if (sourceFileIndex != null)
+			{
+				sourceFileIndex.recordDefined(source.getURI(), pObj);
+			}
 		}
 		else
 		{
@@ -277,10 +315,10 @@ public abstract class LstObjectFileLoader<T extends CDOMObject> extends Observab
 		setChanged();
 		URI uri = sourceEntry.getURI();
 		notifyObservers(uri);
-		String dataBuffer;
+		String[] fileLines;
 		try
 		{
-			dataBuffer = LstFileLoader.readFromURI(uri);
+			fileLines = readLines(uri);
 		}
 		catch (PersistenceLayerException ple)
 		{
@@ -290,21 +328,13 @@ public abstract class LstObjectFileLoader<T extends CDOMObject> extends Observab
 			setChanged();
 			return;
 		}
-		String aString = Objects.requireNonNull(dataBuffer);
+		Objects.requireNonNull(fileLines);
 		if (context != null)
 		{
 			context.setSourceURI(uri);
 		}
 		T target = null;
 		ArrayList<ModEntry> classModLines = null;
-		boolean allowMultiLine =
-				PCGenSettings.OPTIONS_CONTEXT.initBoolean(PCGenSettings.OPTION_SOURCES_ALLOW_MULTI_LINE, false);
-		if (allowMultiLine)
-		{
-			// Support the new file type. All lines that start with a tab belong to the previous line.
-			aString = aString.replaceAll("\r?\n\t", "\t");
-		}
-		String[] fileLines = aString.split(LstFileLoader.LINE_SEPARATOR_REGEXP);
 		for (int i = 0; i < fileLines.length; i++)
 		{
 			String line = fileLines[i];
@@ -367,7 +397,7 @@ public abstract class LstObjectFileLoader<T extends CDOMObject> extends Observab
 			}
 			else if (firstToken.indexOf(FORGET_SUFFIX) > 0)
 			{
-				forgetLineList.add(line);
+				forgetLineList.add(new ModEntry(sourceEntry, line, i + 1));
 			}
 			else
 			{
@@ -410,6 +440,29 @@ public abstract class LstObjectFileLoader<T extends CDOMObject> extends Observab
 		}
 	}
 
+	/**
+	 * Reads the lines of the given file, using the prefetched contents if the
+	 * file is part of the list currently being loaded.
+	 * 
+	 * @param uri The URI of the file to be read
+	 * @return The lines of the given file, or null if the file could not be read
+	 * @throws PersistenceLayerException if there was a problem reading the file
+	 */
+	private String[] readLines(URI uri) throws PersistenceLayerException
+	{
+		if (prefetcher != null)
+		{
+			return prefetcher.getLines(uri);
+		}
+		boolean allowMultiLine =
+				PCGenSettings.OPTIONS_CONTEXT.initBoolean(PCGenSettings.OPTION_SOURCES_ALLOW_MULTI_LINE, false);
+		if (sourceFileIndex != null)
+		{
+			return sourceFileIndex.getLines(uri, allowMultiLine);
+		}
+		return LstFilePrefetcher.readLines(uri, allowMultiLine);
+	}
+
 	/**
 	 * This method, when implemented, will perform a single .FORGET
 	 * operation.
@@ -494,6 +547,10 @@ public abstract class LstObjectFileLoader<T extends CDOMObject> extends Observab
 			return null;
 		}
 
+		if (sourceFileIndex != null)
+		{
+			sourceFileIndex.recordDependency(source.getURI(), object);
+		}
 		T obj = context.performCopy(object, copyName);
 		if (obj == null)
 		{
@@ -554,6 +611,10 @@ public abstract class LstObjectFileLoader<T extends CDOMObject> extends Observab
 			for (ModEntry element : entryList)
 			{
 				context.setSourceURI(element.source.getURI());
+				if (sourceFileIndex != null)
+				{
+					sourceFileIndex.recordDependency(element.source.getURI(), object);
+				}
 				try
 				{
 					String origPage = object.get(StringKey.SOURCE_PAGE);
@@ -606,9 +667,10 @@ public abstract class LstObjectFileLoader<T extends CDOMObject> extends Observab
 	private void processForgets(LoadContext context)
 	{
 
-		for (String forgetKey : forgetLineList)
+		for (ModEntry forgetEntry : forgetLineList)
 		{
-			forgetKey = forgetKey.substring(0, forgetKey.indexOf(FORGET_SUFFIX));
+			String forgetLine = forgetEntry.getLstLine();
+			String forgetKey = forgetLine.substring(0, forgetLine.indexOf(FORGET_SUFFIX));
 
 			if (excludedObjects.contains(forgetKey))
 			{
@@ -620,6 +682,10 @@ public abstract class LstObjectFileLoader<T extends CDOMObject> extends Observab
 			T objToForget = getObjectKeyed(context, forgetKey);
 			if (objToForget != null)
 			{
+				if (sourceFileIndex != null)
+				{
+					sourceFileIndex.recordDependency(forgetEntry.getSource().getURI(), objToForget);
+				}
 				performForget(context, objToForget);
 			}
 		}
@@ -0,0 +1,265 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.persistence.lst;
+
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import pcgen.cdom.base.CDOMObject;
+import pcgen.persistence.PersistenceLayerException;
+
+/**
+ * A SourceFileIndex records what is known about each LST file from one load
+ * of the data to the next: the version (size and modification time) of the
+ * file that was read, and the objects the file defined (including by .COPY) or
+ * depended on (by .MOD, .COPY or .FORGET).
+ *
+ * <p>
+ * When the data is reloaded, the recorded versions identify the files that
+ * have changed, and the recorded objects identify which files and objects are
+ * affected by those changes.
+ *
+ * <p>
+ * Neither the contents of the files nor the objects themselves are held:
+ * objects are recorded by type and key, so that a SourceFileIndex does not
+ * hold on to the objects (or the LoadContext) of an earlier load. Files may be
+ * read concurrently (by an LstFilePrefetcher); the objects are recorded by the
+ * loaders on the loading thread.
+ */
+public final class SourceFileIndex
+{
+
+	/**
+	 * The records of the files that have been read, by URI.
+	 */
+	private final Map<URI, FileRecord> records = new ConcurrentHashMap<>();
+
+	/**
+	 * Reads the lines of the given file, recording the version of the file
+	 * that was read.
+	 *
+	 * @param uri
+	 *            The URI of the file to be read
+	 * @param allowMultiLine
+	 *            true if lines that start with a tab are a continuation of the
+	 *            previous line; false otherwise
+	 * @return The lines of the given file, or null if the file could not be
+	 *         read
+	 * @throws PersistenceLayerException
+	 *             if there was a problem reading the file
+	 */
+	public String[] getLines(URI uri, boolean allowMultiLine) throws PersistenceLayerException
+	{
+		//Stamp before reading, so a change made during the read is seen next time
+		String stamp = stamp(uri);
+		String[] lines = LstFilePrefetcher.readLines(uri, allowMultiLine);
+		if (lines == null)
+		{
+			records.remove(uri);
+		}
+		else
+		{
+			records.put(uri, new FileRecord(stamp));
+		}
+		return lines;
+	}
+
+	/**
+	 * Records that the given source file defined the given object.
+	 *
+	 * @param source
+	 *            The URI of the source file
+	 * @param obj
+	 *            The object defined by the source file
+	 */
+	public void recordDefined(URI source, CDOMObject obj)
+	{
+		FileRecord record = records.get(source);
+		if (record != null)
+		{
+			record.defined.add(identify(obj));
+		}
+	}
+
+	/**
+	 * Records that the given source file depends on the given object, because
+	 * it modifies, copies or forgets that object.
+	 *
+	 * @param source
+	 *            The URI of the source file
+	 * @param obj
+	 *            The object on which the source file depends
+	 */
+	public void recordDependency(URI source, CDOMObject obj)
+	{
+		FileRecord record = records.get(source);
+		if (record != null)
+		{
+			record.dependencies.add(identify(obj));
+		}
+	}
+
+	/**
+	 * Clears the objects recorded for each file, in preparation for a new load
+	 * of the data. The versions of the files are kept.
+	 */
+	public void clearObjects()
+	{
+		for (FileRecord record : records.values())
+		{
+			record.defined.clear();
+			record.dependencies.clear();
+		}
+	}
+
+	/**
+	 * Returns the files that have been read and have since changed (or can no
+	 * longer be found).
+	 *
+	 * @return The URIs of the changed files
+	 */
+	public Set<URI> getChangedSources()
+	{
+		Set<URI> changed = new TreeSet<>();
+		for (Map.Entry<URI, FileRecord> me : records.entrySet())
+		{
+			if (!me.getValue().stamp.equals(stamp(me.getKey())))
+			{
+				changed.add(me.getKey());
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * Returns the files affected by a change to the given files: the given
+	 * files themselves, and (transitively) each file that depends on an object
+	 * defined by, or that a .MOD was applied by, an affected file.
+	 *
+	 * @param changed
+	 *            The URIs of the changed files
+	 * @return The URIs of the affected files
+	 */
+	public Set<URI> getAffectedSources(Collection<URI> changed)
+	{
+		Set<URI> affected = new LinkedHashSet<>(changed);
+		Deque<URI> toProcess = new ArrayDeque<>(changed);
+		while (!toProcess.isEmpty())
+		{
+			FileRecord changedRecord = records.get(toProcess.pop());
+			if (changedRecord == null)
+			{
+				continue;
+			}
+			for (Map.Entry<URI, FileRecord> me : records.entrySet())
+			{
+				if (!affected.contains(me.getKey()) && (changedRecord.affects(me.getValue())))
+				{
+					affected.add(me.getKey());
+					toProcess.push(me.getKey());
+				}
+			}
+		}
+		return affected;
+	}
+
+	/**
+	 * Returns the objects defined by, or depended on by, the given files. Each
+	 * object is identified by the simple name of its class and its key.
+	 *
+	 * @param sources
+	 *            The URIs of the files
+	 * @return The identities of the objects
+	 */
+	public Set<String> getAffectedObjects(Collection<URI> sources)
+	{
+		Set<String> objects = new TreeSet<>();
+		for (URI source : sources)
+		{
+			FileRecord record = records.get(source);
+			if (record != null)
+			{
+				objects.addAll(record.defined);
+				objects.addAll(record.dependencies);
+			}
+		}
+		return objects;
+	}
+
+	private static String identify(CDOMObject obj)
+	{
+		return obj.getClass().getSimpleName() + ':' + obj.getKeyName();
+	}
+
+	/**
+	 * Identifies the current version of the file at the given URI. Local files
+	 * are identified by size and modification time; other URIs (which are not
+	 * expected to change underneath a running PCGen) by the URI alone.
+	 */
+	private static String stamp(URI uri)
+	{
+		if (!"file".equals(uri.getScheme()))
+		{
+			return uri.toString();
+		}
+		File file = new File(uri);
+		if (!file.isFile())
+		{
+			return "";
+		}
+		return file.length() + "|" + file.lastModified();
+	}
+
+	/**
+	 * The record of a single file.
+	 */
+	private static final class FileRecord
+	{
+		private final String stamp;
+		private final Set<String> defined = ConcurrentHashMap.newKeySet();
+		private final Set<String> dependencies = ConcurrentHashMap.newKeySet();
+
+		private FileRecord(String stamp)
+		{
+			this.stamp = stamp;
+		}
+
+		/**
+		 * Returns true if a change to the file of this FileRecord affects the
+		 * file of the given FileRecord, because the other file depends on an
+		 * object this file defines or depends on.
+		 */
+		private boolean affects(FileRecord other)
+		{
+			for (String identity : other.dependencies)
+			{
+				if (defined.contains(identity) || dependencies.contains(identity))
+				{
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
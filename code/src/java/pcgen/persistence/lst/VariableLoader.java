@@ -33,6 +33,7 @@ import pcgen.persistence.SystemLoader;
 import pcgen.rules.context.LoadContext;
 import pcgen.system.LanguageBundle;
 import pcgen.util.Logging;
+import pcgen.util.metrics.Metrics;
 
 public class VariableLoader extends Observable
 {
@@ -81,7 +82,9 @@ public class VariableLoader extends Observable
 			// Check if the CSE has already been loaded before loading it
 			if (!loadedFiles.contains(sourceEntry))
 			{
+				long start = Metrics.start();
 				loadLstFile(context, sourceEntry);
+				Metrics.stop("load.file.", sourceEntry.getURI(), start);
 				loadedFiles.add(sourceEntry);
 			}
 		}
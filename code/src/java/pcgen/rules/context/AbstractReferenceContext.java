@@ -24,9 +24,16 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Predicate;
+import java.util.logging.LogRecord;
 
 import pcgen.base.format.dice.DiceFormat;
 import pcgen.base.formatmanager.ArrayFormatFactory;
@@ -92,6 +99,14 @@ public abstract class AbstractReferenceContext
 	private static final Class<DomainSpellList> DOMAINSPELLLIST_CLASS = DomainSpellList.class;
 	private static final Class<ClassSkillList> CLASSSKILLLIST_CLASS = ClassSkillList.class;
 	private static final Class<ClassSpellList> CLASSSPELLLIST_CLASS = ClassSpellList.class;
+
+	/**
+	 * The pool on which the ReferenceManufacturers are validated and resolved.
+	 * This is kept apart from the common pool (and limited to a few threads), so
+	 * the load neither competes with nor waits for other users of the common pool.
+	 */
+	private static final ForkJoinPool MANUFACTURER_POOL =
+			new ForkJoinPool(Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())));
 	private static final Class<DataTable> DATA_TABLE_CLASS = DataTable.class;
 	private static final Class<TableColumn> TABLE_COLUMN_CLASS = TableColumn.class;
 
@@ -103,6 +118,12 @@ public abstract class AbstractReferenceContext
 
 	private final SimpleFormatManagerLibrary fmtLibrary = new SimpleFormatManagerLibrary();
 
+	/**
+	 * The number of times objects have been constructed, imported, renamed or
+	 * forgotten through this context.
+	 */
+	private int modificationCount = 0;
+
 	public void initialize()
 	{
 		FormatUtilities.loadDefaultFormats(fmtLibrary);
@@ -141,16 +162,119 @@ public abstract class AbstractReferenceContext
 	 */
 	public abstract Collection<? extends ReferenceManufacturer<?>> getAllManufacturers();
 
+	/**
+	 * Validates the ReferenceManufacturers of this AbstractReferenceContext. Each
+	 * ReferenceManufacturer is validated independently of the others, so they are
+	 * validated concurrently.
+	 * 
+	 * @param validator
+	 *            The UnconstructedValidator indicating the duplicate objects that
+	 *            are permitted
+	 * @return true if all of the ReferenceManufacturers are valid; false otherwise
+	 */
 	public boolean validate(UnconstructedValidator validator)
 	{
-		boolean returnGood = true;
+		List<List<ReferenceManufacturer<?>>> groups = new ArrayList<>();
 		for (ReferenceManufacturer<?> ref : getAllManufacturers())
 		{
-			returnGood &= ref.validate(validator);
+			groups.add(Collections.singletonList(ref));
+		}
+		return processConcurrently(groups, ref -> ref.validate(validator));
+	}
+
+	/**
+	 * Processes the given groups of ReferenceManufacturers on the
+	 * MANUFACTURER_POOL. The groups are processed concurrently; the
+	 * ReferenceManufacturers within a group are processed in order, on the same
+	 * thread. Every ReferenceManufacturer is processed, even once one has failed.
+	 * 
+	 * The messages logged while processing each ReferenceManufacturer are held
+	 * until all of the groups have been processed, and then logged in the order
+	 * of getAllManufacturers(), so the log does not depend on the scheduling of
+	 * the threads.
+	 * 
+	 * @param groups
+	 *            The groups of ReferenceManufacturers to be processed
+	 * @param process
+	 *            The processing of a single ReferenceManufacturer, which returns
+	 *            true if it was successful
+	 * @return true if the processing of every ReferenceManufacturer was
+	 *         successful; false otherwise
+	 */
+	private boolean processConcurrently(Collection<List<ReferenceManufacturer<?>>> groups,
+		Predicate<ReferenceManufacturer<?>> process)
+	{
+		//Built before the tasks are submitted, so the workers only read it
+		Map<ReferenceManufacturer<?>, List<LogRecord>> messages = new IdentityHashMap<>();
+		for (List<ReferenceManufacturer<?>> group : groups)
+		{
+			for (ReferenceManufacturer<?> rm : group)
+			{
+				messages.put(rm, new ArrayList<>());
+			}
+		}
+		List<ForkJoinTask<Boolean>> tasks = new ArrayList<>(groups.size());
+		for (List<ReferenceManufacturer<?>> group : groups)
+		{
+			tasks.add(MANUFACTURER_POOL.submit(() -> {
+				boolean returnGood = true;
+				for (ReferenceManufacturer<?> rm : group)
+				{
+					Logging.holdMessages(messages.get(rm));
+					try
+					{
+						returnGood &= process.test(rm);
+					}
+					finally
+					{
+						Logging.releaseMessages();
+					}
+				}
+				return returnGood;
+			}));
+		}
+		boolean returnGood = true;
+		RuntimeException failure = null;
+		for (ForkJoinTask<Boolean> task : tasks)
+		{
+			try
+			{
+				returnGood &= task.join();
+			}
+			catch (RuntimeException e)
+			{
+				if (failure == null)
+				{
+					failure = e;
+				}
+			}
+		}
+		for (ReferenceManufacturer<?> rm : getAllManufacturers())
+		{
+			logHeldMessages(messages, rm);
+		}
+		//Any no longer listed by getAllManufacturers() follow in group order
+		for (List<ReferenceManufacturer<?>> group : groups)
+		{
+			group.forEach(rm -> logHeldMessages(messages, rm));
+		}
+		if (failure != null)
+		{
+			throw failure;
 		}
 		return returnGood;
 	}
 
+	private static void logHeldMessages(Map<ReferenceManufacturer<?>, List<LogRecord>> messages,
+		ReferenceManufacturer<?> rm)
+	{
+		List<LogRecord> held = messages.remove(rm);
+		if (held != null)
+		{
+			Logging.logHeldMessages(held);
+		}
+	}
+
 	public <T extends Loadable> CDOMGroupRef<T> getCDOMAllReference(Class<T> c)
 	{
 		return getManufacturer(c).getAllReference();
@@ -173,6 +297,7 @@ public abstract class AbstractReferenceContext
 			obj = getManufacturer(c).constructObject(val);
 		}
 		obj.setSourceURI(sourceURI);
+		modificationCount++;
 		return obj;
 	}
 
@@ -191,6 +316,7 @@ public abstract class AbstractReferenceContext
 		@SuppressWarnings("unchecked")
 		ClassIdentity<T> identity = (ClassIdentity<T>) obj.getClassIdentity();
 		getManufacturerId(identity).renameObject(key, obj);
+		modificationCount++;
 	}
 
 	public <T extends Loadable> T get(Class<T> c, String val)
@@ -224,6 +350,7 @@ public abstract class AbstractReferenceContext
 		ClassIdentity<T> identity = (ClassIdentity<T>) orig.getClassIdentity();
 		ReferenceManufacturer<T> mfg = getManufacturerId(identity);
 		mfg.addObject(orig, orig.getKeyName());
+		modificationCount++;
 	}
 
 	public <T extends Loadable> boolean forget(T obj)
@@ -232,11 +359,25 @@ public abstract class AbstractReferenceContext
 		ClassIdentity<T> identity = (ClassIdentity<T>) obj.getClassIdentity();
 		if (hasManufacturer(identity))
 		{
+			modificationCount++;
 			return getManufacturerId(identity).forgetObject(obj);
 		}
 		return false;
 	}
 
+	/**
+	 * Returns the number of times objects have been constructed, imported,
+	 * renamed or forgotten through this context. Loading a character can add
+	 * objects (such as custom equipment) to the context, so a change in this
+	 * count shows that the context no longer holds only the loaded data.
+	 * 
+	 * @return The number of changes made to the objects of this context
+	 */
+	public int getModificationCount()
+	{
+		return modificationCount;
+	}
+
 	public <T extends Loadable> Collection<T> getConstructedCDOMObjects(Class<T> c)
 	{
 		// if (CategorizedCDOMObject.class.isAssignableFrom(c))
@@ -386,22 +527,82 @@ public abstract class AbstractReferenceContext
 		this.sourceURI = sourceURI;
 	}
 
+	/**
+	 * Resolves the references of the ReferenceManufacturers of this
+	 * AbstractReferenceContext.
+	 * 
+	 * The ReferenceManufacturers of Categorized objects depend on their categories
+	 * (and are populated from the ReferenceManufacturer of the parent category), so
+	 * they are resolved once the others have been resolved. Otherwise the
+	 * ReferenceManufacturers are resolved concurrently, except that those sharing a
+	 * parent are resolved in order, on the same thread.
+	 * 
+	 * @param validator
+	 *            The UnconstructedValidator indicating the references that may be
+	 *            unconstructed
+	 * @return true if all of the references were resolved; false otherwise
+	 */
 	public boolean resolveReferences(UnconstructedValidator validator)
 	{
-		boolean returnGood = true;
+		List<List<ReferenceManufacturer<?>>> independent = new ArrayList<>();
+		List<ReferenceManufacturer<?>> categorized = new ArrayList<>();
+		Map<ReferenceManufacturer<?>, ReferenceManufacturer<?>> parents = new IdentityHashMap<>();
 		for (ReferenceManufacturer<?> rs : getAllManufacturers())
 		{
-			returnGood &= processResolution(validator, rs);
+			if (CATEGORIZED_CLASS.isAssignableFrom(rs.getReferenceClass()))
+			{
+				categorized.add(rs);
+			}
+			else
+			{
+				independent.add(Collections.singletonList(rs));
+				addParent(parents, rs);
+			}
+		}
+		boolean returnGood = processConcurrently(independent, rs -> processResolution(validator, rs, parents));
+
+		/*
+		 * The parents are found here, as the parent of a category is only known once
+		 * the categories are resolved, and finding a parent may construct its
+		 * ReferenceManufacturer.
+		 */
+		Map<ManufacturableFactory<?>, List<ReferenceManufacturer<?>>> families = new LinkedHashMap<>();
+		for (ReferenceManufacturer<?> rs : categorized)
+		{
+			families.computeIfAbsent(getRootFactory(rs.getFactory()), f -> new ArrayList<>()).add(rs);
+			addParent(parents, rs);
 		}
+		returnGood &= processConcurrently(families.values(), rs -> processResolution(validator, rs, parents));
 		return returnGood;
 	}
 
+	private void addParent(Map<ReferenceManufacturer<?>, ReferenceManufacturer<?>> parents,
+		ReferenceManufacturer<?> rs)
+	{
+		ManufacturableFactory<?> parent = rs.getFactory().getParent();
+		if (parent != null)
+		{
+			parents.put(rs, getManufacturerFac(parent));
+		}
+	}
+
+	private static ManufacturableFactory<?> getRootFactory(ManufacturableFactory<?> factory)
+	{
+		Set<ManufacturableFactory<?>> seen = new HashSet<>();
+		ManufacturableFactory<?> root = factory;
+		while ((root.getParent() != null) && seen.add(root))
+		{
+			root = root.getParent();
+		}
+		return root;
+	}
+
+	@SuppressWarnings("unchecked")
 	private <T extends Loadable> boolean processResolution(UnconstructedValidator validator,
-		ReferenceManufacturer<T> rs)
+		ReferenceManufacturer<T> rs, Map<ReferenceManufacturer<?>, ReferenceManufacturer<?>> parents)
 	{
 		ManufacturableFactory<T> factory = rs.getFactory();
-		ManufacturableFactory<T> parent = factory.getParent();
-		ReferenceManufacturer<T> manufacturer = (parent == null) ? null : getManufacturerFac(parent);
+		ReferenceManufacturer<T> manufacturer = (ReferenceManufacturer<T>) parents.get(rs);
 		return factory.populate(manufacturer, rs, validator) && rs.resolveReferences(validator);
 	}
 
@@ -409,13 +610,25 @@ public abstract class AbstractReferenceContext
 	{
 		for (ReferenceManufacturer<?> rs : getAllManufacturers())
 		{
+			int count = rs.getConstructedObjectCount();
 			rs.buildDeferredObjects();
+			if (rs.getConstructedObjectCount() != count)
+			{
+				modificationCount++;
+			}
 		}
 	}
 
 	public <T extends Loadable> T constructNowIfNecessary(Class<T> cl, String name)
 	{
-		return getManufacturer(cl).constructNowIfNecessary(name);
+		ReferenceManufacturer<T> mfg = getManufacturer(cl);
+		int count = mfg.getConstructedObjectCount();
+		T obj = mfg.constructNowIfNecessary(name);
+		if (mfg.getConstructedObjectCount() != count)
+		{
+			modificationCount++;
+		}
+		return obj;
 	}
 
 	public <T extends Loadable> int getConstructedObjectCount(Class<T> c)
@@ -40,11 +40,7 @@ public class LoadValidator implements UnconstructedValidator
 	@Override
 	public <T> boolean allowUnconstructed(ClassIdentity<T> cl, String s)
 	{
-		if (simpleMap == null)
-		{
-			buildSimpleMap();
-		}
-		List<String> list = simpleMap.getListFor(cl.getPersistentFormat());
+		List<String> list = getSimpleMap().getListFor(cl.getPersistentFormat());
 		if (list != null)
 		{
 			for (String key : list)
@@ -58,17 +54,24 @@ public class LoadValidator implements UnconstructedValidator
 		return false;
 	}
 
-	private void buildSimpleMap()
+	/*
+	 * Synchronized as references are resolved concurrently.
+	 */
+	private synchronized HashMapToList<String, String> getSimpleMap()
 	{
-		simpleMap = new HashMapToList<>();
-		for (Campaign c : campaignList)
+		if (simpleMap == null)
 		{
-			for (Qualifier q : c.getSafeListFor(ListKey.FORWARDREF))
+			simpleMap = new HashMapToList<>();
+			for (Campaign c : campaignList)
 			{
-				simpleMap.addToListFor(q.getQualifiedReference().getPersistentFormat(),
-					q.getQualifiedReference().getLSTformat(false));
+				for (Qualifier q : c.getSafeListFor(ListKey.FORWARDREF))
+				{
+					simpleMap.addToListFor(q.getQualifiedReference().getPersistentFormat(),
+						q.getQualifiedReference().getLSTformat(false));
+				}
 			}
 		}
+		return simpleMap;
 	}
 
 	@Override
@@ -78,8 +78,12 @@ public final class TrackingReferenceContext extends RuntimeReferenceContext impl
 		return new TrackingManufacturer<>(this, mfg);
 	}
 
+	/*
+	 * Synchronized as references (and so unconstructed references) are resolved
+	 * concurrently.
+	 */
 	@Override
-	public void unconstructedReferenceFound(UnconstructedEvent e)
+	public synchronized void unconstructedReferenceFound(UnconstructedEvent e)
 	{
 		CDOMReference<?> ref = e.getReference();
 		Set<URI> uris = track.getSecondaryKeySet(ref);
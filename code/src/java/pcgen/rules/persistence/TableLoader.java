@@ -17,6 +17,7 @@
  */
 package pcgen.rules.persistence;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
@@ -28,6 +29,7 @@ import pcgen.cdom.format.table.DataTable;
 import pcgen.cdom.format.table.TableColumn;
 import pcgen.persistence.PersistenceLayerException;
 import pcgen.persistence.lst.LstLineFileLoader;
+import pcgen.persistence.lst.LstLineReader;
 import pcgen.rules.context.LoadContext;
 
 /**
@@ -52,11 +54,12 @@ public class TableLoader extends LstLineFileLoader
 	private LineProcessor processor = new ExpectStartTable();
 
 	@Override
-	public void loadLstString(LoadContext context, URI uri, String aString) throws PersistenceLayerException
+	protected void loadLstLines(LoadContext context, URI uri, LstLineReader lines)
+		throws PersistenceLayerException, IOException
 	{
 		//Reset to ensure prior file corruption doesn't leak into a new file
 		processor = new ExpectStartTable();
-		super.loadLstString(context, uri, aString);
+		super.loadLstLines(context, uri, lines);
 		if (!(processor instanceof ExpectStartTable))
 		{
 			throw new PersistenceLayerException("Did not find last ENDTABLE: entry in " + uri);
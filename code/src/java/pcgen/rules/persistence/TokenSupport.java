@@ -49,6 +49,7 @@ import pcgen.rules.persistence.util.TokenFamily;
 import pcgen.rules.persistence.util.TokenFamilyIterator;
 import pcgen.rules.persistence.util.TokenFamilySubIterator;
 import pcgen.util.Logging;
+import pcgen.util.metrics.Metrics;
 
 public class TokenSupport
 {
@@ -74,6 +75,20 @@ public class TokenSupport
 	 * @return true if the parsing was successful; false otherwise
 	 */
 	public <T extends Loadable> boolean processToken(LoadContext context, T target, String tokenName, String tokenValue)
+	{
+		long start = Metrics.start();
+		try
+		{
+			return processTokenTypes(context, target, tokenName, tokenValue);
+		}
+		finally
+		{
+			Metrics.stop("parse.token.", tokenName, start);
+		}
+	}
+
+	private <T extends Loadable> boolean processTokenTypes(LoadContext context, T target, String tokenName,
+		String tokenValue)
 	{
 		//Interface tokens override everything else... even if NOT VALID!
 		CDOMInterfaceToken<?, ?> interfaceToken = TokenLibrary.getInterfaceToken(tokenName);
@@ -0,0 +1,136 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.system;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import pcgen.util.Logging;
+
+/**
+ * The Class {@code BatchExportService} exports a queue of characters using a
+ * single BatchExporter, so that the data is loaded once for all characters
+ * that use the same sources.
+ * <p>
+ * Loading a character and building its sheet use the global data and
+ * settings, so they are performed one character at a time on a single thread.
+ * Rendering the built sheets (which for PDF output is the bulk of the work)
+ * and writing the output files are performed concurrently on a bounded pool
+ * of worker threads. When all workers are busy and the queue of rendering
+ * work is full, the next sheet is rendered on the loading thread, so the
+ * number of built sheets held in memory stays bounded.
+ */
+final class BatchExportService implements AutoCloseable
+{
+
+	private static final ThreadFactory LOAD_THREAD_FACTORY = r -> {
+		Thread thread = new Thread(r);
+		thread.setDaemon(true);
+		thread.setName("batch-export-load-thread");
+		return thread;
+	};
+
+	private static final ThreadFactory RENDER_THREAD_FACTORY = r -> {
+		Thread thread = new Thread(r);
+		thread.setDaemon(true);
+		thread.setName("batch-export-render-thread");
+		return thread;
+	};
+
+	private final BatchExporter exporter;
+	private final ExecutorService loadExecutor = Executors.newSingleThreadExecutor(LOAD_THREAD_FACTORY);
+	private final ExecutorService renderExecutor;
+	private final List<CompletableFuture<Boolean>> results = new ArrayList<>();
+
+	/**
+	 * Create a new BatchExportService.
+	 *
+	 * @param exporter The BatchExporter, for the export template to be used,
+	 *                 which will export each character.
+	 * @param renderThreads The number of threads used to render and write
+	 *                      the sheets.
+	 */
+	BatchExportService(BatchExporter exporter, int renderThreads)
+	{
+		this.exporter = exporter;
+		renderExecutor = new ThreadPoolExecutor(renderThreads, renderThreads, 0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(renderThreads), RENDER_THREAD_FACTORY, new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+	/**
+	 * Queue the export of a character sheet for the character to the output
+	 * file. If the output file is null then a default file will be used based
+	 * on the character file name and the type of export template in use.
+	 *
+	 * @param characterFilename The path to the character PCG file.
+	 * @param outputFile The path to the output file to be created. May be null.
+	 * @return The future result of the export: true if the export was
+	 *         successful, false if it failed in some way.
+	 */
+	synchronized CompletableFuture<Boolean> submit(String characterFilename, String outputFile)
+	{
+		CompletableFuture<Boolean> result = CompletableFuture
+			.supplyAsync(() -> exporter.prepareCharacterExport(characterFilename, outputFile), loadExecutor)
+			.thenApplyAsync(BatchExportService::write, renderExecutor)
+			.exceptionally(e -> {
+				Logging.errorPrint("Export of " + characterFilename + " failed", e);
+				return false;
+			});
+		results.add(result);
+		return result;
+	}
+
+	private static boolean write(Callable<Boolean> task)
+	{
+		return (task != null) && BatchExporter.writeSheet(task);
+	}
+
+	/**
+	 * Wait for all queued exports to complete.
+	 *
+	 * @return true if all exports were successful, false if any failed.
+	 */
+	synchronized boolean awaitCompletion()
+	{
+		boolean success = true;
+		for (CompletableFuture<Boolean> result : results)
+		{
+			success &= result.join();
+		}
+		results.clear();
+		return success;
+	}
+
+	/**
+	 * Wait for all queued exports to complete and release the threads used
+	 * by this BatchExportService.
+	 */
+	@Override
+	public void close()
+	{
+		awaitCompletion();
+		loadExecutor.shutdown();
+		renderExecutor.shutdown();
+	}
+}
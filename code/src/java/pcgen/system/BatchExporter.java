@@ -26,11 +26,11 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.Callable;
 
 import pcgen.cdom.base.Constants;
 import pcgen.core.SettingsHandler;
@@ -50,7 +50,6 @@ import pcgen.util.Logging;
 import pcgen.util.fop.FopTask;
 
 import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.output.TeeOutputStream;
 import org.apache.commons.lang3.StringUtils;
 
 /**
@@ -102,12 +101,54 @@ public class BatchExporter
 	 * @return true if the export was successful, false if it failed in some way.
 	 */
 	boolean exportCharacter(String characterFilename, String outputFile)
+	{
+		Callable<Boolean> export = prepareCharacterExport(characterFilename, outputFile);
+		return (export != null) && writeSheet(export);
+	}
+
+	/**
+	 * Load a character, and the data it requires, for export.
+	 *
+	 * @param file The character PCG file.
+	 * @return The loaded character, or null if it could not be loaded.
+	 */
+	private CharacterFacade loadCharacter(File file)
+	{
+		// Load data
+		SourceSelectionFacade sourcesForCharacter = CharacterManager.getRequiredSourcesForCharacter(file, uiDelegate);
+		Logging.log(Logging.INFO, "Loading sources " + sourcesForCharacter.getCampaigns() + " using game mode "
+			+ sourcesForCharacter.getGameMode());
+		SourceFileLoader loader = new SourceFileLoader(uiDelegate, sourcesForCharacter.getCampaigns(), sourcesForCharacter.getGameMode().get().getName());
+		loader.setReuseLoadedData(true);
+		loader.run();
+
+		// Load character
+		return CharacterManager.openCharacter(file, uiDelegate, loader.getDataSetFacade());
+	}
+
+	/**
+	 * Prepare the export of a character sheet for the character to the output 
+	 * file using the pre-registered template. The character (and the data it 
+	 * requires) is loaded and its sheet is built in memory; the character is 
+	 * then closed. The returned task writes the sheet to the output file, 
+	 * rendering it to PDF if required.
+	 * <p>
+	 * Preparing an export uses the global data and settings, so it must not be 
+	 * called concurrently. The returned tasks only use the built sheet, so they 
+	 * may be run concurrently with each other and with later preparations.
+	 * 
+	 * @param characterFilename The path to the character PCG file.
+	 * @param outputFile The path to the output file to be created. May be null.
+	 * @return The task that writes the output file and returns true if it 
+	 *         was successful, or null if the character could not be exported.
+	 */
+	Callable<Boolean> prepareCharacterExport(String characterFilename, String outputFile)
 	{
 		File file = new File(characterFilename);
 		if (!PCGFile.isPCGenCharacterFile(file))
 		{
 			Logging.errorPrint("Invalid character file specified: " + file.getAbsolutePath());
-			return false;
+			return null;
 		}
 		String outFilename = outputFile;
 		if (outFilename == null)
@@ -117,30 +158,163 @@ public class BatchExporter
 		Logging.log(Logging.INFO,
 			"Started export of " + file.getAbsolutePath() + " using " + exportTemplateFilename + " to " + outFilename);
 
-		// Load data
-		SourceSelectionFacade sourcesForCharacter = CharacterManager.getRequiredSourcesForCharacter(file, uiDelegate);
-		Logging.log(Logging.INFO, "Loading sources " + sourcesForCharacter.getCampaigns() + " using game mode "
-			+ sourcesForCharacter.getGameMode());
-		SourceFileLoader loader = new SourceFileLoader(uiDelegate, sourcesForCharacter.getCampaigns(), sourcesForCharacter.getGameMode().get().getName());
-		loader.run();
-
-		// Load character
-		CharacterFacade character = CharacterManager.openCharacter(file, uiDelegate, loader.getDataSetFacade());
+		CharacterFacade character = loadCharacter(file);
 		if (character == null)
 		{
+			return null;
+		}
+
+		try
+		{
+			return prepareExport(character, new File(outFilename), new File(exportTemplateFilename), isPdf);
+		}
+		catch (final IOException | ExportException e)
+		{
+			Logging.errorPrint("BatchExporter.prepareCharacterExport failed", e); //$NON-NLS-1$
+			return null;
+		}
+		finally
+		{
+			CharacterManager.removeCharacter(character);
+		}
+	}
+
+	/**
+	 * Build a character sheet for the character in memory, according to the 
+	 * template file. The returned task writes the sheet to the output file, 
+	 * rendering it to PDF if required. The task only uses the built sheet, so 
+	 * it may be run once the character has been changed or closed.
+	 * 
+	 * @param character The already loaded character to be output.
+	 * @param outFile The file to which the character sheet is to be written. 
+	 * @param templateFile The file that has the export template definition.  
+	 * @param isPdf true if the sheet is to be rendered to PDF.
+	 * @return The task that writes the output file and returns true if it 
+	 *         was successful.
+	 * @throws IOException if the sheet could not be built.
+	 * @throws ExportException if the sheet could not be built.
+	 */
+	private static Callable<Boolean> prepareExport(CharacterFacade character, File outFile, File templateFile,
+		boolean isPdf) throws IOException, ExportException
+	{
+		try (ByteArrayOutputStream sheet = new ByteArrayOutputStream())
+		{
+			if (isPdf)
+			{
+				boolean isTransformTemplate = isTransformTemplate(templateFile);
+				if (isTransformTemplate)
+				{
+					exportCharacter(character, sheet);
+				}
+				else
+				{
+					exportCharacter(character, templateFile, sheet);
+				}
+				character.setDefaultOutputSheet(true, templateFile);
+				byte[] foSheet = sheet.toByteArray();
+				writeIntermediateSheet(foSheet, outFile, isTransformTemplate);
+				File xsltFile = isTransformTemplate ? templateFile : null;
+				return () -> renderPDF(foSheet, xsltFile, outFile);
+			}
+			exportCharacter(character, templateFile, sheet);
+			character.setDefaultOutputSheet(false, templateFile);
+			byte[] outputSheet = sheet.toByteArray();
+			return () -> writeFile(outputSheet, outFile);
+		}
+	}
+
+	/**
+	 * Identify if the template is an XSLT transform of the character's XML, 
+	 * rather than a template producing an FO sheet.
+	 * 
+	 * @param templateFile The file that has the export template definition.  
+	 * @return true if the template is an XSLT transform.
+	 */
+	private static boolean isTransformTemplate(File templateFile)
+	{
+		String templateExtension = FilenameUtils.getExtension(templateFile.getName());
+		return "xslt".equalsIgnoreCase(templateExtension) || "xsl".equalsIgnoreCase(templateExtension);
+	}
+
+	/**
+	 * Write the sheet a PDF is rendered from next to the PDF, if the user has 
+	 * asked for it to be kept.
+	 * 
+	 * @param sheet The FO (or XML, for a transform template) sheet.
+	 * @param outFile The file to which the PDF is to be written.
+	 * @param isTransformTemplate true if the sheet is XML for a transform template.
+	 * @throws IOException if the file could not be written.
+	 */
+	private static void writeIntermediateSheet(byte[] sheet, File outFile, boolean isTransformTemplate)
+		throws IOException
+	{
+		if (PCGenSettings.OPTIONS_CONTEXT.initBoolean(PCGenSettings.OPTION_GENERATE_TEMP_FILE_WITH_PDF, false))
+		{
+			String outFileName = FilenameUtils.removeExtension(outFile.getAbsolutePath());
+			File tempFile = new File(outFileName + (isTransformTemplate ? ".xml" : ".fo"));
+			Files.write(tempFile.toPath(), sheet);
+		}
+	}
+
+	/**
+	 * Run a task, built by prepareExport, which writes a character sheet.
+	 *
+	 * @param export The task writing the character sheet.
+	 * @return true if the sheet was written, false if it failed in some way.
+	 */
+	static boolean writeSheet(Callable<Boolean> export)
+	{
+		try
+		{
+			return export.call();
+		}
+		catch (final Exception e)
+		{
+			Logging.errorPrint("BatchExporter.writeSheet failed", e); //$NON-NLS-1$
 			return false;
 		}
+	}
 
-		// Export character
-		File templateFile = new File(exportTemplateFilename);
-		File outFile = new File(outFilename);
-		if (isPdf)
+	/**
+	 * Render a PDF from an already built sheet.
+	 *
+	 * @param sheet The FO (or XML, if an xsltFile is provided) sheet.
+	 * @param xsltFile The transform template file, or null if the sheet is FO.
+	 * @param outFile The file to which the PDF is to be written.
+	 * @return true if the PDF was written, false if it failed in some way.
+	 */
+	private static boolean renderPDF(byte[] sheet, File xsltFile, File outFile)
+	{
+		try (OutputStream fileStream = new BufferedOutputStream(new FileOutputStream(outFile)))
 		{
-			return exportCharacterToPDF(character, outFile, templateFile);
+			FopTask task = FopTask.newFopTask(new ByteArrayInputStream(sheet), xsltFile, fileStream);
+			task.run();
+			if (StringUtils.isNotBlank(task.getErrorMessages()))
+			{
+				Logging.errorPrint("BatchExporter.renderPDF failed: " //$NON-NLS-1$
+					+ task.getErrorMessages());
+				return false;
+			}
+			return true;
 		}
-		else
+		catch (final IOException e)
 		{
-			return exportCharacterToNonPDF(character, outFile, templateFile);
+			Logging.errorPrint("BatchExporter.renderPDF failed", e); //$NON-NLS-1$
+			return false;
+		}
+	}
+
+	private static boolean writeFile(byte[] contents, File outFile)
+	{
+		try
+		{
+			Files.write(outFile.toPath(), contents);
+			return true;
+		}
+		catch (final IOException e)
+		{
+			Logging.errorPrint("Unable to create output file " + outFile.getAbsolutePath(), e);
+			return false;
 		}
 	}
 
@@ -176,6 +350,7 @@ public class BatchExporter
 		// Load data
 		SourceSelectionFacade sourcesForCharacter = CharacterManager.getRequiredSourcesForParty(file, uiDelegate);
 		SourceFileLoader loader = new SourceFileLoader(uiDelegate, sourcesForCharacter.getCampaigns(), sourcesForCharacter.getGameMode().get().getName());
+		loader.setReuseLoadedData(true);
 		loader.run();
 
 		// Load party
@@ -206,50 +381,15 @@ public class BatchExporter
 	 */
 	public static boolean exportCharacterToPDF(CharacterFacade character, File outFile, File templateFile)
 	{
-
-		String templateExtension = FilenameUtils.getExtension(templateFile.getName());
-
-		boolean isTransformTemplate =
-				"xslt".equalsIgnoreCase(templateExtension) || "xsl".equalsIgnoreCase(templateExtension);
-
-		boolean useTempFile =
-				PCGenSettings.OPTIONS_CONTEXT.initBoolean(PCGenSettings.OPTION_GENERATE_TEMP_FILE_WITH_PDF, false);
-		String outFileName = FilenameUtils.removeExtension(outFile.getAbsolutePath());
-		File tempFile = new File(outFileName + (isTransformTemplate ? ".xml" : ".fo"));
-		try (OutputStream fileStream = new BufferedOutputStream(new FileOutputStream(outFile));
-		     ByteArrayOutputStream byteOutputStream = new ByteArrayOutputStream();
-		     OutputStream exportOutput = useTempFile
-					//Output to both the byte stream and to the temp file.
-					? new TeeOutputStream(byteOutputStream, new FileOutputStream(tempFile)) : byteOutputStream)
+		try
 		{
-			FopTask task;
-			if (isTransformTemplate)
-			{
-				exportCharacter(character, exportOutput);
-				InputStream inputStream = new ByteArrayInputStream(byteOutputStream.toByteArray());
-				task = FopTask.newFopTask(inputStream, templateFile, fileStream);
-			}
-			else
-			{
-				exportCharacter(character, templateFile, exportOutput);
-				InputStream inputStream = new ByteArrayInputStream(byteOutputStream.toByteArray());
-				task = FopTask.newFopTask(inputStream, null, fileStream);
-			}
-			character.setDefaultOutputSheet(true, templateFile);
-			task.run();
-			if (StringUtils.isNotBlank(task.getErrorMessages()))
-			{
-				Logging.errorPrint("BatchExporter.exportCharacterToPDF failed: " //$NON-NLS-1$
-					+ task.getErrorMessages());
-				return false;
-			}
+			return writeSheet(prepareExport(character, outFile, templateFile, true));
 		}
 		catch (final IOException | ExportException e)
 		{
 			Logging.errorPrint("BatchExporter.exportCharacterToPDF failed", e); //$NON-NLS-1$
 			return false;
 		}
-		return true;
 	}
 
 	/**
@@ -264,20 +404,16 @@ public class BatchExporter
 	 */
 	public static boolean exportCharacterToNonPDF(CharacterFacade character, File outFile, File templateFile)
 	{
-		try (BufferedWriter bw = new BufferedWriter(
-				new OutputStreamWriter(
-						new FileOutputStream(outFile),
-					StandardCharsets.UTF_8)
-		))
+		try
 		{
-			character.export(ExportHandler.createExportHandler(templateFile), bw);
-			character.setDefaultOutputSheet(false, templateFile);
-			return true;
-		} catch (final IOException e)
+			return writeSheet(prepareExport(character, outFile, templateFile, false));
+		}
+		catch (final IOException e)
 		{
 			Logging.errorPrint("Unable to create output file " + outFile.getAbsolutePath(), e);
 			return false;
-		} catch (final ExportException e)
+		}
+		catch (final ExportException e)
 		{
 			// Error will already be reported to the log
 			return false;
@@ -322,44 +458,27 @@ public class BatchExporter
 	 */
 	public static boolean exportPartyToPDF(PartyFacade party, File outFile, File templateFile)
 	{
-		// We want the non pdf extension here for the intermediate file.
-		String templateExtension = ExportUtilities.getOutputExtension(templateFile.getName(), false);
-		boolean isTransformTemplate =
-				"xslt".equalsIgnoreCase(templateExtension) || "xsl".equalsIgnoreCase(templateExtension);
-
-		boolean useTempFile =
-				PCGenSettings.OPTIONS_CONTEXT.initBoolean(PCGenSettings.OPTION_GENERATE_TEMP_FILE_WITH_PDF, false);
-		String outFileName = FilenameUtils.removeExtension(outFile.getAbsolutePath());
-		File tempFile = new File(outFileName + (isTransformTemplate ? ".xml" : ".fo"));
-		try (BufferedOutputStream fileStream = new BufferedOutputStream(new FileOutputStream(outFile));
-				ByteArrayOutputStream byteOutputStream = new ByteArrayOutputStream();
-				OutputStream exportOutput = useTempFile
-					//Output to both the byte stream and to the temp file.
-					? new TeeOutputStream(byteOutputStream, new FileOutputStream(tempFile)) : byteOutputStream)
-		{
-			FopTask task;
+		try (ByteArrayOutputStream sheet = new ByteArrayOutputStream())
+		{
+			boolean isTransformTemplate = isTransformTemplate(templateFile);
 			if (isTransformTemplate)
 			{
-				exportParty(party, exportOutput);
-				ByteArrayInputStream inputStream = new ByteArrayInputStream(byteOutputStream.toByteArray());
-				task = FopTask.newFopTask(inputStream, templateFile, fileStream);
+				exportParty(party, sheet);
 			}
 			else
 			{
 				SettingsHandler.setSelectedPartyPDFOutputSheet(templateFile.getAbsolutePath());
-
-				exportParty(party, templateFile, exportOutput);
-				ByteArrayInputStream inputStream = new ByteArrayInputStream(byteOutputStream.toByteArray());
-				task = FopTask.newFopTask(inputStream, null, fileStream);
+				exportParty(party, templateFile, sheet);
 			}
-			task.run();
+			byte[] foSheet = sheet.toByteArray();
+			writeIntermediateSheet(foSheet, outFile, isTransformTemplate);
+			return renderPDF(foSheet, isTransformTemplate ? templateFile : null, outFile);
 		}
 		catch (final IOException | ExportException e)
 		{
 			Logging.errorPrint("BatchExporter.exportPartyToPDF failed", e);
 			return false;
 		}
-		return true;
 	}
 
 	/**
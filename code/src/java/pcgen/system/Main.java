@@ -24,8 +24,10 @@ import java.awt.FontFormatException;
 import java.awt.GraphicsEnvironment;
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 import java.util.Locale;
 import java.util.logging.Level;
+import java.util.stream.Collectors;
 
 import javax.swing.JOptionPane;
 
@@ -55,6 +57,7 @@ import pcgen.system.application.LoggingUncaughtExceptionHandler;
 import pcgen.system.application.PCGenLoggingDeadlockHandler;
 import pcgen.util.Logging;
 import pcgen.util.PJEP;
+import pcgen.util.metrics.Metrics;
 
 import javafx.embed.swing.JFXPanel;
 import net.sourceforge.argparse4j.ArgumentParsers;
@@ -81,6 +84,7 @@ public final class Main
 	private static String partyFile;
 	private static String characterFile;
 	private static String outputFile;
+	private static List<String> batchFiles;
 
 	private Main()
 	{
@@ -119,6 +123,7 @@ public final class Main
 		Thread.setDefaultUncaughtExceptionHandler(new LoggingUncaughtExceptionHandler());
 		DeadlockDetectorTask deadlockDetectorTask = new DeadlockDetectorTask(new PCGenLoggingDeadlockHandler());
 		deadlockDetectorTask.initialize();
+		Metrics.registerMBean();
 
 		logSystemProps();
 		configFactory = new PropertyContextFactory(getConfigPath());
@@ -196,6 +201,11 @@ public final class Main
 		partyFile = args.get("p");
 		characterFile = args.get("c");
 		outputFile = args.get("o");
+		List<Object> batch = args.getList("batch");
+		if (batch != null)
+		{
+			batchFiles = batch.stream().map(String::valueOf).collect(Collectors.toList());
+		}
 		startNameGen = args.get("name_generator");
 
 		return args;
@@ -374,6 +384,16 @@ public final class Main
 			result = exporter.exportCharacter(characterFile, outputFile);
 		}
 
+		if (batchFiles != null)
+		{
+			try (BatchExportService service =
+					new BatchExportService(exporter, Runtime.getRuntime().availableProcessors()))
+			{
+				batchFiles.forEach(file -> service.submit(file, null));
+				result &= service.awaitCompletion();
+			}
+		}
+
 		return result;
 	}
 
@@ -389,9 +409,30 @@ public final class Main
 			CustomData.writeCustomItems();
 		}
 
+		writeMetrics();
 		System.exit(0);
 	}
 
+	/**
+	 * Writes the metrics recorded during this run to the file named by the
+	 * pcgen.metrics.file system property, if any.
+	 */
+	private static void writeMetrics()
+	{
+		String metricsFile = System.getProperty(Metrics.FILE_PROPERTY);
+		if (metricsFile != null)
+		{
+			try
+			{
+				Metrics.writeJson(new File(metricsFile));
+			}
+			catch (IOException e)
+			{
+				Logging.errorPrint("Unable to write metrics to " + metricsFile, e);
+			}
+		}
+	}
+
 	private static void initPrintPreviewFonts()
 	{
 		GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
@@ -445,6 +486,10 @@ public final class Main
 		parser.addArgument("-p", "--party").nargs(1)
 			.type(Arguments.fileType().verifyCanRead().verifyExists().verifyIsFile());
 
+		parser.addArgument("-b", "--batch").nargs("+")
+			.help("export each of the characters, loading the data only once")
+			.type(Arguments.fileType().verifyCanRead().verifyExists().verifyIsFile());
+
 		return parser;
 	}
 
@@ -41,6 +41,7 @@ public final class PCGenSettings extends PropertyContext
 	public static final String OPTION_SAVE_CUSTOM_EQUIPMENT = "saveCustomInLst";
 	public static final String OPTION_ALLOWED_IN_SOURCES = "optionAllowedInSources";
 	public static final String OPTION_SOURCES_ALLOW_MULTI_LINE = "optionSourcesAllowMultiLine";
+	public static final String OPTION_SOURCES_REPORT_CHANGES = "optionSourcesReportChanges";
 	public static final String OPTION_SHOW_LICENSE = "showLicense";
 	public static final String OPTION_SHOW_MATURE_ON_LOAD = "showMatureOnLoad";
 	public static final String OPTION_CREATE_PCG_BACKUP = "createPcgBackup";
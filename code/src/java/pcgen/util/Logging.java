@@ -31,6 +31,7 @@ import java.util.Properties;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 
 import pcgen.core.SettingsHandler;
@@ -541,9 +542,55 @@ public final class Logging
 		{
 			System.err.println("Unable to get logger for " + name + " after " + retries + " atempts.");
 		}
+		List<LogRecord> held = HELD_RECORDS.get();
+		if (held != null && l != null)
+		{
+			return new HoldingLogger(l, held);
+		}
 		return l;
 	}
 
+	/**
+	 * The records logged by the current thread while its messages are held,
+	 * or null if they are logged directly.
+	 */
+	private static final ThreadLocal<List<LogRecord>> HELD_RECORDS = new ThreadLocal<>();
+
+	/**
+	 * Holds the messages logged by the current thread in the given list,
+	 * rather than logging them, until releaseMessages is called. This allows
+	 * work done concurrently to log its messages in a predictable order, by
+	 * passing the held records to logHeldMessages.
+	 *
+	 * @param records The list to hold the records of the messages
+	 */
+	public static void holdMessages(List<LogRecord> records)
+	{
+		HELD_RECORDS.set(records);
+	}
+
+	/**
+	 * Ends the holding of messages started by holdMessages on the current
+	 * thread.
+	 */
+	public static void releaseMessages()
+	{
+		HELD_RECORDS.remove();
+	}
+
+	/**
+	 * Logs the messages held by another thread, in the order they were held.
+	 *
+	 * @param records The records of the messages, from holdMessages
+	 */
+	public static void logHeldMessages(List<LogRecord> records)
+	{
+		for (LogRecord record : records)
+		{
+			Logger.getLogger(record.getLoggerName()).log(record);
+		}
+	}
+
 	/**
 	 * List the current stack of all threads to STDOUT. 
 	 */
@@ -623,11 +670,15 @@ public final class Logging
 		Logger.getLogger("plugin").setLevel(level);
 	}
 
-	private static final LinkedList<QueuedMessage> queuedMessages = new LinkedList<>();
+	/**
+	 * The parse messages of the token being processed by each thread.
+	 */
+	private static final ThreadLocal<LinkedList<QueuedMessage>> QUEUED_MESSAGES =
+			ThreadLocal.withInitial(LinkedList::new);
 
 	public static void addParseMessage(Level lvl, String msg)
 	{
-		queuedMessages.add(new QueuedMessage(lvl, msg));
+		QUEUED_MESSAGES.get().add(new QueuedMessage(lvl, msg));
 	}
 
 	/*
@@ -636,13 +687,14 @@ public final class Logging
 	 */
 	public static void addParseMessage(Level lvl, String msg, StackTraceElement[] stack)
 	{
-		queuedMessages.add(new QueuedMessage(lvl, msg, stack));
+		QUEUED_MESSAGES.get().add(new QueuedMessage(lvl, msg, stack));
 	}
 
 	private static int queuedMessageMark = -1;
 
 	public static void rewindParseMessages()
 	{
+		LinkedList<QueuedMessage> queuedMessages = QUEUED_MESSAGES.get();
 		while (queuedMessageMark > -1 && queuedMessages.size() > queuedMessageMark)
 		{
 			queuedMessages.removeLast();
@@ -652,7 +704,7 @@ public final class Logging
 	public static void replayParsedMessages()
 	{
 		Logger l = getLogger();
-		for (QueuedMessage msg : queuedMessages)
+		for (QueuedMessage msg : QUEUED_MESSAGES.get())
 		{
 			if (l.isLoggable(msg.level))
 			{
@@ -666,7 +718,37 @@ public final class Logging
 	public static void clearParseMessages()
 	{
 		queuedMessageMark = -1;
-		queuedMessages.clear();
+		QUEUED_MESSAGES.get().clear();
+	}
+
+	/**
+	 * A Logger that holds the records of the messages logged through it,
+	 * rather than publishing them.
+	 */
+	private static final class HoldingLogger extends Logger
+	{
+		private final Logger logger;
+		private final List<LogRecord> records;
+
+		private HoldingLogger(Logger logger, List<LogRecord> records)
+		{
+			super(logger.getName(), null);
+			this.logger = logger;
+			this.records = records;
+		}
+
+		@Override
+		public boolean isLoggable(Level level)
+		{
+			return logger.isLoggable(level);
+		}
+
+		@Override
+		public void log(LogRecord record)
+		{
+			record.setLoggerName(logger.getName());
+			records.add(record);
+		}
 	}
 
 	private static final class QueuedMessage
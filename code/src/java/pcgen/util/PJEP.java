@@ -19,7 +19,12 @@
 package pcgen.util;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Stack;
 
 import pcgen.core.PlayerCharacter;
@@ -31,6 +36,7 @@ import org.nfunk.jep.ASTFunNode;
 import org.nfunk.jep.JEP;
 import org.nfunk.jep.Node;
 import org.nfunk.jep.ParseException;
+import org.nfunk.jep.Variable;
 import org.nfunk.jep.function.PostfixMathCommand;
 
 /**
@@ -52,6 +58,26 @@ public final class PJEP extends JEP
 	private static List<Class<PCGenCommand>> commandList = new ArrayList<>();
 	private List<PCGenCommand> localCommandList = new ArrayList<>();
 
+	/**
+	 * The maximum number of parsed formulas retained by each PJEP.
+	 */
+	private static final int PARSED_FORMULA_LIMIT = 1024;
+
+	/**
+	 * The formulas parsed by this PJEP, keyed by variable source and formula.
+	 * The parse tree refers to the functions and variables of this PJEP, so it
+	 * cannot be shared with other PJEP instances.
+	 */
+	private final Map<String, ParsedFormula> parsedFormulas =
+			new LinkedHashMap<>(16, 0.75f, true)
+			{
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, ParsedFormula> eldest)
+				{
+					return size() > PARSED_FORMULA_LIMIT;
+				}
+			};
+
 	public static void addCommand(Class<PCGenCommand> clazz)
 	{
 		commandList.add(clazz);
@@ -153,6 +179,118 @@ public final class PJEP extends JEP
 		return true;
 	}
 
+	/**
+	 * Returns the ParsedFormula for the given formula. If this PJEP has parsed
+	 * the formula before (for the current variable source), the earlier parse
+	 * is reused; otherwise the formula is parsed as by parseExpression.
+	 *
+	 * @param formula The formula to be parsed
+	 * @return The ParsedFormula for the given formula, or null if the formula
+	 *         is not a valid JEP expression
+	 */
+	public ParsedFormula getParsedFormula(String formula)
+	{
+		String key = variableSource + '|' + formula;
+		ParsedFormula parsed = parsedFormulas.get(key);
+		if (parsed == null)
+		{
+			Node node = parseExpression(formula);
+			parsed = hasError() ? ParsedFormula.INVALID
+				: new ParsedFormula(formula, node, getVariables(), isResultCachable(node));
+			parsedFormulas.put(key, parsed);
+		}
+		return (parsed == ParsedFormula.INVALID) ? null : parsed;
+	}
+
+	/**
+	 * Evaluates the given ParsedFormula, which must have been returned by
+	 * getParsedFormula on this PJEP.
+	 *
+	 * @param parsed The ParsedFormula to be evaluated
+	 * @return The result of the evaluation, or null if the evaluation failed
+	 */
+	public Object evaluate(ParsedFormula parsed)
+	{
+		try
+		{
+			return evaluate(parsed.node);
+		}
+		catch (Exception e)
+		{
+			//As getValueAsObject, treat any evaluation failure as no result
+			Logging.errorPrint("Failed to process formula " + parsed.formula + " due to error: " + e.getMessage());
+			return null;
+		}
+	}
+
+	@SuppressWarnings("unchecked") //Uses JEP, which doesn't use generics
+	private Map<String, Variable> getVariables()
+	{
+		Map<String, Variable> variables = new HashMap<>();
+		for (String name : (Iterable<String>) getSymbolTable().keySet())
+		{
+			variables.put(name, getSymbolTable().getVar(name));
+		}
+		return variables;
+	}
+
+	/**
+	 * A ParsedFormula is the result of parsing a formula with a PJEP, which can
+	 * be evaluated repeatedly (with different variable values) without parsing
+	 * the formula again.
+	 */
+	public static final class ParsedFormula
+	{
+		private static final ParsedFormula INVALID =
+				new ParsedFormula(null, null, Collections.emptyMap(), false);
+
+		private final String formula;
+		private final Node node;
+		private final Map<String, Variable> variables;
+		private final boolean cachable;
+
+		private ParsedFormula(String formula, Node node, Map<String, Variable> variables,
+			boolean cachable)
+		{
+			this.formula = formula;
+			this.node = node;
+			this.variables = variables;
+			this.cachable = cachable;
+		}
+
+		/**
+		 * Returns the names of the variables (including constants) used by
+		 * the formula.
+		 *
+		 * @return The names of the variables used by the formula
+		 */
+		public Set<String> getVariableNames()
+		{
+			return Collections.unmodifiableSet(variables.keySet());
+		}
+
+		/**
+		 * Sets the value of a variable used by the formula.
+		 *
+		 * @param name The name of the variable
+		 * @param value The value of the variable
+		 */
+		public void setVariable(String name, double value)
+		{
+			variables.get(name).setValue(value);
+		}
+
+		/**
+		 * Identify if the results of the calculation will be cachable.
+		 *
+		 * @return True if the result would be cachable, false otherwise.
+		 */
+		public boolean isResultCachable()
+		{
+			return cachable;
+		}
+	}
+
 	private boolean updateVariables()
 	{
 		boolean updated = true;
@@ -17,76 +17,187 @@
  */
 package pcgen.util;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Stack;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+import pcgen.util.metrics.Metrics;
+
+/**
+ * PjepPool is the pool of PJEP parsers used to evaluate JEP formulas.
+ *
+ * Each thread has its own set of idle parsers, so acquiring and releasing a
+ * parser does not contend with other threads. A parser released on a thread
+ * other than the one that acquired it simply joins the idle parsers of the
+ * releasing thread. At most MAX_IDLE_PER_THREAD idle parsers are retained for
+ * each thread; any beyond that are discarded.
+ *
+ * The pool tracks the parsers that have been acquired and not yet released,
+ * so that parsers which are never released (or released twice) can be
+ * detected.
+ */
 public final class PjepPool
 {
-	private Stack<PJEP> freeStack = new Stack<>();
-	private List<PJEP> usedList = new ArrayList<>();
-	private static PjepPool instance = new PjepPool();
+	/**
+	 * The maximum number of idle parsers retained for each thread. Formulas
+	 * may nest (a JEP function can evaluate another formula), so more than one
+	 * parser may be in use on a thread at a time.
+	 */
+	private static final int MAX_IDLE_PER_THREAD = 8;
+
+	private static final PjepPool INSTANCE = new PjepPool();
+
+	/**
+	 * The idle parsers of each thread.
+	 */
+	private final ThreadLocal<Deque<PJEP>> freeParsers = ThreadLocal.withInitial(ArrayDeque::new);
+
+	/**
+	 * The parsers currently in use, with the name of the thread that acquired
+	 * each one.
+	 */
+	private final Map<PJEP, String> inUse = new ConcurrentHashMap<>();
+
+	private final AtomicInteger inUseCount = new AtomicInteger();
+	private final AtomicInteger peakInUse = new AtomicInteger();
+	private final LongAdder acquisitions = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder invalidReleases = new LongAdder();
 
 	private PjepPool()
 	{
-		// Do Nothing
+		Metrics.gauge("jep.pool.acquisitions", this::getAcquisitionCount);
+		Metrics.gauge("jep.pool.misses", this::getMissCount);
+		Metrics.gauge("jep.pool.inUse", this::getInUseCount);
+		Metrics.gauge("jep.pool.peakInUse", this::getPeakInUse);
+		Metrics.gauge("jep.pool.invalidReleases", this::getInvalidReleaseCount);
 	}
 
 	public static PjepPool getInstance()
 	{
-		return instance;
+		return INSTANCE;
 	}
 
-	public synchronized void initialise()
+	/**
+	 * Ensures the current thread has an idle parser available.
+	 */
+	public void initialise()
 	{
-		freeStack.push(new PJEP());
+		Deque<PJEP> free = freeParsers.get();
+		if (free.isEmpty())
+		{
+			free.push(new PJEP());
+		}
 	}
 
-	public synchronized PJEP aquire()
+	public PJEP aquire()
 	{
 		return aquire(null, "");
 	}
 
-	public synchronized PJEP aquire(final Object parent, String variableSource)
+	public PJEP aquire(final Object parent, String variableSource)
 	{
-		//System.out.println("aquireJep()");
-		PJEP jep;
-		if (!freeStack.isEmpty())
-		{
-			jep = freeStack.pop();
-		}
-		else
+		acquisitions.increment();
+		PJEP jep = freeParsers.get().poll();
+		if (jep == null)
 		{
+			misses.increment();
 			jep = new PJEP();
-			//System.err.println("aquirePJep() - creating new parser");
 		}
 
-		usedList.add(jep);
+		inUse.put(jep, Thread.currentThread().getName());
+		peakInUse.accumulateAndGet(inUseCount.incrementAndGet(), Math::max);
 		jep.initSymTab();
 		jep.setVariableSource(variableSource);
 		jep.setParent(parent);
 		return jep;
 	}
 
-	public synchronized void release(PJEP interp)
+	public void release(PJEP interp)
 	{
-		//System.out.println("releaseJep( " + interp + " )");
-		if (usedList.contains(interp))
+		if (interp == null)
 		{
-			usedList.remove(interp);
+			return;
 		}
-		else
+		if (inUse.remove(interp) == null)
 		{
-			System.err.println("Tried to release a PJEP instance that we did not aquire...");
+			invalidReleases.increment();
+			Logging.errorPrint("Tried to release a PJEP instance that we did not aquire...");
+			return;
 		}
+		inUseCount.decrementAndGet();
 		interp.setParent(null);
-		freeStack.push(interp);
+		Deque<PJEP> free = freeParsers.get();
+		if (free.size() < MAX_IDLE_PER_THREAD)
+		{
+			free.push(interp);
+		}
+	}
+
+	/**
+	 * Returns the number of times a parser has been acquired from this pool.
+	 *
+	 * @return The number of acquisitions
+	 */
+	public long getAcquisitionCount()
+	{
+		return acquisitions.sum();
+	}
+
+	/**
+	 * Returns the number of acquisitions for which no idle parser was
+	 * available, so a new parser was constructed.
+	 *
+	 * @return The number of acquisitions that constructed a new parser
+	 */
+	public long getMissCount()
+	{
+		return misses.sum();
+	}
+
+	/**
+	 * Returns the number of parsers currently acquired and not yet released.
+	 *
+	 * @return The number of parsers currently in use
+	 */
+	public int getInUseCount()
+	{
+		return inUseCount.get();
+	}
+
+	/**
+	 * Returns the largest number of parsers that have been in use at once.
+	 *
+	 * @return The peak number of parsers in use
+	 */
+	public int getPeakInUse()
+	{
+		return peakInUse.get();
+	}
+
+	/**
+	 * Returns the number of calls to release with a parser that was not in use
+	 * (not acquired from this pool, or already released).
+	 *
+	 * @return The number of invalid releases
+	 */
+	public long getInvalidReleaseCount()
+	{
+		return invalidReleases.sum();
 	}
 
-	public synchronized void dumpStats()
+	public void dumpStats()
 	{
-		System.out.println("PJEP Pool: ");
-		System.out.println("    Currently Unused: " + freeStack.size());
-		System.out.println("    Currently Used  : " + usedList.size());
+		Logging.log(Logging.INFO, "PJEP Pool: "
+			+ "\n    Acquisitions     : " + getAcquisitionCount()
+			+ "\n    Misses           : " + getMissCount()
+			+ "\n    Currently Used   : " + getInUseCount()
+			+ "\n    Peak Used        : " + getPeakInUse()
+			+ "\n    Invalid Releases : " + getInvalidReleaseCount());
+		inUse.forEach((jep, thread) -> Logging.log(Logging.INFO,
+			"    Not released (acquired on " + thread + ")"));
 	}
 }
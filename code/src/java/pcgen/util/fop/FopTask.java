@@ -23,15 +23,24 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.transform.ErrorListener;
+import javax.xml.transform.Source;
 import javax.xml.transform.SourceLocator;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.URIResolver;
 import javax.xml.transform.sax.SAXResult;
 import javax.xml.transform.stream.StreamSource;
 
@@ -61,10 +70,16 @@ import org.apache.fop.render.Renderer;
 public final class FopTask implements Runnable
 {
 	private static final FopFactory FOP_FACTORY = createFopFactory();
-	private static FOUserAgent userAgent;
 
 	private static final TransformerFactory TRANS_FACTORY = TransformerFactory.newInstance();
 
+	/**
+	 * The compiled transform templates, by the path of their file. Templates may be shared by
+	 * tasks running at the same time. A template is compiled again if its file, or a file that it
+	 * includes or imports, has been modified since it was compiled.
+	 */
+	private static final Map<String, CompiledTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
 	private static FopFactory createFopFactory()
 	{
 
@@ -98,31 +113,66 @@ public final class FopTask implements Runnable
 	}
 
 	private final StreamSource inputSource;
-	private final StreamSource xsltSource;
+	private final File xsltFile;
 	private final Renderer renderer;
 	private final OutputStream outputStream;
+	private final FOUserAgent userAgent;
 
 	private final StringBuilder errorBuilder = new StringBuilder(32);
 
-	private FopTask(StreamSource inputXml, StreamSource xsltSource, Renderer renderer, OutputStream outputStream)
+	private FopTask(StreamSource inputXml, File xsltFile, Renderer renderer, OutputStream outputStream,
+		FOUserAgent userAgent)
 	{
 		this.inputSource = inputXml;
-		this.xsltSource = xsltSource;
+		this.xsltFile = xsltFile;
 		this.renderer = renderer;
 		this.outputStream = outputStream;
+		this.userAgent = userAgent;
 	}
 
-	private static StreamSource createXsltStreamSource(File xsltFile) throws FileNotFoundException
+	private static void checkXsltFile(File xsltFile) throws FileNotFoundException
 	{
-		if (xsltFile == null)
+		if (xsltFile != null && !xsltFile.exists())
 		{
-			return null;
+			throw new FileNotFoundException("xsl file " + xsltFile.getAbsolutePath() + " not found ");
 		}
-		if (!xsltFile.exists())
+	}
+
+	/**
+	 * Returns the compiled templates of the given transform template file, compiling the file
+	 * only if it has not been compiled since it, or a file that it includes or imports, was last
+	 * modified.
+	 *
+	 * @param xsltFile the transform template file
+	 * @return the compiled templates
+	 * @throws TransformerConfigurationException if the file cannot be compiled
+	 */
+	private static Templates getTemplates(File xsltFile) throws TransformerConfigurationException
+	{
+		String path = xsltFile.getAbsolutePath();
+		CompiledTemplate compiled = TEMPLATES.get(path);
+		if (compiled == null || !compiled.isCurrent())
 		{
-			throw new FileNotFoundException("xsl file " + xsltFile.getAbsolutePath() + " not found ");
+			Map<File, Long> lastModified = new HashMap<>();
+			lastModified.put(xsltFile, xsltFile.lastModified());
+			Templates templates;
+			// TransformerFactory is not guaranteed to be thread safe
+			synchronized (TRANS_FACTORY)
+			{
+				TRANS_FACTORY.setURIResolver(new RecordingURIResolver(lastModified));
+				try
+				{
+					templates = TRANS_FACTORY.newTemplates(new StreamSource(xsltFile));
+				}
+				finally
+				{
+					TRANS_FACTORY.setURIResolver(null);
+				}
+			}
+			compiled = new CompiledTemplate(lastModified, templates);
+			TEMPLATES.put(path, compiled);
 		}
-		return new StreamSource(xsltFile);
+		return compiled.templates();
 	}
 
 	public static FopFactory getFactory()
@@ -144,9 +194,9 @@ public final class FopTask implements Runnable
 	public static FopTask newFopTask(InputStream inputXmlStream, File xsltFile, OutputStream outputPdf)
 		throws FileNotFoundException
 	{
-		StreamSource xsltSource = createXsltStreamSource(xsltFile);
-		userAgent = FOP_FACTORY.newFOUserAgent();
-		return new FopTask(new StreamSource(inputXmlStream), xsltSource, null, outputPdf);
+		checkXsltFile(xsltFile);
+		return new FopTask(new StreamSource(inputXmlStream), xsltFile, null, outputPdf,
+			FOP_FACTORY.newFOUserAgent());
 	}
 
 	/**
@@ -163,9 +213,9 @@ public final class FopTask implements Runnable
 	public static FopTask newFopTask(InputStream inputXmlStream, File xsltFile, Renderer renderer)
 		throws FileNotFoundException
 	{
-		StreamSource xsltSource = createXsltStreamSource(xsltFile);
-		userAgent = renderer.getUserAgent();
-		return new FopTask(new StreamSource(inputXmlStream), xsltSource, renderer, null);
+		checkXsltFile(xsltFile);
+		return new FopTask(new StreamSource(inputXmlStream), xsltFile, renderer, null,
+			renderer.getUserAgent());
 	}
 
 	public String getErrorMessages()
@@ -210,13 +260,17 @@ public final class FopTask implements Runnable
 			}
 
 			Transformer transformer;
-			if (xsltSource != null)
+			if (xsltFile != null)
 			{
-				transformer = TRANS_FACTORY.newTransformer(xsltSource);
+				transformer = getTemplates(xsltFile).newTransformer();
 			}
 			else
 			{
-				transformer = TRANS_FACTORY.newTransformer(); // identity transformer		
+				// TransformerFactory is not guaranteed to be thread safe
+				synchronized (TRANS_FACTORY)
+				{
+					transformer = TRANS_FACTORY.newTransformer(); // identity transformer
+				}
 			}
 			transformer.setErrorListener(new FOPErrorListener());
 			transformer.transform(inputSource, new SAXResult(fop.getDefaultHandler()));
@@ -233,6 +287,59 @@ public final class FopTask implements Runnable
 		}
 	}
 
+	/**
+	 * A transform template file compiled when it and the files it includes or imports had the
+	 * given modification times.
+	 */
+	private record CompiledTemplate(Map<File, Long> lastModified, Templates templates)
+	{
+		private boolean isCurrent()
+		{
+			for (Map.Entry<File, Long> entry : lastModified.entrySet())
+			{
+				if (entry.getKey().lastModified() != entry.getValue())
+				{
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * The Class {@code RecordingURIResolver} records the modification time of each file included
+	 * or imported while a transform template is compiled, leaving the file to be resolved as
+	 * normal.
+	 */
+	private static class RecordingURIResolver implements URIResolver
+	{
+		private final Map<File, Long> lastModified;
+
+		private RecordingURIResolver(Map<File, Long> lastModified)
+		{
+			this.lastModified = lastModified;
+		}
+
+		@Override
+		public Source resolve(String href, String base)
+		{
+			try
+			{
+				URI uri = (base == null) ? new URI(href) : new URI(base).resolve(href);
+				if ("file".equals(uri.getScheme()))
+				{
+					File file = new File(uri);
+					lastModified.put(file, file.lastModified());
+				}
+			}
+			catch (URISyntaxException | IllegalArgumentException e)
+			{
+				Logging.debugPrint("FopTask could not record the modification time of " + href);
+			}
+			return null;
+		}
+	}
+
 	/**
 	 * The Class {@code FOPErrorListener} listens for notifications of issues when generating
 	 * PDF files and responds accordingly.
@@ -0,0 +1,73 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.util.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A Counter counts the occurrences of an event. Counting is ignored while
+ * {@link Metrics} are disabled.
+ */
+public final class Counter
+{
+
+	private final LongAdder count = new LongAdder();
+
+	Counter()
+	{
+		//Obtained from Metrics.counter
+	}
+
+	/**
+	 * Adds one to this Counter.
+	 */
+	public void increment()
+	{
+		if (Metrics.isEnabled())
+		{
+			count.increment();
+		}
+	}
+
+	/**
+	 * Adds the given amount to this Counter.
+	 *
+	 * @param amount
+	 *            The amount to be added
+	 */
+	public void add(long amount)
+	{
+		if (Metrics.isEnabled())
+		{
+			count.add(amount);
+		}
+	}
+
+	/**
+	 * Returns the number of events counted.
+	 *
+	 * @return The number of events counted
+	 */
+	public long getCount()
+	{
+		return count.sum();
+	}
+
+	void reset()
+	{
+		count.reset();
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.util.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A Histogram records the distribution of a series of non-negative values.
+ * <p>
+ * Values are counted in buckets by power of two, so percentiles are
+ * approximate: a percentile is reported as the largest value that falls into
+ * the same bucket (and no more than the largest value recorded). Recording is
+ * ignored while {@link Metrics} are disabled.
+ */
+public final class Histogram
+{
+
+	/**
+	 * Bucket 0 holds 0 (and any negative values); bucket n holds the values
+	 * from 2^(n-1) to 2^n - 1.
+	 */
+	private static final int BUCKETS = 64;
+
+	private final LongAdder count = new LongAdder();
+
+	private final LongAdder sum = new LongAdder();
+
+	private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+	private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+	Histogram()
+	{
+		//Obtained from Metrics.histogram, or held by a Timer
+	}
+
+	/**
+	 * Records the given value.
+	 *
+	 * @param value
+	 *            The value to be recorded
+	 */
+	public void record(long value)
+	{
+		if (Metrics.isEnabled())
+		{
+			recordValue(value);
+		}
+	}
+
+	void recordValue(long value)
+	{
+		long recorded = Math.max(value, 0L);
+		count.increment();
+		sum.add(recorded);
+		min.accumulateAndGet(recorded, Math::min);
+		max.accumulateAndGet(recorded, Math::max);
+		buckets.incrementAndGet(Math.min(BUCKETS - Long.numberOfLeadingZeros(recorded), BUCKETS - 1));
+	}
+
+	/**
+	 * Returns the number of values recorded.
+	 *
+	 * @return The number of values recorded
+	 */
+	public long getCount()
+	{
+		return count.sum();
+	}
+
+	/**
+	 * Returns the total of the values recorded.
+	 *
+	 * @return The total of the values recorded
+	 */
+	public long getSum()
+	{
+		return sum.sum();
+	}
+
+	/**
+	 * Returns the smallest value recorded, or 0 if no value has been recorded.
+	 *
+	 * @return The smallest value recorded
+	 */
+	public long getMin()
+	{
+		long value = min.get();
+		return (value == Long.MAX_VALUE) ? 0 : value;
+	}
+
+	/**
+	 * Returns the largest value recorded, or 0 if no value has been recorded.
+	 *
+	 * @return The largest value recorded
+	 */
+	public long getMax()
+	{
+		long value = max.get();
+		return (value == Long.MIN_VALUE) ? 0 : value;
+	}
+
+	/**
+	 * Returns the mean of the values recorded, or 0 if no value has been
+	 * recorded.
+	 *
+	 * @return The mean of the values recorded
+	 */
+	public double getMean()
+	{
+		long n = getCount();
+		return (n == 0) ? 0 : ((double) getSum() / n);
+	}
+
+	/**
+	 * Returns the approximate value below which the given fraction of the
+	 * recorded values fall.
+	 *
+	 * @param fraction
+	 *            The fraction, from 0 to 1 (e.g. 0.99 for the 99th percentile)
+	 * @return The approximate value at the given percentile, or 0 if no value
+	 *         has been recorded
+	 */
+	public long getPercentile(double fraction)
+	{
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++)
+		{
+			total += buckets.get(i);
+		}
+		if (total == 0)
+		{
+			return 0;
+		}
+		long rank = Math.max(1L, (long) Math.ceil(fraction * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++)
+		{
+			seen += buckets.get(i);
+			if (seen >= rank)
+			{
+				long upper = (i == 0) ? 0 : ((i == BUCKETS - 1) ? Long.MAX_VALUE : ((1L << i) - 1));
+				return Math.max(Math.min(upper, getMax()), getMin());
+			}
+		}
+		return getMax();
+	}
+
+	void reset()
+	{
+		count.reset();
+		sum.reset();
+		min.set(Long.MAX_VALUE);
+		max.set(Long.MIN_VALUE);
+		for (int i = 0; i < BUCKETS; i++)
+		{
+			buckets.set(i, 0);
+		}
+	}
+
+	void appendJson(StringBuilder json)
+	{
+		json.append("{\"count\":").append(getCount())
+			.append(",\"sum\":").append(getSum())
+			.append(",\"min\":").append(getMin())
+			.append(",\"max\":").append(getMax())
+			.append(",\"mean\":").append(Math.round(getMean()))
+			.append(",\"p50\":").append(getPercentile(0.5))
+			.append(",\"p90\":").append(getPercentile(0.9))
+			.append(",\"p99\":").append(getPercentile(0.99))
+			.append('}');
+	}
+}
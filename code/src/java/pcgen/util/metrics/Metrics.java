@@ -0,0 +1,348 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.util.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import pcgen.util.Logging;
+
+/**
+ * Metrics is the registry of the counters, timers, histograms and gauges
+ * that record where time is spent in the load, solve and export phases of
+ * PCGen.
+ * <p>
+ * Metrics are disabled unless the "pcgen.metrics" system property is true
+ * (or a file is named by "pcgen.metrics.file"), or they are enabled over JMX.
+ * While disabled, recording a metric costs no more than a check of a volatile
+ * field. Where the name of a metric must be built (e.g. per token), the name
+ * should be built only when recording, as {@link #stop(String, Object, long)}
+ * does.
+ * <p>
+ * All of the metrics may be written as a JSON object, in which the durations
+ * of timers are in nanoseconds.
+ */
+public final class Metrics
+{
+
+	/**
+	 * The system property which, if true, enables metrics at startup.
+	 */
+	public static final String ENABLED_PROPERTY = "pcgen.metrics";
+
+	/**
+	 * The system property naming the file to which the metrics are written
+	 * when PCGen exits.
+	 */
+	public static final String FILE_PROPERTY = "pcgen.metrics.file";
+
+	private static final String OBJECT_NAME = "pcgen:type=Metrics";
+
+	private static volatile boolean enabled =
+			Boolean.getBoolean(ENABLED_PROPERTY) || (System.getProperty(FILE_PROPERTY) != null);
+
+	private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+
+	private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+
+	private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+	private static final Map<String, LongSupplier> GAUGES = new ConcurrentHashMap<>();
+
+	private Metrics()
+	{
+		//Do not instantiate utility class
+	}
+
+	/**
+	 * @return true if metrics are being recorded; false otherwise
+	 */
+	public static boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * Starts or stops the recording of metrics.
+	 *
+	 * @param enable
+	 *            true if metrics should be recorded; false otherwise
+	 */
+	public static void setEnabled(boolean enable)
+	{
+		enabled = enable;
+	}
+
+	/**
+	 * Returns the Counter with the given name, creating it if necessary.
+	 *
+	 * @param name
+	 *            The name of the Counter
+	 * @return The Counter with the given name
+	 */
+	public static Counter counter(String name)
+	{
+		return COUNTERS.computeIfAbsent(name, n -> new Counter());
+	}
+
+	/**
+	 * Returns the Timer with the given name, creating it if necessary.
+	 *
+	 * @param name
+	 *            The name of the Timer
+	 * @return The Timer with the given name
+	 */
+	public static Timer timer(String name)
+	{
+		return TIMERS.computeIfAbsent(name, n -> new Timer());
+	}
+
+	/**
+	 * Returns the Histogram with the given name, creating it if necessary.
+	 *
+	 * @param name
+	 *            The name of the Histogram
+	 * @return The Histogram with the given name
+	 */
+	public static Histogram histogram(String name)
+	{
+		return HISTOGRAMS.computeIfAbsent(name, n -> new Histogram());
+	}
+
+	/**
+	 * Registers a gauge, whose value is read from the given LongSupplier when
+	 * the metrics are reported. A gauge is reported even while metrics are
+	 * disabled.
+	 *
+	 * @param name
+	 *            The name of the gauge
+	 * @param value
+	 *            The LongSupplier providing the value of the gauge
+	 */
+	public static void gauge(String name, LongSupplier value)
+	{
+		GAUGES.put(name, value);
+	}
+
+	/**
+	 * Starts timing an operation.
+	 *
+	 * @return The start time, or 0 if metrics are disabled
+	 */
+	public static long start()
+	{
+		if (!enabled)
+		{
+			return 0;
+		}
+		long now = System.nanoTime();
+		return (now == 0) ? 1 : now;
+	}
+
+	/**
+	 * Stops timing an operation, recording its duration in the Timer named by
+	 * the given prefix and name. The name of the Timer is only built if the
+	 * operation was timed.
+	 *
+	 * @param prefix
+	 *            The prefix of the name of the Timer
+	 * @param name
+	 *            The remainder of the name of the Timer
+	 * @param start
+	 *            The start time returned by start; if 0, nothing is recorded
+	 */
+	public static void stop(String prefix, Object name, long start)
+	{
+		if (start != 0)
+		{
+			timer(prefix + name).stop(start);
+		}
+	}
+
+	/**
+	 * Clears the values of all of the metrics. The metrics remain registered.
+	 */
+	public static void reset()
+	{
+		COUNTERS.values().forEach(Counter::reset);
+		TIMERS.values().forEach(Timer::reset);
+		HISTOGRAMS.values().forEach(Histogram::reset);
+	}
+
+	/**
+	 * Returns the value of each Counter, by name.
+	 *
+	 * @return The value of each Counter
+	 */
+	public static Map<String, Long> getCounters()
+	{
+		Map<String, Long> values = new TreeMap<>();
+		COUNTERS.forEach((name, counter) -> values.put(name, counter.getCount()));
+		return values;
+	}
+
+	/**
+	 * Returns all of the metrics as a JSON object, with members "enabled",
+	 * "counters", "gauges", "histograms" and "timers". The metrics in each
+	 * member are sorted by name.
+	 *
+	 * @return The metrics as a JSON object
+	 */
+	public static String toJson()
+	{
+		StringBuilder json = new StringBuilder(1024);
+		json.append("{\"enabled\":").append(enabled);
+		json.append(",\"counters\":{");
+		String separator = "";
+		for (Map.Entry<String, Counter> me : new TreeMap<>(COUNTERS).entrySet())
+		{
+			appendName(json.append(separator), me.getKey()).append(me.getValue().getCount());
+			separator = ",";
+		}
+		json.append("},\"gauges\":{");
+		separator = "";
+		for (Map.Entry<String, LongSupplier> me : new TreeMap<>(GAUGES).entrySet())
+		{
+			appendName(json.append(separator), me.getKey()).append(me.getValue().getAsLong());
+			separator = ",";
+		}
+		json.append("},\"histograms\":{");
+		separator = "";
+		for (Map.Entry<String, Histogram> me : new TreeMap<>(HISTOGRAMS).entrySet())
+		{
+			appendName(json.append(separator), me.getKey());
+			me.getValue().appendJson(json);
+			separator = ",";
+		}
+		json.append("},\"timers\":{");
+		separator = "";
+		for (Map.Entry<String, Timer> me : new TreeMap<>(TIMERS).entrySet())
+		{
+			appendName(json.append(separator), me.getKey());
+			me.getValue().getDurations().appendJson(json);
+			separator = ",";
+		}
+		return json.append("}}").toString();
+	}
+
+	private static StringBuilder appendName(StringBuilder json, String name)
+	{
+		json.append('"');
+		for (int i = 0; i < name.length(); i++)
+		{
+			char c = name.charAt(i);
+			if ((c == '"') || (c == '\\'))
+			{
+				json.append('\\').append(c);
+			}
+			else if (c < ' ')
+			{
+				json.append(String.format("\\u%04x", (int) c));
+			}
+			else
+			{
+				json.append(c);
+			}
+		}
+		return json.append("\":");
+	}
+
+	/**
+	 * Writes all of the metrics, as a JSON object, to the given file.
+	 *
+	 * @param file
+	 *            The file to which the metrics are written
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public static void writeJson(File file) throws IOException
+	{
+		try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))
+		{
+			writer.write(toJson());
+		}
+	}
+
+	/**
+	 * Registers the metrics with the platform MBeanServer, as
+	 * "pcgen:type=Metrics", so they can be read (and enabled) over JMX.
+	 * Registering the metrics more than once has no further effect.
+	 */
+	public static void registerMBean()
+	{
+		try
+		{
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (!server.isRegistered(name))
+			{
+				server.registerMBean(new MetricsBean(), name);
+			}
+		}
+		catch (JMException e)
+		{
+			Logging.debugPrint("Unable to register metrics with JMX", e);
+		}
+	}
+
+	/**
+	 * The MetricsMXBean registered over JMX.
+	 */
+	private static final class MetricsBean implements MetricsMXBean
+	{
+		@Override
+		public boolean isEnabled()
+		{
+			return Metrics.isEnabled();
+		}
+
+		@Override
+		public void setEnabled(boolean enable)
+		{
+			Metrics.setEnabled(enable);
+		}
+
+		@Override
+		public Map<String, Long> getCounters()
+		{
+			return Metrics.getCounters();
+		}
+
+		@Override
+		public String getJson()
+		{
+			return toJson();
+		}
+
+		@Override
+		public void reset()
+		{
+			Metrics.reset();
+		}
+	}
+}
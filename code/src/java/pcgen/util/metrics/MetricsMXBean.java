@@ -0,0 +1,54 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.util.metrics;
+
+import java.util.Map;
+
+/**
+ * MetricsMXBean is the management interface through which the PCGen
+ * {@link Metrics} are exposed over JMX, as "pcgen:type=Metrics".
+ */
+public interface MetricsMXBean
+{
+
+	/**
+	 * @return true if metrics are being recorded; false otherwise
+	 */
+	boolean isEnabled();
+
+	/**
+	 * Starts or stops the recording of metrics.
+	 *
+	 * @param enabled
+	 *            true if metrics should be recorded; false otherwise
+	 */
+	void setEnabled(boolean enabled);
+
+	/**
+	 * @return The value of each counter, by name
+	 */
+	Map<String, Long> getCounters();
+
+	/**
+	 * @return All of the metrics, as a JSON object
+	 */
+	String getJson();
+
+	/**
+	 * Clears the values of all of the metrics.
+	 */
+	void reset();
+}
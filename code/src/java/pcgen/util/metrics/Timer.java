@@ -0,0 +1,80 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.util.metrics;
+
+/**
+ * A Timer records the distribution of the durations, in nanoseconds, of an
+ * operation.
+ * <p>
+ * A Timer is used as follows, so that nothing is recorded (and the clock is
+ * not read) while {@link Metrics} are disabled:
+ *
+ * <pre>
+ * long start = timer.start();
+ * ... the operation ...
+ * timer.stop(start);
+ * </pre>
+ */
+public final class Timer
+{
+
+	private final Histogram durations = new Histogram();
+
+	Timer()
+	{
+		//Obtained from Metrics.timer
+	}
+
+	/**
+	 * Starts timing an operation.
+	 *
+	 * @return The start time, to be passed to stop, or 0 if Metrics are
+	 *         disabled
+	 */
+	public long start()
+	{
+		return Metrics.start();
+	}
+
+	/**
+	 * Stops timing an operation, recording its duration.
+	 *
+	 * @param start
+	 *            The start time returned by start; if 0, nothing is recorded
+	 */
+	public void stop(long start)
+	{
+		if (start != 0)
+		{
+			durations.recordValue(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Returns the durations recorded by this Timer, in nanoseconds.
+	 *
+	 * @return The durations recorded by this Timer
+	 */
+	public Histogram getDurations()
+	{
+		return durations;
+	}
+
+	void reset()
+	{
+		durations.reset();
+	}
+}
@@ -65,7 +65,7 @@ public class PreRuleTester extends AbstractPrerequisiteTest implements Prerequis
 		for (Prerequisite element : prereq.getPrerequisites())
 		{
 			final PrerequisiteTestFactory factory = PrerequisiteTestFactory.getInstance();
-			final PrerequisiteTest test = factory.getTest(element.getKind());
+			final PrerequisiteTest test = factory.getTest(element);
 			if (test != null)
 			{
 				runningTotal += test.passes(element, equipment, aPC);
@@ -99,7 +99,7 @@ public class PreRuleTester extends AbstractPrerequisiteTest implements Prerequis
 		final PrerequisiteTestFactory factory = PrerequisiteTestFactory.getInstance();
 		for (Prerequisite element : prereq.getPrerequisites())
 		{
-			final PrerequisiteTest test = factory.getTest(element.getKind());
+			final PrerequisiteTest test = factory.getTest(element);
 			if (test != null)
 			{
 				runningTotal += test.passes(element, character, source);
@@ -65,7 +65,7 @@ public class PreVariableTester extends AbstractPrerequisiteTest implements Prere
 		for (Prerequisite element : prereq.getPrerequisites())
 		{
 			final PrerequisiteTestFactory factory = PrerequisiteTestFactory.getInstance();
-			final PrerequisiteTest test = factory.getTest(element.getKind());
+			final PrerequisiteTest test = factory.getTest(element);
 			if (test != null)
 			{
 				// all of the tests must pass, so just
@@ -98,7 +98,7 @@ public class PreVariableTester extends AbstractPrerequisiteTest implements Prere
 		for (Prerequisite element : prereq.getPrerequisites())
 		{
 			final PrerequisiteTestFactory factory = PrerequisiteTestFactory.getInstance();
-			final PrerequisiteTest test = factory.getTest(element.getKind());
+			final PrerequisiteTest test = factory.getTest(element);
 
 			if (test != null)
 			{
@@ -0,0 +1,109 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import pcgen.facade.core.DataSetFacade;
+import pcgen.facade.core.SourceSelectionFacade;
+import pcgen.facade.core.UIDelegate;
+import pcgen.persistence.CampaignFileLoader;
+import pcgen.persistence.GameModeFileLoader;
+import pcgen.persistence.SourceFileLoader;
+import pcgen.system.CharacterManager;
+import pcgen.system.ConfigurationSettings;
+import pcgen.system.ConsoleUIDelegate;
+import pcgen.system.Main;
+import pcgen.system.PropertyContextFactory;
+
+import org.apache.commons.lang3.SystemUtils;
+
+/**
+ * BenchmarkSupport starts PCGen without a GUI, as the command line export
+ * does, so that the benchmarks can load the bundled data and characters.
+ * <p>
+ * The benchmarks are run from the project directory. The settings written
+ * while they run are kept under build/jmh, so they do not disturb the
+ * settings of a developer's own PCGen.
+ */
+final class BenchmarkSupport
+{
+
+	/**
+	 * The directory holding the configuration and settings used by the
+	 * benchmarks.
+	 */
+	private static final String BENCHMARK_DIR = "build" + File.separator + "jmh";
+
+	/**
+	 * The character whose sources are loaded by the benchmarks.
+	 */
+	static final String DEFAULT_CHARACTER = "characters/CodeMonkey.pcg";
+
+	static final UIDelegate UI_DELEGATE = new ConsoleUIDelegate();
+
+	private static boolean initialised = false;
+
+	private BenchmarkSupport()
+	{
+		//Do not instantiate utility class
+	}
+
+	/**
+	 * Loads the plugins, game modes and campaigns, once per benchmark JVM.
+	 *
+	 * @throws IOException if the benchmark configuration cannot be written
+	 */
+	static synchronized void initialise() throws IOException
+	{
+		if (initialised)
+		{
+			return;
+		}
+		File configFile = new File(BENCHMARK_DIR, "config.ini");
+		Files.createDirectories(configFile.getParentFile().toPath());
+		String config = "settingsPath=" + new File(BENCHMARK_DIR, "settings").getPath() + "\r\n"
+			+ "pccFilesPath=data\r\n"
+			+ "customPath=" + new File(BENCHMARK_DIR, "customdata").getPath() + "\r\n";
+		Files.write(configFile.toPath(), config.replace("\\", "\\\\").getBytes(StandardCharsets.UTF_8));
+
+		PropertyContextFactory configFactory = new PropertyContextFactory(SystemUtils.USER_DIR);
+		configFactory.registerAndLoadPropertyContext(ConfigurationSettings.getInstance(configFile.getPath()));
+		Main.loadProperties(false);
+		Main.createLoadPluginTask().run();
+		new GameModeFileLoader().run();
+		new CampaignFileLoader().run();
+		initialised = true;
+	}
+
+	/**
+	 * Loads the sources required by the given character.
+	 *
+	 * @param characterFile The character PCG file
+	 * @return The loaded data
+	 */
+	static DataSetFacade loadSources(File characterFile)
+	{
+		SourceSelectionFacade sources = CharacterManager.getRequiredSourcesForCharacter(characterFile, UI_DELEGATE);
+		SourceFileLoader loader =
+				new SourceFileLoader(UI_DELEGATE, sources.getCampaigns(), sources.getGameMode().get().getName());
+		loader.run();
+		return loader.getDataSetFacade();
+	}
+}
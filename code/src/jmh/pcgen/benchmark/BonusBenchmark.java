@@ -0,0 +1,88 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.benchmark;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import pcgen.core.PlayerCharacter;
+import pcgen.facade.core.DataSetFacade;
+import pcgen.system.CharacterManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the lookup of bonus totals from a loaded character, and the
+ * recalculation of the character's active bonuses on which those lookups
+ * depend.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BonusBenchmark
+{
+
+	/**
+	 * The bonuses looked up, as type.name pairs.
+	 */
+	private static final String[][] BONUSES = {{"COMBAT", "AC"}, {"COMBAT", "TOHIT"}, {"COMBAT", "BASEAB"},
+		{"STAT", "STR"}, {"STAT", "DEX"}, {"SAVE", "BASE.Fortitude"}, {"SKILLRANK", "Concentration"},
+		{"HP", "CURRENTMAX"}};
+
+	@Param(BenchmarkSupport.DEFAULT_CHARACTER)
+	public String characterFile;
+
+	private PlayerCharacter character;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception
+	{
+		BenchmarkSupport.initialise();
+		File file = new File(characterFile);
+		DataSetFacade dataset = BenchmarkSupport.loadSources(file);
+		character = CharacterManager.openPlayerCharacter(file, BenchmarkSupport.UI_DELEGATE, dataset, true);
+	}
+
+	@Benchmark
+	public void totalBonuses(Blackhole blackhole)
+	{
+		for (String[] bonus : BONUSES)
+		{
+			blackhole.consume(character.getTotalBonusTo(bonus[0], bonus[1]));
+		}
+	}
+
+	@Benchmark
+	public void calcActiveBonuses()
+	{
+		character.calcActiveBonuses();
+	}
+}
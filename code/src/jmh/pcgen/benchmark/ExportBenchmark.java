@@ -0,0 +1,87 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import pcgen.facade.core.CharacterFacade;
+import pcgen.facade.core.DataSetFacade;
+import pcgen.io.ExportException;
+import pcgen.io.ExportHandler;
+import pcgen.system.CharacterManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the export of a loaded character through both a token based
+ * (ExportHandler) and a FreeMarker (FreeMarkerExportHandler) sheet, writing
+ * the sheet to memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExportBenchmark
+{
+
+	@Param(BenchmarkSupport.DEFAULT_CHARACTER)
+	public String characterFile;
+
+	@Param({"code/testsuite/csheet_fantasy_std.htm", "code/testsuite/base-xml.ftl"})
+	public String templateFile;
+
+	private CharacterFacade character;
+
+	private File template;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception
+	{
+		BenchmarkSupport.initialise();
+		File file = new File(characterFile);
+		DataSetFacade dataset = BenchmarkSupport.loadSources(file);
+		character = CharacterManager.openCharacter(file, BenchmarkSupport.UI_DELEGATE, dataset);
+		template = new File(templateFile);
+	}
+
+	@Benchmark
+	public StringWriter exportCharacter() throws ExportException, IOException
+	{
+		StringWriter sheet = new StringWriter(256 * 1024);
+		try (BufferedWriter writer = new BufferedWriter(sheet))
+		{
+			character.export(ExportHandler.createExportHandler(template), writer);
+		}
+		return sheet;
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import pcgen.base.formatmanager.FormatUtilities;
+import pcgen.base.formula.base.FormulaManager;
+import pcgen.base.formula.base.ScopeInstance;
+import pcgen.base.formula.base.VariableID;
+import pcgen.base.formula.inst.NEPFormula;
+import pcgen.base.solver.Modifier;
+import pcgen.base.solver.SolverManager;
+import pcgen.base.util.FormatManager;
+import pcgen.cdom.formula.MonitorableVariableStore;
+import pcgen.cdom.formula.scope.GlobalPCScope;
+import pcgen.cdom.formula.scope.PCGenScope;
+import pcgen.rules.context.ConsolidatedListCommitStrategy;
+import pcgen.rules.context.LoadContext;
+import pcgen.rules.context.RuntimeLoadContext;
+import pcgen.rules.context.RuntimeReferenceContext;
+import pcgen.rules.context.VariableContext;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the parsing and resolution of ComplexNEPFormula expressions, and
+ * the solving performed by a SolverManager when a modifier at the root of a
+ * chain of dependent variables is added and removed (a "solve storm").
+ * <p>
+ * Each variable VarN in the chain is modified by "VarN-1+1", so a change to
+ * Var0 must be propagated along the whole chain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FormulaBenchmark
+{
+
+	private static final FormatManager<Number> NUMBER_MANAGER = FormatUtilities.NUMBER_MANAGER;
+
+	@Param({"10", "100"})
+	public int chainLength;
+
+	@Param({"3+4*(2-1)", "if(Var1>Var2,Var1,Var2)+floor(Var3/2)"})
+	public String expression;
+
+	private VariableContext varContext;
+
+	private PCGenScope globalScope;
+
+	private SolverManager solverManager;
+
+	private NEPFormula<Number> formula;
+
+	private VariableID<Number> rootVariable;
+
+	private Modifier<Number> rootModifier;
+
+	private ScopeInstance globalInstance;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception
+	{
+		BenchmarkSupport.initialise();
+		LoadContext context = new RuntimeLoadContext(RuntimeReferenceContext.createRuntimeReferenceContext(),
+			new ConsolidatedListCommitStrategy());
+		varContext = context.getVariableContext();
+		varContext.addDefault(NUMBER_MANAGER, () -> 0);
+		globalScope = varContext.getScope(GlobalPCScope.GLOBAL_SCOPE_NAME);
+		for (int i = 0; i < chainLength; i++)
+		{
+			varContext.assertLegalVariableID("Var" + i, globalScope, NUMBER_MANAGER);
+		}
+
+		FormulaManager formulaManager = varContext.getFormulaManager();
+		solverManager = varContext.generateSolverManager(new MonitorableVariableStore());
+		globalInstance =
+				formulaManager.getScopeInstanceFactory().getGlobalInstance(GlobalPCScope.GLOBAL_SCOPE_NAME);
+		List<VariableID<Number>> chain = new ArrayList<>();
+		for (int i = 0; i < chainLength; i++)
+		{
+			chain.add(getVariable("Var" + i));
+		}
+		for (int i = 1; i < chainLength; i++)
+		{
+			solverManager.addModifier(chain.get(i),
+				varContext.getModifier("ADD", "Var" + (i - 1) + "+1", formulaManager, globalScope, NUMBER_MANAGER),
+				globalInstance);
+		}
+		rootVariable = chain.get(0);
+		rootModifier = varContext.getModifier("ADD", "1", formulaManager, globalScope, NUMBER_MANAGER);
+		formula = varContext.getValidFormula(globalScope, NUMBER_MANAGER, expression);
+	}
+
+	@SuppressWarnings("unchecked")
+	private VariableID<Number> getVariable(String name)
+	{
+		return (VariableID<Number>) varContext.getVariableID(globalInstance, name);
+	}
+
+	@Benchmark
+	public NEPFormula<Number> parseFormula()
+	{
+		return varContext.getValidFormula(globalScope, NUMBER_MANAGER, expression);
+	}
+
+	@Benchmark
+	public Number resolveFormula()
+	{
+		return solverManager.solve(formula);
+	}
+
+	@Benchmark
+	public void solveStorm()
+	{
+		solverManager.addModifier(rootVariable, rootModifier, globalInstance);
+		solverManager.removeModifier(rootVariable, rootModifier, globalInstance);
+	}
+}
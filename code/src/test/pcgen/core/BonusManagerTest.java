@@ -19,9 +19,15 @@ package pcgen.core;
 
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import pcgen.AbstractCharacterTestCase;
+import pcgen.cdom.base.FormulaFactory;
 import pcgen.cdom.enumeration.ListKey;
+import pcgen.cdom.enumeration.VariableKey;
+import pcgen.cdom.facet.BonusChangeFacet;
+import pcgen.cdom.facet.BonusChangeFacet.BonusChangeListener;
+import pcgen.cdom.facet.FacetLibrary;
 import pcgen.core.bonus.Bonus;
 import pcgen.core.bonus.BonusObj;
 import pcgen.rules.context.LoadContext;
@@ -112,4 +118,110 @@ public class BonusManagerTest extends AbstractCharacterTestCase
 		}
 	}
 
+	/**
+	 * Validate that bonus totals include only the requested bonus and its typed bonuses,
+	 * and not other bonuses whose info starts with the same text.
+	 */
+	@Test
+	public void testTypedTotals()
+	{
+		PCTemplate testObj = TestHelper.makeTemplate("TypedTotals");
+		LoadContext context = Globals.getContext();
+		testObj.addToListFor(ListKey.BONUS, Bonus.newBonus(context, "COMBAT|AC|2|TYPE=Armor"));
+		testObj.addToListFor(ListKey.BONUS, Bonus.newBonus(context, "COMBAT|AC|1|TYPE=Luck"));
+		testObj.addToListFor(ListKey.BONUS, Bonus.newBonus(context, "COMBAT|AC|4|TYPE=Luck.REPLACE"));
+		testObj.addToListFor(ListKey.BONUS, Bonus.newBonus(context, "COMBAT|ACCHECK|-3"));
+
+		PlayerCharacter pc = getCharacter();
+		pc.addTemplate(testObj);
+		pc.calcActiveBonuses();
+		assertEquals("Incorrect bonus total", 6.0, pc.getTotalBonusTo("COMBAT", "AC"), 0.0001);
+		assertEquals("Incorrect typed bonus", 2.0, pc.getBonusDueToType("COMBAT", "AC", "Armor"), 0.0001);
+		assertEquals("Incorrect replaced bonus", 4.0, pc.getBonusDueToType("COMBAT", "AC", "Luck"), 0.0001);
+		assertEquals("Incorrect bonus total", -3.0, pc.getTotalBonusTo("COMBAT", "ACCHECK"), 0.0001);
+		assertEquals("Incorrect missing bonus", 0.0, pc.getTotalBonusTo("COMBAT", "BAB"), 0.0001);
+	}
+
+	/**
+	 * Validate that bonuses whose prerequisites depend on variables set by other
+	 * bonuses are activated once the variables they read have settled.
+	 */
+	@Test
+	public void testChainedPrerequisites()
+	{
+		PCTemplate testObj = TestHelper.makeTemplate("Chained");
+		LoadContext context = Globals.getContext();
+		testObj.put(VariableKey.getConstant("Foo"), FormulaFactory.ZERO);
+		testObj.put(VariableKey.getConstant("Bar"), FormulaFactory.ZERO);
+		testObj.addToListFor(ListKey.BONUS, Bonus.newBonus(context, "COMBAT|AC|4|PREVARGT:Bar,2"));
+		testObj.addToListFor(ListKey.BONUS, Bonus.newBonus(context, "VAR|Bar|3|PREVARGT:Foo,1"));
+		testObj.addToListFor(ListKey.BONUS, Bonus.newBonus(context, "VAR|Foo|2"));
+
+		PlayerCharacter pc = getCharacter();
+		pc.addTemplate(testObj);
+		for (int i = 0; i < 3; i++)
+		{
+			pc.calcActiveBonuses();
+			assertEquals("Incorrect variable", 3.0, pc.getTotalBonusTo("VAR", "BAR"), 0.0001);
+			assertEquals("Incorrect bonus total", 4.0, pc.getTotalBonusTo("COMBAT", "AC"), 0.0001);
+		}
+	}
+
+	/**
+	 * Validate that a bonus which turns itself off goes round in a cycle that is
+	 * stopped, leaving the bonus either on or off.
+	 */
+	@Test
+	public void testBonusCycle()
+	{
+		PCTemplate testObj = TestHelper.makeTemplate("Cycle");
+		LoadContext context = Globals.getContext();
+		testObj.put(VariableKey.getConstant("Foo"), FormulaFactory.ZERO);
+		testObj.addToListFor(ListKey.BONUS, Bonus.newBonus(context, "VAR|Foo|1|PREVARLT:Foo,1"));
+
+		PlayerCharacter pc = getCharacter();
+		pc.addTemplate(testObj);
+		pc.calcActiveBonuses();
+		double foo = pc.getTotalBonusTo("VAR", "FOO");
+		assertTrue("Incorrect variable " + foo, (foo == 0.0) || (foo == 1.0));
+	}
+
+	/**
+	 * Validate that a calculation of the active bonuses started while another is
+	 * under way (here by a listener told of a bonus change) completes, so its
+	 * caller reads the settled bonuses, and that the outer calculation then
+	 * settles too.
+	 */
+	@Test
+	public void testNestedCalculation()
+	{
+		PCTemplate testObj = TestHelper.makeTemplate("Nested");
+		LoadContext context = Globals.getContext();
+		testObj.put(VariableKey.getConstant("Foo"), FormulaFactory.ZERO);
+		testObj.addToListFor(ListKey.BONUS, Bonus.newBonus(context, "COMBAT|AC|4|PREVARGT:Foo,1"));
+		testObj.addToListFor(ListKey.BONUS, Bonus.newBonus(context, "VAR|Foo|2"));
+
+		PlayerCharacter pc = getCharacter();
+		double[] nestedAC = {Double.NaN};
+		BonusChangeListener listener = bce -> {
+			if (bce.getCharID() == pc.getCharID())
+			{
+				pc.calcActiveBonuses();
+				nestedAC[0] = pc.getTotalBonusTo("COMBAT", "AC");
+			}
+		};
+		BonusChangeFacet bonusChangeFacet = FacetLibrary.getFacet(BonusChangeFacet.class);
+		bonusChangeFacet.addBonusChangeListener(listener, "VAR", "FOO");
+		try
+		{
+			pc.addTemplate(testObj);
+			pc.calcActiveBonuses();
+		}
+		finally
+		{
+			bonusChangeFacet.removeBonusChangeListener(listener, "VAR", "FOO");
+		}
+		assertEquals("Incorrect nested bonus total", 4.0, nestedAC[0], 0.0001);
+		assertEquals("Incorrect bonus total", 4.0, pc.getTotalBonusTo("COMBAT", "AC"), 0.0001);
+	}
 }
@@ -41,6 +41,7 @@ import pcgen.cdom.enumeration.IntegerKey;
 import pcgen.cdom.enumeration.ListKey;
 import pcgen.cdom.enumeration.MovementType;
 import pcgen.cdom.enumeration.ObjectKey;
+import pcgen.cdom.enumeration.PCStringKey;
 import pcgen.cdom.enumeration.StringKey;
 import pcgen.cdom.enumeration.Type;
 import pcgen.cdom.enumeration.VariableKey;
@@ -54,6 +55,7 @@ import pcgen.core.analysis.SkillRankControl;
 import pcgen.core.bonus.Bonus;
 import pcgen.core.bonus.BonusObj;
 import pcgen.core.character.CharacterSpell;
+import pcgen.core.character.EquipSet;
 import pcgen.core.character.SpellBook;
 import pcgen.core.display.CharacterDisplay;
 import pcgen.core.pclevelinfo.PCLevelInfo;
@@ -1359,6 +1361,83 @@ public class PlayerCharacterTest extends AbstractCharacterTestCase
 
 	}
 
+	/**
+	 * Test that a change to a descriptive attribute marks the character as changed
+	 * without discarding the calculation caches.
+	 */
+	@Test
+	public void testDescriptionDirtyRetainsCache()
+	{
+		PlayerCharacter pc = getCharacter();
+		VariableProcessor vp = pc.getVariableProcessor();
+		pc.setDirty(false);
+		int serial = pc.getSerial();
+		vp.addCachedVariable("TestLookup", 3.0f);
+
+		pc.setPCAttribute(PCStringKey.EYECOLOR, "Green");
+		assertTrue(pc.isDirty());
+		assertTrue(pc.getSerial() > serial);
+		assertEquals(Float.valueOf(3.0f), vp.getCachedVariable("TestLookup"));
+
+		pc.setPCAttribute(PCStringKey.CITY, "Greyhawk");
+		assertNull(vp.getCachedVariable("TestLookup"));
+	}
+
+	/**
+	 * Test that a snapshot sees the character's contents, and that changes to
+	 * either the snapshot or the character do not affect the other.
+	 */
+	@Test
+	public void testSnapshot()
+	{
+		PlayerCharacter pc = getCharacter();
+		pc.setPCAttribute(PCStringKey.EYECOLOR, "Green");
+		pc.setPCAttribute(PCStringKey.CITY, "Greyhawk");
+
+		PlayerCharacter snapshot = pc.snapshot();
+		pc.setPCAttribute(PCStringKey.CITY, "Waterdeep");
+		assertEquals("Greyhawk", snapshot.getSafeStringFor(PCStringKey.CITY));
+		assertEquals("Green", snapshot.getSafeStringFor(PCStringKey.EYECOLOR));
+		snapshot.setPCAttribute(PCStringKey.EYECOLOR, "Blue");
+		assertEquals("Blue", snapshot.getSafeStringFor(PCStringKey.EYECOLOR));
+		assertEquals("Green", pc.getSafeStringFor(PCStringKey.EYECOLOR));
+
+		snapshot.discardSnapshot();
+		assertEquals("Green", pc.getSafeStringFor(PCStringKey.EYECOLOR));
+		assertEquals("Waterdeep", pc.getSafeStringFor(PCStringKey.CITY));
+	}
+
+	/**
+	 * Test that each temporary bonus item replaces a different equipped item
+	 * when several equipped items share its name.
+	 */
+	@Test
+	public void testTempBonusItemsWithSameName()
+	{
+		PlayerCharacter pc = getCharacter();
+		Equipment ring = new Equipment();
+		ring.setName("Ring");
+		ring.put(StringKey.KEY_NAME, "KEY_RING");
+		Equipment secondRing = ring.clone();
+		pc.addEquipment(ring);
+		pc.addEquipment(secondRing);
+		pc.addEquipSet(new EquipSet(EquipSet.DEFAULT_SET_PATH, "Default"));
+		pc.addEquipSet(new EquipSet(EquipSet.DEFAULT_SET_PATH + ".1", "Ring", ring.getName(), ring));
+		pc.addEquipSet(new EquipSet(EquipSet.DEFAULT_SET_PATH + ".2", "Ring", secondRing.getName(), secondRing));
+
+		Equipment bonusRing = ring.clone();
+		Equipment secondBonusRing = ring.clone();
+		pc.addTempBonusItemList(bonusRing);
+		pc.addTempBonusItemList(secondBonusRing);
+		pc.setCalcEquipmentList(true);
+
+		Set<Equipment> equipment = pc.getDisplay().getEquipmentSet();
+		assertTrue(equipment.stream().anyMatch(eq -> eq == bonusRing));
+		assertTrue(equipment.stream().anyMatch(eq -> eq == secondBonusRing));
+		assertFalse(equipment.stream().anyMatch(eq -> eq == ring));
+		assertFalse(equipment.stream().anyMatch(eq -> eq == secondRing));
+	}
+
 	/**
 	 * Test method for pcgen.core.PlayerCharacter.baseAttackBonus()
 	 *  and for method pcgen.core.PlayerCharacter.getNumAttacks()
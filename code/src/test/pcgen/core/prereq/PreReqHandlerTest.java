@@ -18,6 +18,8 @@
 package pcgen.core.prereq;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -80,4 +82,21 @@ public class PreReqHandlerTest
 		);
 
 	}
+
+	/**
+	 * Test a prerequisite without a character: one that needs no character
+	 * (such as on a source) is still tested, and one that needs a character
+	 * passes.
+	 *
+	 * @throws PersistenceLayerException the persistence layer exception
+	 */
+	@Test
+	public void testNullCharacter() throws PersistenceLayerException
+	{
+		final PreParserFactory factory = PreParserFactory.getInstance();
+		assertFalse(PrereqHandler.passes(factory.parse("PRECAMPAIGN:1,NoSuchCampaign"), null, null));
+		assertTrue(PrereqHandler.passes(factory.parse("!PRECAMPAIGN:1,NoSuchCampaign"), null, null));
+		assertTrue(PrereqHandler.passes(factory.parse("PRERACE:1,Human"), null, null));
+		assertTrue(PrereqHandler.passes(factory.parse("!PRERACE:1,Human"), null, null));
+	}
 }
@@ -20,6 +20,9 @@ package pcgen.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import pcgen.AbstractCharacterTestCase;
 import pcgen.cdom.base.FormulaFactory;
@@ -46,6 +49,23 @@ public class PJepTest extends AbstractCharacterTestCase
 		assertEquals(1.0, value, 0.001, "min");
 	}
 
+	@Test
+	public void testParsedFormulaReuse()
+	{
+		final PJEP jep = new PJEP();
+
+		PJEP.ParsedFormula parsed = jep.getParsedFormula("max(FOO,3)*2");
+		assertSame(parsed, jep.getParsedFormula("max(FOO,3)*2"));
+		assertTrue(parsed.getVariableNames().contains("FOO"));
+
+		parsed.setVariable("FOO", 1);
+		assertEquals(6.0, ((Number) jep.evaluate(parsed)).doubleValue(), 0.001);
+		parsed.setVariable("FOO", 5);
+		assertEquals(10.0, ((Number) jep.evaluate(parsed)).doubleValue(), 0.001);
+
+		assertNull(jep.getParsedFormula("max(5,"));
+	}
+
 	@Test
 	public void testMax1()
 	{
@@ -17,11 +17,16 @@
  */
 package pcgen.cdom.facet;
 
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
 import pcgen.cdom.enumeration.CharID;
 import pcgen.cdom.facet.base.AbstractListFacet;
 import pcgen.cdom.testsupport.AbstractListFacetTest;
 import pcgen.core.character.EquipSet;
 
+import org.junit.jupiter.api.Test;
+
 public class EquipSetFacetTest extends AbstractListFacetTest<EquipSet>
 {
 	private EquipSetFacet facet = new EquipSetFacet();
@@ -39,4 +44,30 @@ public class EquipSetFacetTest extends AbstractListFacetTest<EquipSet>
 	{
 		return new EquipSet("0." + n++, "Start");
 	}
+
+	@Test
+	public void testGetEquipSetByIdPath()
+	{
+		EquipSet root = new EquipSet("0.1", "Root");
+		EquipSet child = new EquipSet("0.1.1", "Child");
+		facet.add(id, root);
+		facet.add(id, child);
+		assertSame(root, facet.getEquipSetByIdPath(id, "0.1"));
+		assertSame(child, facet.getEquipSetByIdPath(id, "0.1.1"));
+		assertNull(facet.getEquipSetByIdPath(altid, "0.1"));
+		assertNull(facet.getEquipSetByIdPath(id, "0.2"));
+
+		//Paths may be changed without the facet being informed
+		child.setIdPath("0.1.2");
+		assertNull(facet.getEquipSetByIdPath(id, "0.1.1"));
+		assertSame(child, facet.getEquipSetByIdPath(id, "0.1.2"));
+
+		EquipSet added = new EquipSet("0.1.1", "Added");
+		facet.add(id, added);
+		assertSame(added, facet.getEquipSetByIdPath(id, "0.1.1"));
+
+		facet.delEquipSet(id, root);
+		assertNull(facet.getEquipSetByIdPath(id, "0.1"));
+		assertNull(facet.getEquipSetByIdPath(id, "0.1.2"));
+	}
 }
@@ -0,0 +1,103 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.cdom.facet.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import pcgen.cdom.enumeration.CharID;
+import pcgen.cdom.enumeration.DataSetID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * AbstractStorageFacetTest checks that the information stored by facets is held
+ * separately for each resource, and is shared by facets of the same class.
+ */
+class AbstractStorageFacetTest
+{
+
+	private CharID id;
+	private CharID altid;
+
+	@BeforeEach
+	void setUp()
+	{
+		DataSetID cid = DataSetID.getID();
+		id = CharID.getID(cid);
+		altid = CharID.getID(cid);
+	}
+
+	@Test
+	public void testStorage()
+	{
+		FirstFacet first = new FirstFacet();
+		SecondFacet second = new SecondFacet();
+		assertNull(first.getCache(id));
+		assertNull(first.setCache(id, "One"));
+		second.setCache(id, "Two");
+		first.setCache(altid, "Alt");
+		assertEquals("One", first.getCache(id));
+		assertEquals("Two", second.getCache(id));
+		assertEquals("Alt", first.getCache(altid));
+		assertNull(second.getCache(altid));
+		//Facets of the same class share their information
+		assertEquals("One", new FirstFacet().getCache(id));
+		assertEquals(Map.of(FirstFacet.class, "One", SecondFacet.class, "Two"),
+			AbstractStorageFacet.peekAtCache(id));
+
+		assertEquals("One", first.removeCache(id));
+		assertNull(first.getCache(id));
+		AbstractStorageFacet.removeAllCache(id);
+		assertTrue(AbstractStorageFacet.peekAtCache(id).isEmpty());
+		assertEquals("Alt", first.getCache(altid));
+	}
+
+	@Test
+	public void testCopyContentsOnAccess()
+	{
+		FirstFacet first = new FirstFacet();
+		SecondFacet second = new SecondFacet();
+		first.setCache(id, "One");
+		second.setCache(id, "Two");
+		AbstractStorageFacet.copyContentsOnAccess(List.of(first, second), id, altid);
+		first.setCache(id, "Changed");
+		assertEquals("Changed", first.getCache(altid));
+		second.setCache(id, "Later");
+		assertEquals(Map.of(FirstFacet.class, "Changed", SecondFacet.class, "Later"),
+			AbstractStorageFacet.peekAtCache(altid));
+		second.setCache(id, "Ignored");
+		assertEquals("Later", second.getCache(altid));
+	}
+
+	private static class FirstFacet extends AbstractStorageFacet<CharID>
+	{
+		@Override
+		public void copyContents(CharID source, CharID copy)
+		{
+			setCache(copy, getCache(source));
+		}
+	}
+
+	private static class SecondFacet extends FirstFacet
+	{
+	}
+}
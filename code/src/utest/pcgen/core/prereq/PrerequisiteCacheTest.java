@@ -0,0 +1,78 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.core.prereq;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * PrerequisiteCacheTest checks that results are only reused at the serial at
+ * which they were found, and only while caching is enabled.
+ */
+class PrerequisiteCacheTest
+{
+
+	@Test
+	public void testResultsBySerial()
+	{
+		PrerequisiteCache cache = new PrerequisiteCache();
+		Prerequisite prereq = new Prerequisite();
+		Object caller = new Object();
+		assertNull(cache.get(prereq, caller, 1));
+		cache.put(prereq, caller, 1, true);
+		cache.put(prereq, null, 1, false);
+		assertEquals(Boolean.TRUE, cache.get(prereq, caller, 1));
+		assertEquals(Boolean.FALSE, cache.get(prereq, null, 1));
+		assertNull(cache.get(new Prerequisite(), caller, 1));
+		assertNull(cache.get(prereq, caller, 2));
+
+		//A result at a new serial discards the earlier results
+		cache.put(new Prerequisite(), caller, 2, true);
+		assertNull(cache.get(prereq, caller, 1));
+	}
+
+	@Test
+	public void testScope()
+	{
+		assertFalse(PrerequisiteCache.isActive());
+		PrerequisiteCache.enable();
+		try
+		{
+			assertTrue(PrerequisiteCache.isActive());
+			PrerequisiteCache.suspend();
+			try
+			{
+				PrerequisiteCache.enable();
+				assertFalse(PrerequisiteCache.isActive());
+				PrerequisiteCache.disable();
+			}
+			finally
+			{
+				PrerequisiteCache.resume();
+			}
+			assertTrue(PrerequisiteCache.isActive());
+		}
+		finally
+		{
+			PrerequisiteCache.disable();
+		}
+		assertFalse(PrerequisiteCache.isActive());
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.gui2.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * SearchIndexTest checks that the index matches the same elements as a search
+ * of their text, as the search text is typed and changed.
+ */
+class SearchIndexTest
+{
+
+	private final SearchIndex index = new SearchIndex();
+
+	@Test
+	public void testMatches()
+	{
+		String fireball = "Fireball";
+		String fireShield = "Fire Shield";
+		String iceStorm = "Ice Storm";
+		assertTrue(index.matches(fireball, ""));
+		assertTrue(index.matches(fireball, "fi"));
+		assertTrue(index.matches(fireShield, "fi"));
+		assertFalse(index.matches(iceStorm, "fi"));
+
+		//Searches as each character is typed
+		assertTrue(index.matches(fireball, "fir"));
+		assertTrue(index.matches(fireShield, "fir"));
+		assertTrue(index.matches(fireball, "fire"));
+		assertTrue(index.matches(fireShield, "fire "));
+		assertFalse(index.matches(fireball, "fire "));
+		assertFalse(index.matches(iceStorm, "fire "));
+
+		//A different search, and an element first seen during a search
+		assertTrue(index.matches(iceStorm, "storm"));
+		assertFalse(index.matches(fireball, "storm"));
+		assertTrue(index.matches("Storm of Vengeance", "storm"));
+		assertTrue(index.matches("Storm of Vengeance", "storm of"));
+		assertFalse(index.matches(iceStorm, "storm of"));
+		assertFalse(index.matches(fireball, "xyz"));
+	}
+
+	@Test
+	public void testModifiedElement()
+	{
+		StringBuilder equipment = new StringBuilder("Longsword");
+		assertTrue(index.matches(equipment, "sword"));
+		equipment.replace(0, equipment.length(), "Greataxe");
+		index.removeElement(equipment);
+		assertFalse(index.matches(equipment, "sword"));
+		assertTrue(index.matches(equipment, "axe"));
+	}
+
+	@Test
+	public void testSearchText()
+	{
+		assertEquals("fire shield\n\n", SearchIndex.getSearchText("Fire Shield"));
+	}
+}
@@ -1,11 +1,16 @@
 package pcgen.persistence;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import org.junit.Test;
@@ -28,4 +33,22 @@ public class RecursiveFileFinderTest {
 
 		assertThat(files, hasSize(0));
 	}
+
+	@Test
+	public void findsPccFilesInPathOrder() throws IOException {
+		Path dir = Files.createTempDirectory("pcgen-pcc");
+		Files.createDirectories(dir.resolve("b"));
+		Files.createFile(dir.resolve("b/second.pcc"));
+		Files.createFile(dir.resolve("c.PCC"));
+		Files.createFile(dir.resolve("a.pcc"));
+		Files.createFile(dir.resolve("notes.lst"));
+
+		List<URI> files = new LinkedList<>();
+		new RecursiveFileFinder().findFiles(dir.toFile(), files);
+
+		List<String> names = files.stream()
+			.map(uri -> dir.relativize(Path.of(uri)).toString().replace(File.separatorChar, '/'))
+			.collect(Collectors.toList());
+		assertThat(names, contains("a.pcc", "b/second.pcc", "c.PCC"));
+	}
 }
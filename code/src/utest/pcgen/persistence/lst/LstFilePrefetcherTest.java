@@ -0,0 +1,98 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.persistence.lst;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import pcgen.core.Campaign;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * LstFilePrefetcherTest checks that files read in the background are returned
+ * with the same lines as a direct read.
+ */
+class LstFilePrefetcherTest
+{
+
+	@TempDir
+	Path tempDir;
+
+	private URI writeFile(String name, String contents) throws IOException
+	{
+		Path file = tempDir.resolve(name);
+		Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+		return file.toUri();
+	}
+
+	@Test
+	public void testPrefetchedLines() throws Exception
+	{
+		URI first = writeFile("first.lst", "Foo\tTYPE:Bar\r\nBaz\tTYPE:Qux\n");
+		URI second = writeFile("second.lst", "Second\tTYPE:Other");
+		Campaign campaign = new Campaign();
+		try (LstFilePrefetcher prefetcher = new LstFilePrefetcher(false))
+		{
+			prefetcher.prefetch(List.of(new CampaignSourceEntry(campaign, first),
+				new CampaignSourceEntry(campaign, second)));
+			assertArrayEquals(new String[]{"Foo\tTYPE:Bar", "Baz\tTYPE:Qux"}, prefetcher.getLines(first));
+			assertArrayEquals(new String[]{"Second\tTYPE:Other"}, prefetcher.getLines(second));
+			//Not cached after being returned, so this is a direct read
+			assertArrayEquals(new String[]{"Second\tTYPE:Other"}, prefetcher.getLines(second));
+		}
+	}
+
+	@Test
+	public void testReadAhead() throws Exception
+	{
+		Campaign campaign = new Campaign();
+		List<CampaignSourceEntry> entries = new ArrayList<>();
+		for (int i = 0; i < 20; i++)
+		{
+			entries.add(new CampaignSourceEntry(campaign, writeFile("file" + i + ".lst", "Obj" + i)));
+		}
+		try (LstFilePrefetcher prefetcher = new LstFilePrefetcher(false))
+		{
+			prefetcher.prefetch(entries);
+			//Beyond the read-ahead window, so this is read directly
+			assertArrayEquals(new String[]{"Obj19"}, prefetcher.getLines(entries.get(19).getURI()));
+			for (int i = 0; i < 19; i++)
+			{
+				assertArrayEquals(new String[]{"Obj" + i}, prefetcher.getLines(entries.get(i).getURI()));
+			}
+		}
+	}
+
+	@Test
+	public void testMultiLine() throws Exception
+	{
+		URI uri = writeFile("multi.lst", "Foo\n\tTYPE:Bar\r\n\tCOST:1\nBaz");
+		try (LstFilePrefetcher prefetcher = new LstFilePrefetcher(true))
+		{
+			prefetcher.prefetch(List.of(new CampaignSourceEntry(new Campaign(), uri)));
+			assertArrayEquals(new String[]{"Foo\tTYPE:Bar\tCOST:1", "Baz"}, prefetcher.getLines(uri));
+		}
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.persistence.lst;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LstLineReaderTest
+{
+
+	private static List<String> readAll(LstLineReader reader) throws IOException
+	{
+		List<String> lines = new ArrayList<>();
+		String line;
+		while ((line = reader.readLine()) != null)
+		{
+			lines.add(line);
+		}
+		return lines;
+	}
+
+	@Test
+	public void testLineSeparators() throws IOException
+	{
+		LstLineReader reader = new LstLineReader(new StringReader("a\r\nb\rc\n\nd"), false);
+		assertEquals(List.of("a", "b", "c", "", "d"), readAll(reader));
+		assertEquals(5, reader.getLineNumber());
+	}
+
+	@Test
+	public void testMultiLine() throws IOException
+	{
+		String data = "a\tx\r\n\ty\n\tz\nb\r\tc\n";
+		assertEquals(List.of("a\tx\ty\tz", "b", "\tc"),
+			readAll(new LstLineReader(new StringReader(data), true)));
+		assertEquals(List.of("a\tx", "\ty", "\tz", "b", "\tc"),
+			readAll(new LstLineReader(new StringReader(data), false)));
+	}
+
+	@Test
+	public void testByteOrderMark() throws IOException
+	{
+		byte[] data = "\uFEFFSOURCELONG:Test\n\u00E9".getBytes(StandardCharsets.UTF_8);
+		assertEquals(List.of("SOURCELONG:Test", "\u00E9"),
+			readAll(new LstLineReader(new ByteArrayInputStream(data), false)));
+	}
+
+	@Test
+	public void testLongLine() throws IOException
+	{
+		String longLine = "x".repeat(20000);
+		assertEquals(List.of(longLine, "y"),
+			readAll(new LstLineReader(new StringReader(longLine + "\r\ny"), false)));
+	}
+}
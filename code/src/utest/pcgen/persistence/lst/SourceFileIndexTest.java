@@ -0,0 +1,97 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.persistence.lst;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Set;
+
+import pcgen.core.Language;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * SourceFileIndexTest checks that changed files are found and that changes are
+ * traced to the files and objects they affect.
+ */
+class SourceFileIndexTest
+{
+
+	@TempDir
+	Path tempDir;
+
+	private final SourceFileIndex index = new SourceFileIndex();
+
+	private URI writeFile(String name, String contents) throws IOException
+	{
+		Path file = tempDir.resolve(name);
+		Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+		//A fixed time in the past, so a rewrite is seen as a change
+		Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000_000_000L));
+		return file.toUri();
+	}
+
+	private static Language language(String key)
+	{
+		Language language = new Language();
+		language.setName(key);
+		return language;
+	}
+
+	@Test
+	public void testChangedSources() throws Exception
+	{
+		URI uri = writeFile("lang.lst", "Common\tTYPE:Spoken");
+		assertArrayEquals(new String[]{"Common\tTYPE:Spoken"}, index.getLines(uri, false));
+		assertTrue(index.getChangedSources().isEmpty());
+
+		writeFile("lang.lst", "Common\tTYPE:Spoken|Written");
+		assertEquals(Set.of(uri), index.getChangedSources());
+		assertArrayEquals(new String[]{"Common\tTYPE:Spoken|Written"}, index.getLines(uri, false));
+		assertTrue(index.getChangedSources().isEmpty());
+	}
+
+	@Test
+	public void testAffectedSources() throws Exception
+	{
+		URI base = writeFile("base.lst", "Common");
+		URI mod = writeFile("mod.lst", "Common.MOD\tTYPE:Written");
+		URI other = writeFile("other.lst", "Elven");
+		index.getLines(base, false);
+		index.getLines(mod, false);
+		index.getLines(other, false);
+		Language common = language("Common");
+		index.recordDefined(base, common);
+		index.recordDependency(mod, common);
+		index.recordDefined(other, language("Elven"));
+
+		assertEquals(Set.of(base, mod), index.getAffectedSources(Set.of(base)));
+		assertEquals(Set.of(mod), index.getAffectedSources(Set.of(mod)));
+		assertEquals(Set.of("Language:Common"), index.getAffectedObjects(Set.of(base, mod)));
+
+		index.clearObjects();
+		assertEquals(Set.of(base), index.getAffectedSources(Set.of(base)));
+	}
+}
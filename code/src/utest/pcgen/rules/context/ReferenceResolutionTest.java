@@ -0,0 +1,98 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.rules.context;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import pcgen.cdom.enumeration.ListKey;
+import pcgen.cdom.enumeration.Type;
+import pcgen.cdom.reference.CDOMGroupRef;
+import pcgen.cdom.reference.CDOMSingleRef;
+import pcgen.core.Language;
+import pcgen.core.PCTemplate;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ReferenceResolutionTest checks that the references of each manufacturer are
+ * resolved, including type references resolved from the objects of each type.
+ */
+class ReferenceResolutionTest
+{
+
+	private final AbstractReferenceContext context = RuntimeReferenceContext.createRuntimeReferenceContext();
+
+	private Language language(String key, String... types)
+	{
+		Language language = context.constructCDOMObject(Language.class, key);
+		for (String type : types)
+		{
+			language.addToListFor(ListKey.TYPE, Type.getConstant(type));
+		}
+		return language;
+	}
+
+	@Test
+	public void testResolveTypeReferences()
+	{
+		Language common = language("Common", "Spoken", "Written");
+		Language druidic = language("Druidic", "Spoken");
+		Language elven = language("Elven", "Written", "Spoken");
+		Language sign = language("Sign");
+		CDOMGroupRef<Language> spoken = context.getCDOMTypeReference(Language.class, "Spoken");
+		CDOMGroupRef<Language> both = context.getCDOMTypeReference(Language.class, "Written", "Spoken");
+		CDOMGroupRef<Language> all = context.getCDOMAllReference(Language.class);
+		CDOMSingleRef<Language> elvenRef = context.getCDOMReference(Language.class, "Elven");
+		PCTemplate template = context.constructCDOMObject(PCTemplate.class, "Template");
+		CDOMSingleRef<PCTemplate> templateRef = context.getCDOMReference(PCTemplate.class, "Template");
+
+		assertTrue(context.resolveReferences(null));
+		assertEquals(Set.of(common, druidic, elven), Set.copyOf(spoken.getContainedObjects()));
+		assertEquals(Set.of(common, elven), Set.copyOf(both.getContainedObjects()));
+		assertEquals(Set.of(common, druidic, elven, sign), Set.copyOf(all.getContainedObjects()));
+		assertEquals(elven, elvenRef.get());
+		assertEquals(template, templateRef.get());
+	}
+
+	@Test
+	public void testModificationCount()
+	{
+		Language common = language("Common");
+		int count = context.getModificationCount();
+		context.constructNowIfNecessary(Language.class, "Common");
+		assertEquals(count, context.getModificationCount());
+		Language custom = new Language();
+		custom.setName("Custom");
+		context.importObject(custom);
+		assertTrue(context.getModificationCount() > count);
+		count = context.getModificationCount();
+		context.forget(common);
+		assertTrue(context.getModificationCount() > count);
+	}
+
+	@Test
+	public void testUnresolvedTypeReference()
+	{
+		language("Common", "Spoken");
+		CDOMGroupRef<Language> written = context.getCDOMTypeReference(Language.class, "Written");
+		assertFalse(context.resolveReferences(null));
+		assertEquals(0, written.getObjectCount());
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class PjepPoolTest
+{
+
+	private final PjepPool pool = PjepPool.getInstance();
+
+	@Test
+	public void testReuse()
+	{
+		pool.initialise();
+		PJEP first = pool.aquire();
+		PJEP nested = pool.aquire();
+		assertNotSame(first, nested);
+		pool.release(nested);
+		pool.release(first);
+
+		long misses = pool.getMissCount();
+		long acquisitions = pool.getAcquisitionCount();
+		PJEP again = pool.aquire();
+		assertSame(first, again);
+		pool.release(again);
+		assertEquals(misses, pool.getMissCount());
+		assertEquals(acquisitions + 1, pool.getAcquisitionCount());
+	}
+
+	@Test
+	public void testInvalidRelease()
+	{
+		long invalid = pool.getInvalidReleaseCount();
+		PJEP jep = pool.aquire();
+		int inUse = pool.getInUseCount();
+		pool.release(jep);
+		assertEquals(inUse - 1, pool.getInUseCount());
+		pool.release(jep);
+		pool.release(new PJEP());
+		assertEquals(invalid + 2, pool.getInvalidReleaseCount());
+		assertTrue(pool.getPeakInUse() >= inUse);
+	}
+
+	@Test
+	public void testConcurrentEvaluation() throws Exception
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try
+		{
+			List<Future<Double>> results = new ArrayList<>();
+			for (int i = 0; i < 100; i++)
+			{
+				int value = i;
+				results.add(executor.submit(() -> {
+					PJEP jep = pool.aquire();
+					try
+					{
+						jep.parseExpression(value + "*2");
+						return jep.getValue();
+					}
+					finally
+					{
+						pool.release(jep);
+					}
+				}));
+			}
+			for (int i = 0; i < 100; i++)
+			{
+				assertEquals(i * 2.0, results.get(i).get(), 0.0);
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+	}
+}
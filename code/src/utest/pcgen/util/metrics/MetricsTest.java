@@ -0,0 +1,92 @@
+/*
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA
+ */
+package pcgen.util.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * MetricsTest checks the recording and reporting of Metrics.
+ */
+class MetricsTest
+{
+
+	private boolean wasEnabled;
+
+	@BeforeEach
+	void setUp()
+	{
+		wasEnabled = Metrics.isEnabled();
+		Metrics.setEnabled(true);
+		Metrics.reset();
+	}
+
+	@AfterEach
+	void tearDown()
+	{
+		Metrics.reset();
+		Metrics.setEnabled(wasEnabled);
+	}
+
+	@Test
+	public void testDisabled()
+	{
+		Counter counter = Metrics.counter("test.disabled");
+		Metrics.setEnabled(false);
+		counter.increment();
+		assertEquals(0, Metrics.start());
+		Metrics.stop("test.", "disabledTimer", 0);
+		Metrics.setEnabled(true);
+		assertEquals(0, counter.getCount());
+		assertEquals(0, Metrics.timer("test.disabledTimer").getDurations().getCount());
+	}
+
+	@Test
+	public void testHistogram()
+	{
+		Histogram histogram = Metrics.histogram("test.histogram");
+		for (int i = 1; i <= 100; i++)
+		{
+			histogram.record(i);
+		}
+		assertEquals(100, histogram.getCount());
+		assertEquals(5050, histogram.getSum());
+		assertEquals(1, histogram.getMin());
+		assertEquals(100, histogram.getMax());
+		//Within the power of two bucket holding the exact value
+		assertEquals(63, histogram.getPercentile(0.5));
+		assertEquals(100, histogram.getPercentile(0.99));
+	}
+
+	@Test
+	public void testJson()
+	{
+		Metrics.counter("test.json\"counter").add(3);
+		Timer timer = Metrics.timer("test.json.timer");
+		timer.stop(timer.start());
+		Metrics.gauge("test.json.gauge", () -> 7);
+		String json = Metrics.toJson();
+		assertTrue(json.startsWith("{\"enabled\":true,\"counters\":{"), json);
+		assertTrue(json.contains("\"test.json\\\"counter\":3"), json);
+		assertTrue(json.contains("\"test.json.gauge\":7"), json);
+		assertTrue(json.contains("\"test.json.timer\":{\"count\":1,"), json);
+		assertEquals(3L, Metrics.getCounters().get("test.json\"counter"));
+	}
+}